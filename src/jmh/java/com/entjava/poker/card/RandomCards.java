@@ -0,0 +1,41 @@
+package com.entjava.poker.card;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deals random cards for the benchmarks, without building or shuffling a whole deck.
+ */
+public final class RandomCards {
+
+	private final Random random;
+	private final int[] codes = new int[Card.DECK_SIZE];
+
+	/**
+	 * @param seed The same seed always deals the same cards, so runs can be compared
+	 */
+	public RandomCards(long seed) {
+		this.random = new Random(seed);
+		for (int code = 0; code < codes.length; code++) {
+			codes[code] = code;
+		}
+	}
+
+	/**
+	 * @param count
+	 * @return <code>count</code> distinct cards
+	 */
+	public List<Card> deal(int count) {
+		List<Card> cards = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			int j = i + random.nextInt(codes.length - i);
+			int code = codes[j];
+			codes[j] = codes[i];
+			codes[i] = code;
+			cards.add(Card.fromCode(code));
+		}
+		return cards;
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.entjava.poker.deck;
+
+import com.entjava.poker.card.Card;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds or resets a {@link Deck} and shuffles it, then deals from it the way a
+ * {@link com.entjava.poker.game.Game} of three players does.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DeckBenchmark {
+
+	/**
+	 * Two cards for each of three players, three burnt cards and five community cards.
+	 */
+	private static final int CARDS_PER_GAME = 3 * 2 + 3 + 5;
+
+	private final DeckBuilder deckBuilder = new DeckBuilder();
+
+	private final Deck reusedDeck = deckBuilder.buildDeck();
+	private final ShuffleSource shuffleSource = new SeededShuffleSource(42L);
+
+	@Benchmark
+	public Deck shuffle() {
+		Deck deck = deckBuilder.buildDeck();
+		deck.shuffle();
+		return deck;
+	}
+
+	@Benchmark
+	public void shuffleAndDealOneGame(Blackhole blackhole) {
+		Deck deck = deckBuilder.buildDeck();
+		deck.shuffle();
+		for (int i = 0; i < CARDS_PER_GAME; i++) {
+			blackhole.consume(deck.removeFromTop());
+		}
+	}
+
+	@Benchmark
+	public void resetAndDealOneGame(Blackhole blackhole) {
+		reusedDeck.reset();
+		reusedDeck.shuffle(shuffleSource);
+		for (int i = 0; i < CARDS_PER_GAME; i++) {
+			blackhole.consume(reusedDeck.removeFromTop());
+		}
+	}
+
+	@Benchmark
+	public void resetAndDealOneGameLazily(Blackhole blackhole) {
+		reusedDeck.reset();
+		reusedDeck.shuffleLazily(shuffleSource);
+		for (int i = 0; i < CARDS_PER_GAME; i++) {
+			blackhole.consume(reusedDeck.removeFromTop());
+		}
+	}
+
+	@Benchmark
+	public void shuffleAndDealWholeDeck(Blackhole blackhole) {
+		Deck deck = deckBuilder.buildDeck();
+		deck.shuffle();
+		for (int i = 0; i < Card.DECK_SIZE; i++) {
+			blackhole.consume(deck.removeFromTop());
+		}
+	}
+
+}
@@ -0,0 +1,43 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Plays one whole hand: a new game, then the flop, the turn and the river, which ends in the
+ * showdown. The showdown only logs the winning hands at debug level, which the benchmarks' logback.xml
+ * leaves off, so the score is the game alone.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class GameBenchmark {
+
+    private Game game;
+
+    @Setup
+    public void createGame() {
+        game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+    }
+
+    @Benchmark
+    public Optional<Player> playOneHand() {
+        game.startNewGame();
+        game.nextAction();
+        game.nextAction();
+        game.nextAction();
+        return game.getWinner();
+    }
+
+}
@@ -0,0 +1,79 @@
+package com.entjava.poker.hand;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.RandomCards;
+import com.entjava.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.hand.evaluator.HandEvaluator;
+import com.entjava.poker.hand.evaluator.HandStrength;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Identifies a player's 2 cards with the 5 community cards, cycling through a fixed set of deals.
+ *
+ * <p>The deals are either random, which mostly gives High Card, One Pair and Two Pair, or all of
+ * one {@link HandType}, so the rare categories are measured too.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class HandIdentifierBenchmark {
+
+    private static final String RANDOM = "RANDOM";
+    private static final int DEALS = 256;
+    private static final int PLAYER_CARDS = 2;
+    private static final int COMMUNITY_CARDS = 5;
+
+    @Param({RANDOM, "HIGH_CARD", "ONE_PAIR", "TWO_PAIR", "THREE_OF_A_KIND", "STRAIGHT", "FLUSH",
+            "FULL_HOUSE", "FOUR_OF_A_KIND", "STRAIGHT_FLUSH", "ROYAL_FLUSH"})
+    private String handType;
+
+    private final HandIdentifier handIdentifier = new HandIdentifier();
+
+    private List<Card>[] playerCards;
+    private List<Card>[] communityCards;
+    private int next;
+
+    @Setup
+    @SuppressWarnings("unchecked")
+    public void dealCards() {
+        HandEvaluator handEvaluator = new BitmaskHandEvaluator();
+        RandomCards randomCards = new RandomCards(handType.hashCode());
+        playerCards = new List[DEALS];
+        communityCards = new List[DEALS];
+
+        int dealt = 0;
+        while (dealt < DEALS) {
+            List<Card> cards = randomCards.deal(PLAYER_CARDS + COMMUNITY_CARDS);
+            HandType dealtType = HandStrength.handType(handEvaluator.evaluate(CardMasks.of(cards)));
+            if (RANDOM.equals(handType) || dealtType.name().equals(handType)) {
+                playerCards[dealt] = cards.subList(0, PLAYER_CARDS);
+                communityCards[dealt] = cards.subList(PLAYER_CARDS, cards.size());
+                dealt++;
+            }
+        }
+    }
+
+    @Benchmark
+    public Hand identifyHand() {
+        int deal = next++ & (DEALS - 1);
+        return handIdentifier.identifyHand(playerCards[deal], communityCards[deal]);
+    }
+
+    @Benchmark
+    public int evaluate() {
+        int deal = next++ & (DEALS - 1);
+        return handIdentifier.evaluate(playerCards[deal], communityCards[deal]);
+    }
+
+}
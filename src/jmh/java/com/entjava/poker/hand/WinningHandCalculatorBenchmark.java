@@ -0,0 +1,62 @@
+package com.entjava.poker.hand;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.RandomCards;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Picks the winners of a showdown from hands that are already identified.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class WinningHandCalculatorBenchmark {
+
+    private static final int DEALS = 256;
+    private static final int PLAYER_CARDS = 2;
+    private static final int COMMUNITY_CARDS = 5;
+
+    @Param({"2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    private int players;
+
+    private final WinningHandCalculator winningHandCalculator = new WinningHandCalculator();
+
+    private List<List<Hand>> showdowns;
+    private int next;
+
+    @Setup
+    public void identifyHands() {
+        HandIdentifier handIdentifier = new HandIdentifier();
+        RandomCards randomCards = new RandomCards(players);
+        showdowns = new ArrayList<>(DEALS);
+
+        for (int deal = 0; deal < DEALS; deal++) {
+            List<Card> cards = randomCards.deal(COMMUNITY_CARDS + players * PLAYER_CARDS);
+            List<Card> communityCards = cards.subList(0, COMMUNITY_CARDS);
+            List<Hand> hands = new ArrayList<>(players);
+            for (int player = 0; player < players; player++) {
+                int first = COMMUNITY_CARDS + player * PLAYER_CARDS;
+                hands.add(handIdentifier.identifyHand(cards.subList(first, first + PLAYER_CARDS), communityCards));
+            }
+            showdowns.add(hands);
+        }
+    }
+
+    @Benchmark
+    public Optional<WinningHand> calculateWinningHand() {
+        return winningHandCalculator.calculateWinningHand(showdowns.get(next++ & (DEALS - 1)));
+    }
+
+}
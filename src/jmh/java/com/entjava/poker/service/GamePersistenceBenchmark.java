@@ -0,0 +1,160 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.repository.EventRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.EnableTransactionManagement;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Saves played games to an in-memory H2 database through a {@link JpaGameStore}, built on the
+ * Spring Data {@link EventRepository} as the application builds it. One game per call goes through
+ * the {@link DirectEventWriter}, as in {@link GameService#startGame}, and many games per call go
+ * through {@link JpaGameStore#saveAll(List)}, as in {@link GameService#startGames}. The score is
+ * games saved per second.
+ *
+ * <p>With <code>ids=identity</code> the entities are mapped back to identity columns, as they were
+ * before pooled sequences, e.g. <code>gradle jmh -PjmhInclude=GamePersistenceBenchmark</code>
+ * compares both.</p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class GamePersistenceBenchmark {
+
+    private static final int GAMES_PER_TRANSACTION = 100;
+    private static final int PLAYED_GAMES = 1024;
+
+    @Param({"identity", "pooled-sequence"})
+    private String ids;
+
+    @Param({"2", "6"})
+    private int players;
+
+    private AnnotationConfigApplicationContext context;
+    private GameStore gameStore;
+    private List<Event> playedGames;
+    private int nextGame;
+
+    @Setup
+    public void createDatabase() {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:games;DB_CLOSE_DELAY=-1");
+        dataSource.setDriverClassName("org.h2.Driver");
+        factory.setDataSource(dataSource);
+        factory.setPackagesToScan("com.entjava.poker.entity");
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        if ("identity".equals(ids)) {
+            factory.setMappingResources("META-INF/identity-ids-orm.xml");
+        }
+
+        // The same settings as application.properties
+        Map<String, Object> properties = new HashMap<>();
+        properties.put("hibernate.hbm2ddl.auto", "create-drop");
+        properties.put("hibernate.jdbc.batch_size", "50");
+        properties.put("hibernate.order_inserts", "true");
+        properties.put("hibernate.order_updates", "true");
+        factory.setJpaPropertyMap(properties);
+
+        context = new AnnotationConfigApplicationContext();
+        context.registerBean("entityManagerFactory", LocalContainerEntityManagerFactoryBean.class, () -> factory);
+        context.register(RepositoryConfiguration.class);
+        context.refresh();
+        EventRepository eventRepository = context.getBean(EventRepository.class);
+        gameStore = new JpaGameStore(eventRepository, new DirectEventWriter(eventRepository),
+                context.getBean(PlatformTransactionManager.class));
+
+        List<String> playerNames = Arrays.asList("Dadan", "Haze", "Joanny", "Migs", "Jude", "Robyn").subList(0, players);
+        GameSimulator gameSimulator = new GameSimulator(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 1);
+        try {
+            playedGames = gameSimulator.playGames(playerNames, PLAYED_GAMES, 42L).getEvents();
+        } finally {
+            gameSimulator.shutdown();
+        }
+    }
+
+    @TearDown
+    public void dropDatabase() {
+        context.close();
+    }
+
+    @Benchmark
+    public Event saveOneGamePerTransaction() {
+        return gameStore.save(nextGame());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(GAMES_PER_TRANSACTION)
+    public List<Event> saveGamesInOneTransaction() {
+        List<Event> events = new ArrayList<>(GAMES_PER_TRANSACTION);
+        for (int i = 0; i < GAMES_PER_TRANSACTION; i++) {
+            events.add(nextGame());
+        }
+        gameStore.saveAll(events);
+        return events;
+    }
+
+    /**
+     * @return A new, unsaved copy of the next played game
+     */
+    private Event nextGame() {
+        Event playedGame = playedGames.get(nextGame++ & (PLAYED_GAMES - 1));
+        Event event = new Event();
+        for (PlayerResult playedResult : playedGame.getPlayers()) {
+            PlayerResult result = new PlayerResult();
+            result.setName(playedResult.getName());
+            result.setHand(playedResult.getHand());
+            result.setWinner(playedResult.isWinner());
+            result.setEvent(event);
+            event.getPlayers().add(result);
+            if (playedResult == playedGame.getWinner()) {
+                event.setWinner(result);
+            }
+        }
+        return event;
+    }
+
+    /**
+     * The repository and transactions of the application, without the rest of its context.
+     */
+    @Configuration
+    @EnableJpaRepositories(basePackageClasses = EventRepository.class)
+    @EnableTransactionManagement
+    static class RepositoryConfiguration {
+
+        @Bean
+        public PlatformTransactionManager transactionManager(EntityManagerFactory entityManagerFactory) {
+            return new JpaTransactionManager(entityManagerFactory);
+        }
+    }
+
+}
@@ -1,18 +1,94 @@
 package com.entjava.poker.card;
 
-import java.util.Objects;
-
 /**
  * The card in a deck. A combination of {@link CardRank} and {@link CardSuit}
+ *
+ * <p>There are only 52 distinct cards, so {@link #of(CardRank, CardSuit)} and {@link #fromCode(int)}
+ * hand out shared instances instead of creating new ones.</p>
  */
 public class Card implements Comparable{
 
-	private CardRank rank;
-	private CardSuit suit;
+	/**
+	 * The number of distinct cards, and the upper bound of {@link #getCode()}.
+	 */
+	public static final int DECK_SIZE = 52;
+
+	private static final int RANK_COUNT = CardRank.values().length;
+	private static final int MASK_SUIT_SHIFT = 16;
+
+	private static final Card[] CARDS = new Card[DECK_SIZE];
+
+	/**
+	 * The letter of each {@link CardSuit}, in ordinal order, as read by {@link #parse(String)}.
+	 */
+	private static final String SUIT_LETTERS = "scdh";
+
+	static {
+		for (CardSuit suit : CardSuit.values()) {
+			for (CardRank rank : CardRank.values()) {
+				Card card = new Card(rank, suit);
+				CARDS[card.code] = card;
+			}
+		}
+	}
+
+	private final CardRank rank;
+	private final CardSuit suit;
+	private final int code;
+	private final long mask;
 
 	public Card(CardRank rank, CardSuit suit) {
 		this.rank = rank;
 		this.suit = suit;
+
+		boolean isBlank = rank == null || suit == null;
+		this.code = isBlank ? -1 : suit.ordinal() * RANK_COUNT + rank.ordinal();
+		this.mask = isBlank ? 0L : 1L << (suit.ordinal() * MASK_SUIT_SHIFT + rank.ordinal());
+	}
+
+	/**
+	 * @param rank
+	 * @param suit
+	 * @return The shared instance of the card
+	 */
+	public static Card of(CardRank rank, CardSuit suit) {
+		return CARDS[suit.ordinal() * RANK_COUNT + rank.ordinal()];
+	}
+
+	/**
+	 * @param code The code of the card, see {@link #getCode()}
+	 * @return The shared instance of the card
+	 * @throws IllegalArgumentException if the code is not between 0 and 51
+	 */
+	public static Card fromCode(int code) {
+		if (code < 0 || code >= DECK_SIZE) {
+			throw new IllegalArgumentException("There is no card with code " + code);
+		}
+		return CARDS[code];
+	}
+
+	/**
+	 * Reads a card written as its rank and the first letter of its suit, e.g. <code>As</code>,
+	 * <code>10h</code> or <code>Td</code>. Case is ignored.
+	 *
+	 * @param text
+	 * @return The shared instance of the card
+	 * @throws IllegalArgumentException if the text is not a card
+	 */
+	public static Card parse(String text) {
+		String card = text.trim().toUpperCase();
+		int suit = card.isEmpty() ? -1 : SUIT_LETTERS.indexOf(Character.toLowerCase(card.charAt(card.length() - 1)));
+		if (suit < 0) {
+			throw new IllegalArgumentException("'" + text + "' is not a card, e.g. As, 10h or Td");
+		}
+
+		String rankText = card.substring(0, card.length() - 1);
+		for (CardRank rank : CardRank.values()) {
+			if (rank.toString().equals(rankText) || rank == CardRank.TEN && "T".equals(rankText)) {
+				return of(rank, CardSuit.values()[suit]);
+			}
+		}
+		throw new IllegalArgumentException("'" + text + "' is not a card, e.g. As, 10h or Td");
 	}
 
 	/**
@@ -29,6 +105,21 @@ public class Card implements Comparable{
 		return suit;
 	}
 
+	/**
+	 * @return The number of the card from 0 to 51, <code>suit ordinal * 13 + rank ordinal</code>
+	 */
+	public int getCode() {
+		return code;
+	}
+
+	/**
+	 * @return The single bit of the card in a 64-bit set of cards. Each {@link CardSuit} owns a
+	 * 16-bit lane, in which the bit of the {@link CardRank} ordinal is set.
+	 */
+	public long getMask() {
+		return mask;
+	}
+
 	/**
 	 * @return The CSS class of the card, e.g. <code>card-red</code>
 	 */
@@ -55,7 +146,7 @@ public class Card implements Comparable{
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(rank, suit);
+		return code;
 	}
 
 	@Override
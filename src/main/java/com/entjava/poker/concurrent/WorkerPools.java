@@ -0,0 +1,33 @@
+package com.entjava.poker.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Builds the fork/join pools the application runs its work on, with threads named after the work,
+ * e.g. <code>equity-3</code>, so they can be told apart in a thread dump.
+ */
+public final class WorkerPools {
+
+    private WorkerPools() {
+    }
+
+    /**
+     * @param prefix The name of every thread, before its number
+     * @param threads The number of threads, or 0 for one per processor
+     * @param asyncMode Whether tasks that are never joined run first in, first out, see
+     *                  {@link ForkJoinPool#ForkJoinPool(int, ForkJoinPool.ForkJoinWorkerThreadFactory, Thread.UncaughtExceptionHandler, boolean)}
+     * @return A new pool, which the caller shuts down
+     */
+    public static ForkJoinPool namedPool(String prefix, int threads, boolean asyncMode) {
+        int parallelism = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger threadNumber = new AtomicInteger();
+        return new ForkJoinPool(parallelism, pool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+            thread.setName(prefix + "-" + threadNumber.incrementAndGet());
+            return thread;
+        }, null, asyncMode);
+    }
+
+}
@@ -1,11 +1,46 @@
-@RestController
+package com.entjava.poker.controller;
+
+import com.entjava.poker.dto.BatchGameResultResponse;
+import com.entjava.poker.dto.GameResultResponse;
+import com.entjava.poker.dto.StartGameRequest;
+import com.entjava.poker.exception.WriteBehindQueueFullException;
+import com.entjava.poker.service.GameService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+@RestController("gameApiController") // The page's controller is already named gameController
 @RequestMapping("/api")
 public class GameController {
 
+    private static final String NDJSON = "application/x-ndjson";
+
     private final GameService gameService;
+    private final ObjectMapper objectMapper;
+    private final int maxGamesPerBatch;
 
-    public GameController(GameService gameService) {
+    public GameController(GameService gameService,
+                          ObjectMapper objectMapper,
+                          @Value("${poker.games.max-batch-size:10000}") int maxGamesPerBatch) {
         this.gameService = gameService;
+        this.objectMapper = objectMapper;
+        this.maxGamesPerBatch = maxGamesPerBatch;
     }
 
     @PostMapping("/start_game/{numberOfPlayers}")
@@ -21,9 +56,72 @@ public class GameController {
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Plays many games with the same players and saves them together, answering with a summary
+     * rather than every game.
+     */
+    @PostMapping("/start_games/{numberOfGames}")
+    public ResponseEntity<BatchGameResultResponse> startGames(
+            @PathVariable int numberOfGames,
+            @RequestBody StartGameRequest request) {
+
+        if (numberOfGames < 1 || numberOfGames > maxGamesPerBatch || request.getPlayers().isEmpty()) {
+            return ResponseEntity.badRequest().build();
+        }
+
+        BatchGameResultResponse result = gameService.startGames(request, numberOfGames);
+        return ResponseEntity.ok(result);
+    }
+
     @GetMapping("/event/{id}")
     public ResponseEntity<GameResultResponse> getGameResult(@PathVariable Long id) {
         GameResultResponse result = gameService.getGameResult(id);
         return ResponseEntity.ok(result);
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams every saved game, by id, as newline-delimited JSON with one game per line. The games
+     * are read a page at a time, each after the last id of the one before, and every page is sent
+     * as it is read. The memory used does not grow with the number of games, and no transaction is
+     * held while the response is written. An export that broke off can be resumed with the last id
+     * it received as <code>after</code>.
+     */
+    @GetMapping("/events/export")
+    public void exportGames(@RequestParam(defaultValue = "0") long after,
+                            HttpServletResponse response) throws IOException {
+        response.setContentType(NDJSON);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        // The container owns the response's stream, so closing the generator only flushes it
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)) {
+            List<GameResultResponse> page = gameService.getGameResultsAfter(after);
+            while (!page.isEmpty()) {
+                for (GameResultResponse game : page) {
+                    generator.writeObject(game);
+                    generator.writeRaw('\n');
+                }
+                generator.flush();
+                page = gameService.getGameResultsAfter(page.get(page.size() - 1).getEventId());
+            }
+        }
+    }
+
+    /**
+     * The write-behind queue stayed full, so the client should back off rather than retry at once.
+     */
+    @ExceptionHandler(WriteBehindQueueFullException.class)
+    public ResponseEntity<String> queueFull(WriteBehindQueueFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(e.getMessage());
+    }
+
+    /**
+     * A game the {@link com.entjava.poker.service.GameStore} cannot keep, e.g. one with more
+     * players than a hand history record holds.
+     */
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+}
@@ -2,26 +2,69 @@ package com.entjava.poker.deck;
 
 import com.entjava.poker.card.Card;
 
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.LinkedHashSet;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * A complete set of {@link Card} without Jokers.
+ *
+ * <p>The cards are kept in an array with a cursor on the top card, so dealing a card is one array
+ * read. {@link #reset()} puts the dealt cards back without building a new deck.</p>
+ *
+ * <p>Both shuffles draw from the top of the deck down. With the same {@link ShuffleSource} seed,
+ * {@link #shuffleLazily(ShuffleSource)} deals exactly the cards {@link #shuffle(ShuffleSource)}
+ * would have, while only drawing a random number for each card actually dealt.</p>
  */
 public class Deck {
 
-	private Set<Card> orderedCards = new LinkedHashSet<>();
+	private Card[] cards = new Card[Card.DECK_SIZE];
 
 	/**
-	 * Add a {@link Card} to the deck
+	 * The cards in the order they were added, which {@link #reset()} goes back to.
+	 */
+	private Card[] orderedCards = new Card[Card.DECK_SIZE];
+
+	/**
+	 * The number of cards in the deck, dealt or not.
+	 */
+	private int cardCount;
+
+	/**
+	 * The index of the top card. The cards before it have been dealt.
+	 */
+	private int top;
+
+	/**
+	 * The cards added so far, packed by {@link Card#getMask()}, so a card is never added twice.
+	 */
+	private long addedCards;
+
+	/**
+	 * Picks each card as it is dealt when the deck is shuffled lazily, otherwise null.
+	 */
+	private ShuffleSource lazyShuffleSource;
+
+	private static final ShuffleSource THREAD_LOCAL_SOURCE = bound -> ThreadLocalRandom.current().nextInt(bound);
+
+	/**
+	 * Add a {@link Card} to the deck, unless it is already part of it
 	 *
 	 * @param card
 	 */
 	void addCard(Card card) {
-		orderedCards.add(card);
+		if ((addedCards & card.getMask()) != 0) {
+			return;
+		}
+		addedCards |= card.getMask();
+
+		if (cardCount == cards.length) {
+			cards = Arrays.copyOf(cards, cards.length * 2);
+			orderedCards = Arrays.copyOf(orderedCards, orderedCards.length * 2);
+		}
+		cards[cardCount] = card;
+		orderedCards[cardCount] = card;
+		cardCount++;
 	}
 
 	/**
@@ -30,16 +73,38 @@ public class Deck {
 	 * @param cards
 	 */
 	void addCards(List<Card> cards) {
-		orderedCards.addAll(cards);
+		for (int i = 0; i < cards.size(); i++) {
+			addCard(cards.get(i));
+		}
 	}
 
 	/**
-	 * Shuffles the deck.
+	 * Shuffles the cards remaining in the deck, in place, with the current thread's random numbers.
 	 */
 	public void shuffle() {
-		List<Card> cardList = new ArrayList<>(orderedCards);
-		Collections.shuffle(cardList);
-		orderedCards = new LinkedHashSet<>(cardList);
+		shuffle(THREAD_LOCAL_SOURCE);
+	}
+
+	/**
+	 * Shuffles the cards remaining in the deck, in place.
+	 *
+	 * @param shuffleSource
+	 */
+	public void shuffle(ShuffleSource shuffleSource) {
+		lazyShuffleSource = null;
+		for (int i = top; i < cardCount - 1; i++) {
+			swap(i, i + shuffleSource.nextInt(cardCount - i));
+		}
+	}
+
+	/**
+	 * Shuffles the deck one card at a time: every {@link #removeFromTop()} picks a random card among
+	 * the ones remaining. A hand only randomizes the cards it deals instead of the whole deck.
+	 *
+	 * @param shuffleSource Used by every card dealt until the deck is reset or shuffled again
+	 */
+	public void shuffleLazily(ShuffleSource shuffleSource) {
+		lazyShuffleSource = shuffleSource;
 	}
 
 	/**
@@ -49,20 +114,38 @@ public class Deck {
 	 * @throws RuntimeException if there are no more cards left in the deck
 	 */
 	public Card removeFromTop() {
-		if (orderedCards.isEmpty()) {
+		if (top == cardCount) {
 			throw new RuntimeException("There are no cards remaining in the deck.");
 		}
 
-		Card card = orderedCards.iterator().next();
-		orderedCards.remove(card);
-		return card;
+		if (lazyShuffleSource != null && top < cardCount - 1) {
+			swap(top, top + lazyShuffleSource.nextInt(cardCount - top));
+		}
+		return cards[top++];
+	}
+
+	/**
+	 * Puts every dealt card back into the deck, in the order the cards were first added, so the same
+	 * seed shuffles a reset deck the same way as a new one. Shuffle the deck before dealing from it
+	 * again.
+	 */
+	public void reset() {
+		System.arraycopy(orderedCards, 0, cards, 0, cardCount);
+		top = 0;
+		lazyShuffleSource = null;
 	}
 
 	/**
 	 * @return The number of cards currently in the deck.
 	 */
 	public int size() {
-		return orderedCards.size();
+		return cardCount - top;
+	}
+
+	private void swap(int i, int j) {
+		Card card = cards[i];
+		cards[i] = cards[j];
+		cards[j] = card;
 	}
 
 }
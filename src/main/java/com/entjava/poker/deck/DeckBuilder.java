@@ -40,7 +40,7 @@ public class DeckBuilder {
 		CardRank[] cardRanks = CardRank.values();
 
 		return Arrays.stream(cardRanks)
-				.map(rank -> new Card(rank, suit))
+				.map(rank -> Card.of(rank, suit))
 				.collect(Collectors.toList());
 	}
 
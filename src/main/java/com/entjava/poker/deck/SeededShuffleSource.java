@@ -0,0 +1,44 @@
+package com.entjava.poker.deck;
+
+import java.util.SplittableRandom;
+
+/**
+ * A {@link ShuffleSource} that always gives the same numbers for the same seed, so a shuffle can be
+ * replayed from its seed.
+ *
+ * <p>It is meant to be used by one thread at a time. Give every thread or table its own source,
+ * e.g. with {@link #split()}, rather than sharing one.</p>
+ */
+public class SeededShuffleSource implements ShuffleSource {
+
+	private final long seed;
+	private final SplittableRandom random;
+
+	/**
+	 * @param seed
+	 */
+	public SeededShuffleSource(long seed) {
+		this.seed = seed;
+		this.random = new SplittableRandom(seed);
+	}
+
+	/**
+	 * @return The seed this source was created with
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public int nextInt(int bound) {
+		return random.nextInt(bound);
+	}
+
+	/**
+	 * @return A new, independent source whose seed is the next number of this one
+	 */
+	public SeededShuffleSource split() {
+		return new SeededShuffleSource(random.nextLong());
+	}
+
+}
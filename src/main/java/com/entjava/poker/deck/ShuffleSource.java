@@ -0,0 +1,16 @@
+package com.entjava.poker.deck;
+
+/**
+ * The random numbers used to shuffle a {@link Deck}.
+ *
+ * @see SeededShuffleSource
+ */
+public interface ShuffleSource {
+
+	/**
+	 * @param bound
+	 * @return A random number from 0 inclusive to <code>bound</code> exclusive
+	 */
+	int nextInt(int bound);
+
+}
@@ -0,0 +1,72 @@
+package com.entjava.poker.dto;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A summary of many games played and saved at once, instead of the result of every game.
+ */
+public class BatchGameResultResponse {
+
+    private int games;
+    private Map<String, Long> wins;
+    private long splitPots;
+    private Map<String, Long> winningHands;
+    private List<EventIdRange> eventIds;
+
+    /**
+     * @return The number of games played
+     */
+    public int getGames() {
+        return games;
+    }
+
+    public void setGames(int games) {
+        this.games = games;
+    }
+
+    /**
+     * @return The number of games each player won, counting a split pot as a win for every winner
+     */
+    public Map<String, Long> getWins() {
+        return wins;
+    }
+
+    public void setWins(Map<String, Long> wins) {
+        this.wins = wins;
+    }
+
+    /**
+     * @return The number of games won by more than one player
+     */
+    public long getSplitPots() {
+        return splitPots;
+    }
+
+    public void setSplitPots(long splitPots) {
+        this.splitPots = splitPots;
+    }
+
+    /**
+     * @return The number of games won with each {@link com.entjava.poker.hand.HandType}
+     */
+    public Map<String, Long> getWinningHands() {
+        return winningHands;
+    }
+
+    public void setWinningHands(Map<String, Long> winningHands) {
+        this.winningHands = winningHands;
+    }
+
+    /**
+     * @return The ids of the saved events, as ranges of consecutive ids
+     */
+    public List<EventIdRange> getEventIds() {
+        return eventIds;
+    }
+
+    public void setEventIds(List<EventIdRange> eventIds) {
+        this.eventIds = eventIds;
+    }
+
+}
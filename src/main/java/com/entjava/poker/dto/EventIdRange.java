@@ -0,0 +1,24 @@
+package com.entjava.poker.dto;
+
+/**
+ * The consecutive event ids from {@link #getFirst()} to {@link #getLast()}, both included.
+ */
+public class EventIdRange {
+
+    private final long first;
+    private final long last;
+
+    public EventIdRange(long first, long last) {
+        this.first = first;
+        this.last = last;
+    }
+
+    public long getFirst() {
+        return first;
+    }
+
+    public long getLast() {
+        return last;
+    }
+
+}
@@ -0,0 +1,38 @@
+package com.entjava.poker.dto;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The outcome of one game, as it was saved. A game never changes once it is played, so neither does
+ * its response, and the same response can be cached and shared by every request for the game.
+ */
+public class GameResultResponse {
+
+    private final long eventId;
+    private final List<PlayerDTO> players;
+    private final String winner;
+
+    public GameResultResponse(long eventId, List<PlayerDTO> players, String winner) {
+        this.eventId = eventId;
+        this.players = Collections.unmodifiableList(new ArrayList<>(players));
+        this.winner = winner;
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public List<PlayerDTO> getPlayers() {
+        return players;
+    }
+
+    /**
+     * @return The name of the winner, the first one seated if the pot was split
+     */
+    public String getWinner() {
+        return winner;
+    }
+
+}
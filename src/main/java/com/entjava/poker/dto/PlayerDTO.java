@@ -0,0 +1,40 @@
+package com.entjava.poker.dto;
+
+/**
+ * A player of a game played through the API: only the name in a request, and also the hand and
+ * whether the player won in a response.
+ */
+public class PlayerDTO {
+
+    private String name;
+    private String hand;
+    private boolean winner;
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    /**
+     * @return The player's best hand at the end of the game, e.g. "Flush (A High)"
+     */
+    public String getHand() {
+        return hand;
+    }
+
+    public void setHand(String hand) {
+        this.hand = hand;
+    }
+
+    public boolean isWinner() {
+        return winner;
+    }
+
+    public void setWinner(boolean winner) {
+        this.winner = winner;
+    }
+
+}
@@ -0,0 +1,25 @@
+package com.entjava.poker.dto;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The body of <code>POST /api/start_game/{numberOfPlayers}</code> and
+ * <code>POST /api/start_games/{numberOfGames}</code>.
+ */
+public class StartGameRequest {
+
+    private List<PlayerDTO> players = new ArrayList<>();
+
+    /**
+     * @return The players, who must all be registered
+     */
+    public List<PlayerDTO> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerDTO> players) {
+        this.players = players;
+    }
+
+}
@@ -1,8 +1,31 @@
 // Event.java
+package com.entjava.poker.entity;
+
+import com.entjava.poker.card.Card;
+
+import javax.persistence.CascadeType;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.OneToMany;
+import javax.persistence.OneToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Transient;
+import java.util.ArrayList;
+import java.util.List;
+
 @Entity
 public class Event {
+    static final int ID_ALLOCATION_SIZE = 50;
+
+    /**
+     * Ids are drawn {@value #ID_ALLOCATION_SIZE} at a time from a sequence, so inserts can be sent to
+     * the database in JDBC batches. Identity columns would need a round trip per row.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "event_ids")
+    @SequenceGenerator(name = "event_ids", sequenceName = "event_ids", allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @OneToMany(mappedBy = "event", cascade = CascadeType.ALL)
@@ -10,7 +33,54 @@ public class Event {
     
     @OneToOne
     private PlayerResult winner;
+
+    /**
+     * The seed the deck was shuffled from and the community cards. Like the players' cards, they
+     * are not stored as rows, only in the hand-history log.
+     */
+    @Transient
+    private long seed;
+    @Transient
+    private List<Card> communityCards;
     
-    // getters and setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public List<PlayerResult> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<PlayerResult> players) {
+        this.players = players;
+    }
+
+    public PlayerResult getWinner() {
+        return winner;
+    }
+
+    public void setWinner(PlayerResult winner) {
+        this.winner = winner;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public void setSeed(long seed) {
+        this.seed = seed;
+    }
+
+    public List<Card> getCommunityCards() {
+        return communityCards;
+    }
+
+    public void setCommunityCards(List<Card> communityCards) {
+        this.communityCards = communityCards;
+    }
 }
 
@@ -1,8 +1,26 @@
 // PlayerResult.java
+package com.entjava.poker.entity;
+
+import com.entjava.poker.card.Card;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Transient;
+import java.util.List;
+
 @Entity
 public class PlayerResult {
+    /**
+     * Drawn from a sequence like the ids of {@link Event}, so the results of a game are inserted in
+     * one JDBC batch.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "player_result_ids")
+    @SequenceGenerator(name = "player_result_ids", sequenceName = "player_result_ids", allocationSize = Event.ID_ALLOCATION_SIZE)
     private Long id;
     
     private String name;
@@ -12,6 +30,72 @@ public class PlayerResult {
     private Event event;
     
     private boolean isWinner;
+
+    /**
+     * The player's two cards and the strength of the final hand, as they were dealt. They are not
+     * stored as rows, only in the hand-history log.
+     */
+    @Transient
+    private List<Card> cards;
+    @Transient
+    private int strength;
     
-    // getters and setters
-}
\ No newline at end of file
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getHand() {
+        return hand;
+    }
+
+    public void setHand(String hand) {
+        this.hand = hand;
+    }
+
+    public Event getEvent() {
+        return event;
+    }
+
+    public void setEvent(Event event) {
+        this.event = event;
+    }
+
+    public boolean isWinner() {
+        return isWinner;
+    }
+
+    public void setWinner(boolean winner) {
+        isWinner = winner;
+    }
+
+    public List<Card> getCards() {
+        return cards;
+    }
+
+    public void setCards(List<Card> cards) {
+        this.cards = cards;
+    }
+
+    /**
+     * @return The {@link com.entjava.poker.hand.evaluator.HandStrength} of the final hand
+     */
+    public int getStrength() {
+        return strength;
+    }
+
+    public void setStrength(int strength) {
+        this.strength = strength;
+    }
+}
@@ -0,0 +1,420 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.concurrent.WorkerPools;
+import com.entjava.poker.game.Player;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.RecursiveTask;
+import java.util.stream.Collectors;
+
+/**
+ * Works out each player's chance to win from the cards dealt so far by completing the board at
+ * random many times.
+ *
+ * <p>The trials are split across a fork/join pool of worker threads. Each worker has its own
+ * {@link SplittableRandom}, deck and tally, and ranks all the players of a board with one
+ * {@link WinningHandCalculator#calculateWinners(long, long[], int[])} batch, so the workers share
+ * nothing until their tallies are added up.</p>
+ *
+ * <p>When few enough boards are left, e.g. heads-up before the flop with its C(48,5) = 1,712,304
+ * boards, {@link #calculateExactlyForHoleCards(List, List, List)} compares the players on every one
+ * of them instead. The boards are split by their lowest cards into fork/join tasks on the same
+ * pool, and the result is exact and always the same.</p>
+ */
+@Component
+public class EquityCalculator {
+
+    /**
+     * A trial deals one board and ranks every player on it without allocating, well under a
+     * microsecond, so a task needs thousands of them to outweigh being forked and having its tally
+     * added up.
+     */
+    private static final int MIN_TRIALS_PER_TASK = 10_000;
+
+    /**
+     * Boards are split into tasks by their first cards, at most this many of them.
+     */
+    private static final int MAX_SPLIT_CARDS = 2;
+
+    /**
+     * The most deals in a row drawn again because two ranges held the same card, before the ranges
+     * are taken not to fit together.
+     */
+    private static final int MAX_REJECTED_DEALS = 10_000;
+
+    private final WinningHandCalculator winningHandCalculator;
+    private final ForkJoinPool workers;
+    private final int parallelism;
+
+    /**
+     * @param winningHandCalculator
+     * @param threads The number of worker threads, or 0 for one per processor
+     */
+    @Autowired
+    public EquityCalculator(WinningHandCalculator winningHandCalculator,
+                            @Value("${poker.equity.threads:0}") int threads) {
+        this.winningHandCalculator = winningHandCalculator;
+        this.workers = WorkerPools.namedPool("equity", threads, false);
+        this.parallelism = workers.getParallelism();
+    }
+
+    /**
+     * Works out the equity of the players of a game, in the order of {@link com.entjava.poker.game.Game#getPlayers()}.
+     *
+     * @param players The players, whose hole cards are used
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, e.g. burnt cards, or none
+     * @param trials The number of random boards to compare the players on
+     * @return The equity of each player
+     */
+    public EquityResult calculate(List<Player> players, List<Card> communityCards, List<Card> deadCards, int trials) {
+        List<List<Card>> holeCards = players.stream()
+                .map(Player::getHand)
+                .collect(Collectors.toList());
+        return calculateForHoleCards(holeCards, communityCards, deadCards, trials, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param holeCards Each player's cards
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, or none
+     * @param trials The number of random boards to compare the players on
+     * @param seed The same seed, trials and thread count always give the same result
+     * @return The equity of each player, in the order of <code>holeCards</code>
+     * @throws IllegalArgumentException if the cards cannot be dealt, see {@link EquitySetup}, or if
+     *                                  there are no trials
+     */
+    public EquityResult calculateForHoleCards(List<List<Card>> holeCards, List<Card> communityCards,
+                                              List<Card> deadCards, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Equity needs at least one trial, got " + trials);
+        }
+        EquitySetup setup = new EquitySetup(holeCards, communityCards, deadCards);
+        return simulate(holeCards.size(), trials, seed, (taskTrials, random) -> runTrials(setup, taskTrials, random));
+    }
+
+    /**
+     * Works out the chance of a hand to win against opponents whose cards are not known, by dealing
+     * them random cards along with the board on every trial.
+     *
+     * @param holeCards The cards of the player
+     * @param opponents The number of opponents, each dealt two random cards
+     * @param trials The number of random deals to compare the players on
+     * @param seed The same seed, trials and thread count always give the same result
+     * @return The equity of the player first, then the equity of each opponent's random hand
+     * @throws IllegalArgumentException if the cards cannot be dealt, see {@link EquitySetup}, if there
+     *                                  are no opponents or too many, or if there are no trials
+     */
+    public EquityResult calculateAgainstRandomHands(List<Card> holeCards, int opponents, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Equity needs at least one trial, got " + trials);
+        }
+        EquitySetup setup = new EquitySetup(Collections.singletonList(holeCards), Collections.emptyList(),
+                Collections.emptyList());
+        if (opponents < 1 || opponents >= EquitySetup.MAX_PLAYERS
+                || opponents * EquitySetup.MAX_HOLE_CARDS + setup.cardsToDeal > setup.remainingCards.length) {
+            throw new IllegalArgumentException("There are not enough cards to deal to " + opponents + " opponents");
+        }
+        return simulate(opponents + 1, trials, seed,
+                (taskTrials, random) -> runTrialsAgainstRandomHands(setup, opponents, taskTrials, random));
+    }
+
+    /**
+     * Works out the equity of players who each hold a range of hands rather than known cards. On every
+     * trial each player is dealt a combo drawn from their range in proportion to its weight, and
+     * deals in which two players hold the same card are drawn again.
+     *
+     * @param ranges Each player's range
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, or none
+     * @param trials The number of random deals to compare the players on
+     * @param seed The same seed, trials and thread count always give the same result
+     * @return The equity of each player, in the order of <code>ranges</code>
+     * @throws IllegalArgumentException if there are no players or too many, if the cards cannot be
+     *                                  dealt, if a range has no hand left, or if the ranges almost
+     *                                  never fit together
+     */
+    public EquityResult calculateForRanges(List<HandRange> ranges, List<Card> communityCards,
+                                           List<Card> deadCards, int trials, long seed) {
+        if (trials <= 0) {
+            throw new IllegalArgumentException("Equity needs at least one trial, got " + trials);
+        }
+        EquitySetup setup = new EquitySetup(Collections.nCopies(ranges.size(), Collections.emptyList()),
+                communityCards, deadCards);
+        long usedCards = setup.board | CardMasks.of(deadCards);
+        RangeSampler[] samplers = ranges.stream()
+                .map(range -> new RangeSampler(range, usedCards))
+                .toArray(RangeSampler[]::new);
+        if (samplers.length * EquitySetup.MAX_HOLE_CARDS + setup.cardsToDeal > setup.remainingCards.length) {
+            throw new IllegalArgumentException("There are not enough cards to deal to " + samplers.length + " players");
+        }
+        return simulate(samplers.length, trials, seed,
+                (taskTrials, random) -> runRangeTrials(setup, samplers, taskTrials, random));
+    }
+
+    /**
+     * Splits the trials into tasks on the worker pool, each with its own random source, and adds up
+     * their tallies.
+     */
+    private EquityResult simulate(int players, int trials, long seed, TrialRunner trialRunner) {
+        int tasks = Math.max(1, Math.min(parallelism, trials / MIN_TRIALS_PER_TASK));
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<EquityTally>> trialTasks = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int taskTrials = trials / tasks + (task < trials % tasks ? 1 : 0);
+            SplittableRandom random = seeds.split();
+            trialTasks.add(() -> trialRunner.run(taskTrials, random));
+        }
+
+        EquityTally tally = new EquityTally(players);
+        try {
+            for (Future<EquityTally> taskTally : workers.invokeAll(trialTasks)) {
+                tally.add(taskTally.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while calculating equity", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IllegalArgumentException) {
+                throw (IllegalArgumentException) e.getCause();
+            }
+            throw new IllegalStateException("Failed to calculate equity", e.getCause());
+        }
+        return tally.toResult();
+    }
+
+    private interface TrialRunner {
+
+        EquityTally run(int trials, SplittableRandom random);
+    }
+
+    /**
+     * Works out the exact equity of the players of a game by comparing them on every possible board.
+     *
+     * @param players The players, whose hole cards are used
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, or none
+     * @return The equity of each player, in the order of {@link com.entjava.poker.game.Game#getPlayers()}
+     */
+    public EquityResult calculateExactly(List<Player> players, List<Card> communityCards, List<Card> deadCards) {
+        List<List<Card>> holeCards = players.stream()
+                .map(Player::getHand)
+                .collect(Collectors.toList());
+        return calculateExactlyForHoleCards(holeCards, communityCards, deadCards);
+    }
+
+    /**
+     * @param holeCards Each player's cards
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, or none
+     * @return The equity of each player over every board that completes the one so far, in the order
+     * of <code>holeCards</code>. {@link EquityResult#getTrials()} is the number of boards.
+     * @throws IllegalArgumentException if the cards cannot be dealt, see {@link EquitySetup}
+     */
+    public EquityResult calculateExactlyForHoleCards(List<List<Card>> holeCards, List<Card> communityCards,
+                                                     List<Card> deadCards) {
+        return enumerate(new EquitySetup(holeCards, communityCards, deadCards));
+    }
+
+    /**
+     * Starts {@link #calculateExactlyForHoleCards(List, List, List)} on the worker pool and returns
+     * straight away. The cards are read before this method returns, so the caller may deal more
+     * cards while the calculation runs.
+     *
+     * @param holeCards Each player's cards
+     * @param communityCards The board so far
+     * @param deadCards Cards known to be out of the deck, or none
+     * @return The equity of each player, once every board has been compared
+     * @throws IllegalArgumentException if the cards cannot be dealt, see {@link EquitySetup}
+     */
+    public CompletableFuture<EquityResult> calculateExactlyAsync(List<List<Card>> holeCards, List<Card> communityCards,
+                                                                 List<Card> deadCards) {
+        EquitySetup setup = new EquitySetup(holeCards, communityCards, deadCards);
+        return CompletableFuture.supplyAsync(() -> enumerate(setup), workers);
+    }
+
+    private EquityResult enumerate(EquitySetup setup) {
+        List<int[]> firstCards = new ArrayList<>();
+        collectFirstCards(firstCards, new int[Math.min(MAX_SPLIT_CARDS, setup.cardsToDeal)], 0, 0, setup);
+
+        return workers.invoke(new EnumerationTask(setup, firstCards, 0, firstCards.size())).toResult();
+    }
+
+    /**
+     * Collects every choice of the first cards of a board, as indexes into
+     * {@link EquitySetup#remainingCards} in increasing order, leaving enough cards to finish it.
+     */
+    private void collectFirstCards(List<int[]> firstCards, int[] chosen, int depth, int from, EquitySetup setup) {
+        if (depth == chosen.length) {
+            firstCards.add(chosen.clone());
+            return;
+        }
+        int last = setup.remainingCards.length - (setup.cardsToDeal - depth);
+        for (int i = from; i <= last; i++) {
+            chosen[depth] = i;
+            collectFirstCards(firstCards, chosen, depth + 1, i + 1, setup);
+        }
+    }
+
+    private class EnumerationTask extends RecursiveTask<EquityTally> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final EquitySetup setup;
+        private final List<int[]> firstCards;
+        private final int from;
+        private final int to;
+
+        EnumerationTask(EquitySetup setup, List<int[]> firstCards, int from, int to) {
+            this.setup = setup;
+            this.firstCards = firstCards;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected EquityTally compute() {
+            if (to - from > 1) {
+                int middle = (from + to) >>> 1;
+                EnumerationTask upper = new EnumerationTask(setup, firstCards, middle, to);
+                upper.fork();
+                EquityTally tally = new EnumerationTask(setup, firstCards, from, middle).compute();
+                tally.add(upper.join());
+                return tally;
+            }
+
+            EquityTally tally = new EquityTally(setup.holeCards.length);
+            long board = setup.board;
+            int next = 0;
+            for (int card : firstCards.get(from)) {
+                board |= setup.remainingCards[card];
+                next = card + 1;
+            }
+            enumerateBoards(tally, new int[setup.holeCards.length], board,
+                    setup.cardsToDeal - firstCards.get(from).length, next);
+            return tally;
+        }
+
+        private void enumerateBoards(EquityTally tally, int[] strengths, long board, int cardsToDeal, int from) {
+            if (cardsToDeal == 0) {
+                tally.record(winningHandCalculator.calculateWinners(board, setup.holeCards, strengths));
+                return;
+            }
+            long[] remainingCards = setup.remainingCards;
+            for (int i = from; i <= remainingCards.length - cardsToDeal; i++) {
+                enumerateBoards(tally, strengths, board | remainingCards[i], cardsToDeal - 1, i + 1);
+            }
+        }
+    }
+
+    private EquityTally runTrials(EquitySetup setup, int trials, SplittableRandom random) {
+        long[] deck = setup.remainingCards.clone();
+        long[] holeCards = setup.holeCards;
+        int[] strengths = new int[holeCards.length];
+        EquityTally tally = new EquityTally(holeCards.length);
+
+        for (int trial = 0; trial < trials; trial++) {
+            long board = setup.board;
+            // Partial Fisher-Yates: only the cards that complete the board are drawn
+            for (int i = 0; i < setup.cardsToDeal; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                long card = deck[j];
+                deck[j] = deck[i];
+                deck[i] = card;
+                board |= card;
+            }
+            tally.record(winningHandCalculator.calculateWinners(board, holeCards, strengths));
+        }
+        return tally;
+    }
+
+    private EquityTally runTrialsAgainstRandomHands(EquitySetup setup, int opponents, int trials,
+                                                    SplittableRandom random) {
+        long[] deck = setup.remainingCards.clone();
+        long[] holeCards = new long[opponents + 1];
+        holeCards[0] = setup.holeCards[0];
+        int[] strengths = new int[holeCards.length];
+        int cardsToDraw = opponents * EquitySetup.MAX_HOLE_CARDS + setup.cardsToDeal;
+        EquityTally tally = new EquityTally(holeCards.length);
+
+        for (int trial = 0; trial < trials; trial++) {
+            // Partial Fisher-Yates: the opponents' cards first, then the rest of the board
+            for (int i = 0; i < cardsToDraw; i++) {
+                int j = i + random.nextInt(deck.length - i);
+                long card = deck[j];
+                deck[j] = deck[i];
+                deck[i] = card;
+            }
+            for (int opponent = 1; opponent <= opponents; opponent++) {
+                holeCards[opponent] = deck[2 * opponent - 2] | deck[2 * opponent - 1];
+            }
+            long board = setup.board;
+            for (int i = opponents * EquitySetup.MAX_HOLE_CARDS; i < cardsToDraw; i++) {
+                board |= deck[i];
+            }
+            tally.record(winningHandCalculator.calculateWinners(board, holeCards, strengths));
+        }
+        return tally;
+    }
+
+    private EquityTally runRangeTrials(EquitySetup setup, RangeSampler[] samplers, int trials,
+                                       SplittableRandom random) {
+        long[] remainingCards = setup.remainingCards;
+        long[] holeCards = new long[samplers.length];
+        int[] strengths = new int[holeCards.length];
+        EquityTally tally = new EquityTally(holeCards.length);
+
+        int rejectedDeals = 0;
+        for (int trial = 0; trial < trials; ) {
+            long heldCards = 0L;
+            boolean isConflict = false;
+            for (int player = 0; player < samplers.length && !isConflict; player++) {
+                holeCards[player] = samplers[player].sample(random);
+                isConflict = (heldCards & holeCards[player]) != 0;
+                heldCards |= holeCards[player];
+            }
+            if (isConflict) {
+                // Drawing the whole deal again keeps every fitting deal as likely as its weights say
+                if (++rejectedDeals > MAX_REJECTED_DEALS) {
+                    throw new IllegalArgumentException("The ranges almost never fit together without sharing a card");
+                }
+                continue;
+            }
+            rejectedDeals = 0;
+
+            long board = setup.board;
+            for (int i = 0; i < setup.cardsToDeal; i++) {
+                long card;
+                do {
+                    card = remainingCards[random.nextInt(remainingCards.length)];
+                } while ((heldCards & card) != 0);
+                heldCards |= card;
+                board |= card;
+            }
+            tally.record(winningHandCalculator.calculateWinners(board, holeCards, strengths));
+            trial++;
+        }
+        return tally;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+}
@@ -0,0 +1,181 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.exception.GameNotFoundException;
+import com.entjava.poker.game.PlayerSnapshot;
+import com.entjava.poker.game.Table;
+import com.entjava.poker.game.TableRegistry;
+import com.entjava.poker.game.TableSnapshot;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
+/**
+ * Answers "what is each player's chance to win from here?" for a game on a table, or for any cards
+ * given in the request.
+ */
+@RestController
+@RequestMapping("/api/equity")
+public class EquityController {
+
+    private final EquityCalculator equityCalculator;
+    private final LiveOddsTracker liveOddsTracker;
+    private final PreflopEquityTable preflopEquityTable;
+    private final TableRegistry tableRegistry;
+    private final int defaultTrials;
+    private final int maxTrials;
+
+    public EquityController(EquityCalculator equityCalculator, LiveOddsTracker liveOddsTracker,
+                            PreflopEquityTable preflopEquityTable, TableRegistry tableRegistry,
+                            @Value("${poker.equity.trials:100000}") int defaultTrials,
+                            @Value("${poker.equity.max-trials:1000000}") int maxTrials) {
+        this.equityCalculator = equityCalculator;
+        this.liveOddsTracker = liveOddsTracker;
+        this.preflopEquityTable = preflopEquityTable;
+        this.tableRegistry = tableRegistry;
+        this.defaultTrials = defaultTrials;
+        this.maxTrials = maxTrials;
+    }
+
+    /**
+     * @param tableId
+     * @param trials The number of random boards, up to the configured maximum, or the configured default
+     * @param dead Cards known to be out of the deck, e.g. <code>?dead=As,Kd</code>
+     * @param exact Whether to compare the players on every possible board instead of random ones
+     * @return The equity of the table's players, in the order they are seated
+     * @throws GameNotFoundException if there is no such table
+     */
+    @GetMapping("/tables/{tableId}")
+    public EquityResult tableEquity(@PathVariable String tableId,
+                                    @RequestParam(required = false) Integer trials,
+                                    @RequestParam(required = false) List<String> dead,
+                                    @RequestParam(defaultValue = "false") boolean exact) {
+        TableSnapshot snapshot = findTable(tableId).getSnapshot();
+        List<List<Card>> holeCards = snapshot.getPlayers().stream()
+                .map(PlayerSnapshot::getHand)
+                .collect(Collectors.toList());
+        List<Card> communityCards = snapshot.getCommunityCards();
+
+        if (exact) {
+            return equityCalculator.calculateExactlyForHoleCards(holeCards, communityCards, parseCards(dead));
+        }
+        return equityCalculator.calculateForHoleCards(holeCards, communityCards, parseCards(dead),
+                trials(trials), new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param tableId
+     * @return The odds of the street on the table, or 202 Accepted while they are worked out
+     * @throws GameNotFoundException if there is no such table
+     */
+    @GetMapping("/tables/{tableId}/live")
+    public ResponseEntity<LiveOdds> liveOdds(@PathVariable String tableId) {
+        findTable(tableId);
+        return liveOddsTracker.getOdds(tableId)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.ACCEPTED).build());
+    }
+
+    /**
+     * @param cards The two cards of the hand, e.g. <code>?cards=As,Kd</code>
+     * @param opponents The number of opponents holding random cards
+     * @return The equity of the hand before the flop, looked up in the {@link PreflopEquityTable}
+     */
+    @GetMapping("/preflop")
+    public PlayerEquity preflopEquity(@RequestParam List<String> cards,
+                                      @RequestParam(defaultValue = "1") int opponents) {
+        List<Card> holeCards = parseCards(cards);
+        if (holeCards.size() != EquitySetup.MAX_HOLE_CARDS) {
+            throw new IllegalArgumentException("A starting hand has " + EquitySetup.MAX_HOLE_CARDS + " cards, got " + cards);
+        }
+        return preflopEquityTable.lookup(holeCards.get(0), holeCards.get(1), opponents);
+    }
+
+    /**
+     * @param request The players' cards, the board and the dead cards
+     * @return The equity of the players, in the order of the request
+     */
+    @PostMapping
+    public EquityResult equity(@RequestBody EquityRequest request) {
+        List<List<Card>> holeCards = request.getPlayers().stream()
+                .map(this::parseCards)
+                .collect(Collectors.toList());
+        if (request.isExact()) {
+            return equityCalculator.calculateExactlyForHoleCards(holeCards, parseCards(request.getBoard()),
+                    parseCards(request.getDead()));
+        }
+
+        int trials = trials(request.getTrials());
+
+        return equityCalculator.calculateForHoleCards(holeCards, parseCards(request.getBoard()),
+                parseCards(request.getDead()), trials, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * @param request The players' ranges, the board and the dead cards
+     * @return The equity of the players, in the order of the request
+     */
+    @PostMapping("/ranges")
+    public EquityResult rangeEquity(@RequestBody RangeEquityRequest request) {
+        List<HandRange> ranges = request.getRanges().stream()
+                .map(HandRange::parse)
+                .collect(Collectors.toList());
+        int trials = trials(request.getTrials());
+
+        return equityCalculator.calculateForRanges(ranges, parseCards(request.getBoard()),
+                parseCards(request.getDead()), trials, new SplittableRandom().nextLong());
+    }
+
+    @ExceptionHandler(GameNotFoundException.class)
+    public ResponseEntity<String> notFound(GameNotFoundException e) {
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(e.getMessage());
+    }
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<String> badRequest(IllegalArgumentException e) {
+        return ResponseEntity.badRequest().body(e.getMessage());
+    }
+
+    /**
+     * @param trials The number of random boards asked for, or null for the default
+     * @return The number of random boards to play
+     * @throws IllegalArgumentException if the number is not between 1 and the configured maximum
+     */
+    private int trials(Integer trials) {
+        if (trials == null) {
+            return defaultTrials;
+        }
+        if (trials < 1 || trials > maxTrials) {
+            throw new IllegalArgumentException("Trials must be between 1 and " + maxTrials + ", got " + trials);
+        }
+        return trials;
+    }
+
+    private Table findTable(String tableId) {
+        return tableRegistry.find(tableId)
+                .orElseThrow(() -> new GameNotFoundException("There is no table " + tableId));
+    }
+
+    private List<Card> parseCards(List<String> cards) {
+        if (cards == null) {
+            return Collections.emptyList();
+        }
+        return cards.stream()
+                .map(Card::parse)
+                .collect(Collectors.toList());
+    }
+
+}
@@ -0,0 +1,73 @@
+package com.entjava.poker.equity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The body of <code>POST /api/equity</code>. Cards are written as read by
+ * {@link com.entjava.poker.card.Card#parse(String)}, e.g. <code>As</code> or <code>10h</code>.
+ */
+public class EquityRequest {
+
+    private List<List<String>> players = new ArrayList<>();
+    private List<String> board = new ArrayList<>();
+    private List<String> dead = new ArrayList<>();
+    private Integer trials;
+    private boolean exact;
+
+    /**
+     * @return Each player's hole cards
+     */
+    public List<List<String>> getPlayers() {
+        return players;
+    }
+
+    public void setPlayers(List<List<String>> players) {
+        this.players = players;
+    }
+
+    /**
+     * @return The community cards dealt so far
+     */
+    public List<String> getBoard() {
+        return board;
+    }
+
+    public void setBoard(List<String> board) {
+        this.board = board;
+    }
+
+    /**
+     * @return Cards known to be out of the deck
+     */
+    public List<String> getDead() {
+        return dead;
+    }
+
+    public void setDead(List<String> dead) {
+        this.dead = dead;
+    }
+
+    /**
+     * @return The number of random boards, or null for the configured default
+     */
+    public Integer getTrials() {
+        return trials;
+    }
+
+    public void setTrials(Integer trials) {
+        this.trials = trials;
+    }
+
+    /**
+     * @return Whether to compare the players on every possible board, ignoring the trials
+     */
+    public boolean isExact() {
+        return exact;
+    }
+
+    public void setExact(boolean exact) {
+        this.exact = exact;
+    }
+
+}
@@ -0,0 +1,30 @@
+package com.entjava.poker.equity;
+
+import java.util.List;
+
+/**
+ * The outcome of an equity calculation: one {@link PlayerEquity} per player, in the order the
+ * players were given.
+ */
+public class EquityResult {
+
+    private final long trials;
+    private final List<PlayerEquity> players;
+
+    public EquityResult(long trials, List<PlayerEquity> players) {
+        this.trials = trials;
+        this.players = players;
+    }
+
+    /**
+     * @return The number of boards the players were compared on
+     */
+    public long getTrials() {
+        return trials;
+    }
+
+    public List<PlayerEquity> getPlayers() {
+        return players;
+    }
+
+}
@@ -0,0 +1,83 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.hand.evaluator.CardMasks;
+
+import java.util.List;
+
+/**
+ * The checked input of an equity calculation, packed with {@link CardMasks}: the players' cards,
+ * the board so far, and the cards that are still left to complete it.
+ */
+class EquitySetup {
+
+    static final int BOARD_SIZE = 5;
+    static final int MAX_PLAYERS = Integer.SIZE;
+    static final int MAX_HOLE_CARDS = 2;
+
+    final long[] holeCards;
+    final long board;
+
+    /**
+     * The cards neither held, on the board nor dead, which complete the board.
+     */
+    final long[] remainingCards;
+
+    /**
+     * The number of cards still to be dealt to the board.
+     */
+    final int cardsToDeal;
+
+    /**
+     * @param holeCards Each player's cards
+     * @param communityCards The board so far, at most five cards
+     * @param deadCards Cards known to be out of the deck, e.g. folded or burnt cards
+     * @throws IllegalArgumentException if there are no players or too many, if a player holds more
+     *                                  than two cards, if the board is too big, or if a card is used twice
+     */
+    EquitySetup(List<List<Card>> holeCards, List<Card> communityCards, List<Card> deadCards) {
+        if (holeCards.isEmpty() || holeCards.size() > MAX_PLAYERS) {
+            throw new IllegalArgumentException("Equity needs 1 to " + MAX_PLAYERS + " players, got " + holeCards.size());
+        }
+        if (communityCards.size() > BOARD_SIZE) {
+            throw new IllegalArgumentException("The board has at most " + BOARD_SIZE + " cards, got " + communityCards.size());
+        }
+
+        this.holeCards = new long[holeCards.size()];
+        long usedCards = 0L;
+        for (int i = 0; i < holeCards.size(); i++) {
+            if (holeCards.get(i).size() > MAX_HOLE_CARDS) {
+                throw new IllegalArgumentException("A player holds at most " + MAX_HOLE_CARDS + " cards, got " + holeCards.get(i));
+            }
+            this.holeCards[i] = CardMasks.of(holeCards.get(i));
+            usedCards = use(usedCards, holeCards.get(i));
+        }
+        this.board = CardMasks.of(communityCards);
+        usedCards = use(usedCards, communityCards);
+        usedCards = use(usedCards, deadCards);
+
+        this.cardsToDeal = BOARD_SIZE - communityCards.size();
+        this.remainingCards = new long[Card.DECK_SIZE - Long.bitCount(usedCards)];
+        int remaining = 0;
+        for (int code = 0; code < Card.DECK_SIZE; code++) {
+            long card = Card.fromCode(code).getMask();
+            if ((usedCards & card) == 0) {
+                remainingCards[remaining++] = card;
+            }
+        }
+        if (remaining < cardsToDeal) {
+            throw new IllegalArgumentException("Only " + remaining + " cards are left to deal " + cardsToDeal + " to the board");
+        }
+    }
+
+    private static long use(long usedCards, List<Card> cards) {
+        for (Card card : cards) {
+            if ((usedCards & card.getMask()) != 0) {
+                throw new IllegalArgumentException(card + " is used more than once");
+            }
+            usedCards |= card.getMask();
+        }
+        return usedCards;
+    }
+
+}
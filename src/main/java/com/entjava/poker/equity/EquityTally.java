@@ -0,0 +1,68 @@
+package com.entjava.poker.equity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Counts the wins and ties of each player as boards are compared. Every worker keeps its own tally,
+ * and the tallies are added up at the end.
+ */
+class EquityTally {
+
+    private final long[] wins;
+    private final long[] ties;
+    private final double[] tieShares;
+    private long trials;
+
+    EquityTally(int players) {
+        wins = new long[players];
+        ties = new long[players];
+        tieShares = new double[players];
+    }
+
+    /**
+     * @param winners The winners of one board as a bit set, see
+     *                {@link com.entjava.poker.hand.WinningHandCalculator#calculateWinners(long, long[], int[])}
+     */
+    void record(int winners) {
+        record(winners, 1);
+    }
+
+    /**
+     * @param winners The winners as a bit set
+     * @param boards The number of boards with those winners
+     */
+    void record(int winners, long boards) {
+        trials += boards;
+        int winnerCount = Integer.bitCount(winners);
+        if (winnerCount == 1) {
+            wins[Integer.numberOfTrailingZeros(winners)] += boards;
+            return;
+        }
+
+        double share = (double) boards / winnerCount;
+        for (int remaining = winners; remaining != 0; remaining &= remaining - 1) {
+            int player = Integer.numberOfTrailingZeros(remaining);
+            ties[player] += boards;
+            tieShares[player] += share;
+        }
+    }
+
+    void add(EquityTally other) {
+        trials += other.trials;
+        for (int player = 0; player < wins.length; player++) {
+            wins[player] += other.wins[player];
+            ties[player] += other.ties[player];
+            tieShares[player] += other.tieShares[player];
+        }
+    }
+
+    EquityResult toResult() {
+        List<PlayerEquity> players = new ArrayList<>(wins.length);
+        for (int player = 0; player < wins.length; player++) {
+            players.add(new PlayerEquity(trials, wins[player], ties[player], tieShares[player]));
+        }
+        return new EquityResult(trials, players);
+    }
+
+}
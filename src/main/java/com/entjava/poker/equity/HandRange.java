@@ -0,0 +1,227 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The hands a player may hold, each of the 1326 two-card combos with a weight from 0 to 1.
+ *
+ * <p>A range is written as a comma-separated list, e.g. <code>QQ+, AKs, 50% AQo</code>. Each entry is
+ * optionally preceded by the percentage of its combos held, and is one of:</p>
+ * <ul>
+ * <li>A pair, <code>QQ</code>, a pair and the pairs above it, <code>QQ+</code>, or pairs from one to
+ * another, <code>22-55</code></li>
+ * <li>Two ranks, suited <code>AKs</code>, offsuit <code>AKo</code> or both <code>AK</code>, also with
+ * every higher kicker below the first rank, <code>ATs+</code>, or kickers from one to another,
+ * <code>A2s-A5s</code></li>
+ * <li>One combo, <code>AsKd</code></li>
+ * </ul>
+ * <p>Tens are written <code>T</code> or <code>10</code>. A later entry replaces the weight of an
+ * earlier one for the combos they share.</p>
+ */
+public class HandRange {
+
+    /**
+     * The number of distinct two-card combos, C(52,2).
+     */
+    public static final int COMBOS = Card.DECK_SIZE * (Card.DECK_SIZE - 1) / 2;
+
+    /**
+     * The two cards of each combo packed with {@link com.entjava.poker.hand.evaluator.CardMasks},
+     * indexed by {@link #comboIndex(Card, Card)}.
+     */
+    private static final long[] COMBO_CARDS = new long[COMBOS];
+
+    private static final String RANK_LETTERS = "23456789TJQKA";
+    private static final int SUITS = 4;
+
+    private static final Pattern WEIGHT = Pattern.compile("(\\d+(?:\\.\\d+)?)%\\s*(.+)");
+    private static final Pattern COMBO = Pattern.compile("([2-9TJQKA][SCDH])([2-9TJQKA][SCDH])");
+    private static final Pattern HANDS = Pattern.compile("([2-9TJQKA])([2-9TJQKA])([SO]?)(\\+?)");
+    private static final Pattern HANDS_BETWEEN = Pattern.compile("([2-9TJQKA])([2-9TJQKA])([SO]?)-([2-9TJQKA])([2-9TJQKA])([SO]?)");
+
+    static {
+        for (int first = 0; first < Card.DECK_SIZE; first++) {
+            for (int second = first + 1; second < Card.DECK_SIZE; second++) {
+                COMBO_CARDS[comboIndex(first, second)] = Card.fromCode(first).getMask() | Card.fromCode(second).getMask();
+            }
+        }
+    }
+
+    private final String text;
+    private final double[] weights = new double[COMBOS];
+
+    private HandRange(String text) {
+        this.text = text;
+    }
+
+    /**
+     * @param text The range, e.g. <code>QQ+, AKs, 50% AQo</code>
+     * @return The range
+     * @throws IllegalArgumentException if an entry cannot be read, or the range holds no combo
+     */
+    public static HandRange parse(String text) {
+        HandRange range = new HandRange(text.trim());
+        for (String entry : text.split(",")) {
+            range.addEntry(entry.trim());
+        }
+        if (range.comboCount() == 0) {
+            throw new IllegalArgumentException("The range '" + text + "' holds no hands");
+        }
+        return range;
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @return The index of the combo of two different cards, from 0 to 1325
+     */
+    public static int comboIndex(Card first, Card second) {
+        if (first.equals(second)) {
+            throw new IllegalArgumentException(first + " is dealt twice");
+        }
+        return comboIndex(Math.min(first.getCode(), second.getCode()), Math.max(first.getCode(), second.getCode()));
+    }
+
+    private static int comboIndex(int lowCode, int highCode) {
+        return highCode * (highCode - 1) / 2 + lowCode;
+    }
+
+    /**
+     * @param combo
+     * @return The two cards of the combo packed with {@link com.entjava.poker.hand.evaluator.CardMasks}
+     */
+    static long comboCards(int combo) {
+        return COMBO_CARDS[combo];
+    }
+
+    /**
+     * @param combo
+     * @return The weight of the combo, 0 if it is not in the range
+     */
+    public double getWeight(int combo) {
+        return weights[combo];
+    }
+
+    /**
+     * @return The number of combos with a weight above 0
+     */
+    public int comboCount() {
+        int count = 0;
+        for (double weight : weights) {
+            if (weight > 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private void addEntry(String entry) {
+        double weight = 1.0;
+        String hands = entry;
+        Matcher weighted = WEIGHT.matcher(entry);
+        if (weighted.matches()) {
+            weight = Double.parseDouble(weighted.group(1)) / 100;
+            hands = weighted.group(2);
+            if (weight > 1) {
+                throw new IllegalArgumentException("'" + entry + "' holds more than 100% of its hands");
+            }
+        }
+        hands = hands.trim().replace("10", "T").toUpperCase();
+
+        Matcher combo = COMBO.matcher(hands);
+        Matcher handsMatcher = HANDS.matcher(hands);
+        Matcher between = HANDS_BETWEEN.matcher(hands);
+        if (combo.matches()) {
+            weights[comboIndex(Card.parse(combo.group(1)), Card.parse(combo.group(2)))] = weight;
+        } else if (handsMatcher.matches()) {
+            addHands(entry, handsMatcher.group(1), handsMatcher.group(2), handsMatcher.group(3),
+                    !handsMatcher.group(4).isEmpty(), weight);
+        } else if (between.matches()) {
+            addHandsBetween(entry, between, weight);
+        } else {
+            throw new IllegalArgumentException("'" + entry + "' is not a hand, e.g. QQ+, AKs, A2s-A5s or 50% AQo");
+        }
+    }
+
+    private void addHands(String entry, String firstRank, String secondRank, String suitedness, boolean andAbove,
+                          double weight) {
+        int high = rankOf(firstRank);
+        int low = rankOf(secondRank);
+        if (high == low) {
+            checkNoSuitedness(entry, suitedness);
+            addPairs(low, andAbove ? RANK_LETTERS.length() - 1 : low, weight);
+            return;
+        }
+        if (high < low) {
+            throw new IllegalArgumentException("'" + entry + "' must start with the higher rank");
+        }
+        addKickers(high, low, andAbove ? high - 1 : low, suitedness, weight);
+    }
+
+    private void addHandsBetween(String entry, Matcher between, double weight) {
+        int firstHigh = rankOf(between.group(1));
+        int firstLow = rankOf(between.group(2));
+        int lastHigh = rankOf(between.group(4));
+        int lastLow = rankOf(between.group(5));
+        String suitedness = between.group(3);
+        if (!suitedness.equals(between.group(6))) {
+            throw new IllegalArgumentException("'" + entry + "' mixes suited and offsuit hands");
+        }
+
+        if (firstHigh == firstLow && lastHigh == lastLow) {
+            checkNoSuitedness(entry, suitedness);
+            addPairs(Math.min(firstLow, lastLow), Math.max(firstLow, lastLow), weight);
+        } else if (firstHigh == lastHigh && firstHigh > Math.max(firstLow, lastLow)) {
+            addKickers(firstHigh, Math.min(firstLow, lastLow), Math.max(firstLow, lastLow), suitedness, weight);
+        } else {
+            throw new IllegalArgumentException("'" + entry + "' must be pairs, or hands with the same higher rank");
+        }
+    }
+
+    private void addPairs(int lowest, int highest, double weight) {
+        for (int rank = lowest; rank <= highest; rank++) {
+            addCombos(rank, rank, true, true, weight);
+        }
+    }
+
+    private void addKickers(int high, int lowestKicker, int highestKicker, String suitedness, double weight) {
+        for (int kicker = lowestKicker; kicker <= highestKicker; kicker++) {
+            addCombos(high, kicker, !"O".equals(suitedness), !"S".equals(suitedness), weight);
+        }
+    }
+
+    private void addCombos(int firstRank, int secondRank, boolean suited, boolean offsuit, double weight) {
+        for (int firstSuit = 0; firstSuit < SUITS; firstSuit++) {
+            for (int secondSuit = 0; secondSuit < SUITS; secondSuit++) {
+                boolean isSuited = firstSuit == secondSuit;
+                // A pair has no suited combos, and each of its offsuit combos is only added once
+                boolean isPair = firstRank == secondRank;
+                if (isPair ? firstSuit >= secondSuit : isSuited ? !suited : !offsuit) {
+                    continue;
+                }
+                int first = firstSuit * RANK_LETTERS.length() + firstRank;
+                int second = secondSuit * RANK_LETTERS.length() + secondRank;
+                weights[comboIndex(Math.min(first, second), Math.max(first, second))] = weight;
+            }
+        }
+    }
+
+    private static void checkNoSuitedness(String entry, String suitedness) {
+        if (!suitedness.isEmpty()) {
+            throw new IllegalArgumentException("'" + entry + "' is a pair, which is never suited or offsuit");
+        }
+    }
+
+    private static int rankOf(String letter) {
+        return RANK_LETTERS.indexOf(letter);
+    }
+
+}
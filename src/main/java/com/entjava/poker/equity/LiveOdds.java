@@ -0,0 +1,47 @@
+package com.entjava.poker.equity;
+
+import java.util.List;
+
+/**
+ * The exact equity of the players on the table for one street of one game.
+ */
+public class LiveOdds {
+
+    private final long seed;
+    private final int communityCardCount;
+    private final List<String> players;
+    private final EquityResult equity;
+
+    /**
+     * @param seed The seed of the game, see {@link com.entjava.poker.game.Game#getSeed()}
+     * @param communityCardCount The number of community cards on the street
+     * @param players The names of the players, in the order of their equity
+     * @param equity
+     */
+    public LiveOdds(long seed, int communityCardCount, List<String> players, EquityResult equity) {
+        this.seed = seed;
+        this.communityCardCount = communityCardCount;
+        this.players = players;
+        this.equity = equity;
+    }
+
+    /**
+     * @return The seed of the game, as text so that scripts read all 64 bits of it
+     */
+    public String getSeed() {
+        return Long.toString(seed);
+    }
+
+    public int getCommunityCardCount() {
+        return communityCardCount;
+    }
+
+    public List<String> getPlayers() {
+        return players;
+    }
+
+    public EquityResult getEquity() {
+        return equity;
+    }
+
+}
@@ -0,0 +1,117 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.game.PlayerSnapshot;
+import com.entjava.poker.game.TableRegistry;
+import com.entjava.poker.game.TableSnapshot;
+import org.springframework.stereotype.Component;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the odds of the street on the table, worked out in the background.
+ *
+ * <p>When a street is dealt, {@link #update(TableSnapshot)} reads the cards and starts an exact
+ * equity calculation on the {@link EquityCalculator}'s workers, then returns. The table view renders
+ * straight away and asks {@link #getOdds(String)} for the odds until they are ready.</p>
+ *
+ * <p>Before the flop the odds are read from the {@link PreflopEquityTable} instead, so they are ready
+ * at once. They are then each player's chance against random hands, not against the other players'
+ * cards.</p>
+ *
+ * <p>Each table has its own odds, which are dropped when the {@link TableRegistry} evicts the table.</p>
+ */
+@Component
+public class LiveOddsTracker {
+
+    private final EquityCalculator equityCalculator;
+    private final PreflopEquityTable preflopEquityTable;
+
+    private final Map<String, Street> streets = new ConcurrentHashMap<>();
+
+    public LiveOddsTracker(EquityCalculator equityCalculator, PreflopEquityTable preflopEquityTable,
+                           TableRegistry tableRegistry) {
+        this.equityCalculator = equityCalculator;
+        this.preflopEquityTable = preflopEquityTable;
+        tableRegistry.addEvictionListener(streets::remove);
+    }
+
+    /**
+     * Starts working out the odds of a table's street, unless they are already being worked out.
+     * A snapshot older than the street already tracked is ignored, so odds never go back a street
+     * when requests race.
+     *
+     * @param snapshot The table's game at the street
+     */
+    public void update(TableSnapshot snapshot) {
+        streets.compute(snapshot.getTableId(), (tableId, current) -> {
+            if (current != null && (current.version >= snapshot.getVersion()
+                    || (current.seed == snapshot.getSeed()
+                    && current.communityCardCount == snapshot.getCommunityCards().size()))) {
+                return current;
+            }
+
+            List<List<Card>> holeCards = snapshot.getPlayers().stream()
+                    .map(PlayerSnapshot::getHand)
+                    .collect(Collectors.toList());
+            List<String> names = snapshot.getPlayers().stream()
+                    .map(PlayerSnapshot::getName)
+                    .collect(Collectors.toList());
+
+            CompletableFuture<EquityResult> equity = isPreflop(snapshot)
+                    ? CompletableFuture.completedFuture(lookUpPreflopEquity(holeCards))
+                    : equityCalculator.calculateExactlyAsync(holeCards, snapshot.getCommunityCards(), Collections.emptyList());
+            return new Street(snapshot.getVersion(), snapshot.getSeed(), snapshot.getCommunityCards().size(),
+                    names, equity);
+        });
+    }
+
+    private boolean isPreflop(TableSnapshot snapshot) {
+        int opponents = snapshot.getPlayers().size() - 1;
+        return snapshot.getCommunityCards().isEmpty() && opponents >= 1 && opponents <= preflopEquityTable.getMaxOpponents();
+    }
+
+    private EquityResult lookUpPreflopEquity(List<List<Card>> holeCards) {
+        List<PlayerEquity> players = holeCards.stream()
+                .map(cards -> preflopEquityTable.lookup(cards.get(0), cards.get(1), holeCards.size() - 1))
+                .collect(Collectors.toList());
+        return new EquityResult(preflopEquityTable.getTrials(), players);
+    }
+
+    /**
+     * @param tableId
+     * @return The odds of the table's latest street, or empty while they are still being worked out
+     */
+    public Optional<LiveOdds> getOdds(String tableId) {
+        Street current = streets.get(tableId);
+        if (current == null || !current.equity.isDone() || current.equity.isCompletedExceptionally()) {
+            return Optional.empty();
+        }
+        return Optional.of(new LiveOdds(current.seed, current.communityCardCount, current.players, current.equity.join()));
+    }
+
+    private static class Street {
+
+        private final long version;
+        private final long seed;
+        private final int communityCardCount;
+        private final List<String> players;
+        private final CompletableFuture<EquityResult> equity;
+
+        Street(long version, long seed, int communityCardCount, List<String> players,
+               CompletableFuture<EquityResult> equity) {
+            this.version = version;
+            this.seed = seed;
+            this.communityCardCount = communityCardCount;
+            this.players = players;
+            this.equity = equity;
+        }
+    }
+
+}
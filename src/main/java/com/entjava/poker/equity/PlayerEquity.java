@@ -0,0 +1,71 @@
+package com.entjava.poker.equity;
+
+/**
+ * How often one player wins, ties and loses over the trials of an {@link EquityResult}.
+ */
+public class PlayerEquity {
+
+    private final long trials;
+    private final long wins;
+    private final long ties;
+    private final double tieShares;
+
+    /**
+     * @param trials
+     * @param wins The trials the player won alone
+     * @param ties The trials the player split with other players
+     * @param tieShares The sum, over the tied trials, of the player's share of the pot
+     */
+    public PlayerEquity(long trials, long wins, long ties, double tieShares) {
+        this.trials = trials;
+        this.wins = wins;
+        this.ties = ties;
+        this.tieShares = tieShares;
+    }
+
+    public long getWins() {
+        return wins;
+    }
+
+    public long getTies() {
+        return ties;
+    }
+
+    public long getLosses() {
+        return trials - wins - ties;
+    }
+
+    /**
+     * @return The fraction of trials the player won alone
+     */
+    public double getWin() {
+        return fraction(wins);
+    }
+
+    /**
+     * @return The fraction of trials the player tied
+     */
+    public double getTie() {
+        return fraction(ties);
+    }
+
+    /**
+     * @return The fraction of trials the player lost
+     */
+    public double getLoss() {
+        return fraction(getLosses());
+    }
+
+    /**
+     * @return The player's expected share of the pot, counting a tie between <em>n</em> players as
+     * 1/<em>n</em> of a win
+     */
+    public double getEquity() {
+        return trials == 0 ? 0 : (wins + tieShares) / trials;
+    }
+
+    private double fraction(long count) {
+        return trials == 0 ? 0 : (double) count / trials;
+    }
+
+}
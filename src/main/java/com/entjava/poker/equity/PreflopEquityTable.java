@@ -0,0 +1,99 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * The equity of every {@link StartingHand} before the flop against opponents holding random cards,
+ * read once from the resource written by the {@link PreflopEquityTableGenerator}.
+ *
+ * <p>Looking up a hand is a constant-time array read, so preflop odds never need a simulation.</p>
+ */
+@Component
+public class PreflopEquityTable {
+
+    static final String RESOURCE = "/preflop-equity.bin";
+
+    private final int maxOpponents;
+    private final int trials;
+
+    /**
+     * <code>equities[startingHand * maxOpponents + opponents - 1]</code>
+     */
+    private final PlayerEquity[] equities;
+
+    /**
+     * @throws IOException if the resource is missing or could not be read
+     */
+    public PreflopEquityTable() throws IOException {
+        this(openResource());
+    }
+
+    /**
+     * @param in A table written by the {@link PreflopEquityTableGenerator}, closed once read
+     * @throws IOException if the table could not be read
+     */
+    PreflopEquityTable(InputStream in) throws IOException {
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(in))) {
+            if (data.readInt() != PreflopEquityTableGenerator.MAGIC
+                    || data.readInt() != PreflopEquityTableGenerator.VERSION) {
+                throw new IllegalStateException("Not a preflop equity table of version " + PreflopEquityTableGenerator.VERSION);
+            }
+            maxOpponents = data.readInt();
+            trials = data.readInt();
+
+            equities = new PlayerEquity[StartingHand.COUNT * maxOpponents];
+            for (int i = 0; i < equities.length; i++) {
+                double win = fromFixedPoint(data.readUnsignedShort());
+                double tie = fromFixedPoint(data.readUnsignedShort());
+                double equity = fromFixedPoint(data.readUnsignedShort());
+                equities[i] = new PlayerEquity(trials, Math.round(win * trials), Math.round(tie * trials),
+                        (equity - win) * trials);
+            }
+        }
+    }
+
+    private static InputStream openResource() throws IOException {
+        InputStream in = PreflopEquityTable.class.getResourceAsStream(RESOURCE);
+        if (in == null) {
+            throw new IOException(RESOURCE + " is missing. Generate it with `gradle generatePreflopEquity`.");
+        }
+        return in;
+    }
+
+    private static double fromFixedPoint(int value) {
+        return (double) value / PreflopEquityTableGenerator.SCALE;
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @param opponents The number of opponents
+     * @return The equity of the two cards before the flop. Its trials are those the table was
+     * generated with.
+     * @throws IllegalArgumentException if the cards are the same, or there are no opponents or too many
+     */
+    public PlayerEquity lookup(Card first, Card second, int opponents) {
+        if (opponents < 1 || opponents > maxOpponents) {
+            throw new IllegalArgumentException("The preflop table covers 1 to " + maxOpponents + " opponents, got " + opponents);
+        }
+        return equities[StartingHand.indexOf(first, second) * maxOpponents + opponents - 1];
+    }
+
+    public int getMaxOpponents() {
+        return maxOpponents;
+    }
+
+    /**
+     * @return The number of random deals behind each entry
+     */
+    public int getTrials() {
+        return trials;
+    }
+
+}
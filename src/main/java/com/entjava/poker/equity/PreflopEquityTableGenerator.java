@@ -0,0 +1,116 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.hand.WinningHandCalculator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Generates the resource read by the {@link PreflopEquityTable}.
+ *
+ * <p>The equity of every {@link StartingHand} against 1 to {@link #MAX_OPPONENTS} opponents holding
+ * random cards is worked out by the {@link EquityCalculator}, on all of its worker threads. The
+ * file is laid out in big-endian order as:</p>
+ * <ol>
+ * <li>The {@link #MAGIC} and {@link #VERSION} ints</li>
+ * <li>The number of opponents and the number of trials per entry, as ints</li>
+ * <li>For each starting hand in index order, and each number of opponents from 1 up: the win, tie
+ * and equity fractions of the hand as unsigned shorts, in units of 1/{@link #SCALE}</li>
+ * </ol>
+ */
+public class PreflopEquityTableGenerator {
+
+    static final int MAGIC = 0x50464551;
+    static final int VERSION = 1;
+    static final int MAX_OPPONENTS = 9;
+
+    /**
+     * A fraction is stored as a number of 1/65535ths, much finer than the error of the trials.
+     */
+    static final int SCALE = 0xFFFF;
+
+    private final EquityCalculator equityCalculator;
+    private final int trials;
+    private final long seed;
+
+    /**
+     * @param equityCalculator
+     * @param trials The number of random deals per starting hand and number of opponents
+     * @param seed The same seed, trials and thread count always give the same table
+     */
+    public PreflopEquityTableGenerator(EquityCalculator equityCalculator, int trials, long seed) {
+        this.equityCalculator = equityCalculator;
+        this.trials = trials;
+        this.seed = seed;
+    }
+
+    /**
+     * Writes the table to a temporary file next to <code>tableFile</code> and then moves it into
+     * place, so a reader never sees it half written.
+     *
+     * @param tableFile
+     * @throws IOException if the table could not be written
+     */
+    public void generate(Path tableFile) throws IOException {
+        Path directory = tableFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        SplittableRandom seeds = new SplittableRandom(seed);
+        Path temporaryFile = Files.createTempFile(directory, tableFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(MAX_OPPONENTS);
+            out.writeInt(trials);
+
+            for (int startingHand = 0; startingHand < StartingHand.COUNT; startingHand++) {
+                for (int opponents = 1; opponents <= MAX_OPPONENTS; opponents++) {
+                    PlayerEquity equity = equityCalculator.calculateAgainstRandomHands(
+                            StartingHand.cardsOf(startingHand), opponents, trials, seeds.nextLong()).getPlayers().get(0);
+                    out.writeShort(toFixedPoint(equity.getWin()));
+                    out.writeShort(toFixedPoint(equity.getTie()));
+                    out.writeShort(toFixedPoint(equity.getEquity()));
+                }
+            }
+        }
+        Files.move(temporaryFile, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static int toFixedPoint(double fraction) {
+        return (int) Math.round(fraction * SCALE);
+    }
+
+    /**
+     * Generates the table, e.g. to update the resource shipped with the application.
+     *
+     * @param args The path of the table file, the number of trials per entry (default 1,000,000),
+     *             the number of threads (default one per processor) and the seed (default 1)
+     * @throws IOException if the table could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length < 1 || args.length > 4) {
+            throw new IllegalArgumentException("Usage: PreflopEquityTableGenerator <table file> [trials] [threads] [seed], got "
+                    + Arrays.toString(args));
+        }
+        int trials = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : 0;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 1L;
+
+        EquityCalculator equityCalculator = new EquityCalculator(new WinningHandCalculator(), threads);
+        try {
+            long start = System.nanoTime();
+            new PreflopEquityTableGenerator(equityCalculator, trials, seed).generate(Paths.get(args[0]));
+            System.out.printf("Wrote %s in %.1f s%n", args[0], (System.nanoTime() - start) / 1e9);
+        } finally {
+            equityCalculator.shutdown();
+        }
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.entjava.poker.equity;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The body of <code>POST /api/equity/ranges</code>. Ranges are written as read by
+ * {@link HandRange#parse(String)}, e.g. <code>QQ+, AKs, 50% AQo</code>, and cards as read by
+ * {@link com.entjava.poker.card.Card#parse(String)}.
+ */
+public class RangeEquityRequest {
+
+    private List<String> ranges = new ArrayList<>();
+    private List<String> board = new ArrayList<>();
+    private List<String> dead = new ArrayList<>();
+    private Integer trials;
+
+    /**
+     * @return Each player's range
+     */
+    public List<String> getRanges() {
+        return ranges;
+    }
+
+    public void setRanges(List<String> ranges) {
+        this.ranges = ranges;
+    }
+
+    /**
+     * @return The community cards dealt so far
+     */
+    public List<String> getBoard() {
+        return board;
+    }
+
+    public void setBoard(List<String> board) {
+        this.board = board;
+    }
+
+    /**
+     * @return Cards known to be out of the deck
+     */
+    public List<String> getDead() {
+        return dead;
+    }
+
+    public void setDead(List<String> dead) {
+        this.dead = dead;
+    }
+
+    /**
+     * @return The number of random deals, or null for the configured default
+     */
+    public Integer getTrials() {
+        return trials;
+    }
+
+    public void setTrials(Integer trials) {
+        this.trials = trials;
+    }
+
+}
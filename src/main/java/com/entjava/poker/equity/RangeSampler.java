@@ -0,0 +1,67 @@
+package com.entjava.poker.equity;
+
+import java.util.SplittableRandom;
+
+/**
+ * Draws combos of a {@link HandRange} at random, in proportion to their weights. Combos holding a
+ * card already on the board or dead are left out up front.
+ *
+ * <p>The combos and their running total of weights are kept in two flat arrays, so a draw is a
+ * binary search that allocates nothing.</p>
+ */
+class RangeSampler {
+
+    private final long[] combos;
+    private final double[] cumulativeWeights;
+
+    /**
+     * @param range
+     * @param usedCards The cards on the board and the dead cards
+     * @throws IllegalArgumentException if every combo of the range holds a used card
+     */
+    RangeSampler(HandRange range, long usedCards) {
+        int count = 0;
+        long[] combos = new long[HandRange.COMBOS];
+        double[] cumulativeWeights = new double[HandRange.COMBOS];
+        double total = 0;
+        for (int combo = 0; combo < HandRange.COMBOS; combo++) {
+            double weight = range.getWeight(combo);
+            long cards = HandRange.comboCards(combo);
+            if (weight > 0 && (cards & usedCards) == 0) {
+                total += weight;
+                combos[count] = cards;
+                cumulativeWeights[count] = total;
+                count++;
+            }
+        }
+        if (count == 0) {
+            throw new IllegalArgumentException("Every hand of the range '" + range + "' holds a card on the board or dead");
+        }
+
+        this.combos = new long[count];
+        this.cumulativeWeights = new double[count];
+        System.arraycopy(combos, 0, this.combos, 0, count);
+        System.arraycopy(cumulativeWeights, 0, this.cumulativeWeights, 0, count);
+    }
+
+    /**
+     * @param random
+     * @return The two cards of a combo packed with {@link com.entjava.poker.hand.evaluator.CardMasks}
+     */
+    long sample(SplittableRandom random) {
+        double target = random.nextDouble() * cumulativeWeights[cumulativeWeights.length - 1];
+        int low = 0;
+        int high = cumulativeWeights.length - 1;
+        // The first combo whose running total is above the target
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (cumulativeWeights[middle] > target) {
+                high = middle;
+            } else {
+                low = middle + 1;
+            }
+        }
+        return combos[low];
+    }
+
+}
@@ -0,0 +1,77 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.card.CardSuit;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * The 169 classes of two-card starting hands. Before the flop, suits only matter in whether the two
+ * cards share one, so e.g. A&spades;K&spades; and A&hearts;K&hearts; are both <code>AKs</code>.
+ *
+ * <p>Each class has an index from 0 to 168 in a 13 by 13 grid of ranks: pairs on the diagonal,
+ * suited hands with the higher rank as the row, and offsuit hands with the higher rank as the
+ * column.</p>
+ */
+public final class StartingHand {
+
+    public static final int COUNT = 169;
+
+    private static final int RANKS = CardRank.values().length;
+
+    private StartingHand() {
+    }
+
+    /**
+     * @param first
+     * @param second
+     * @return The index of the class of the two cards
+     * @throws IllegalArgumentException if the two cards are the same card
+     */
+    public static int indexOf(Card first, Card second) {
+        if (first.equals(second)) {
+            throw new IllegalArgumentException(first + " is dealt twice");
+        }
+        int high = Math.max(first.getRank().ordinal(), second.getRank().ordinal());
+        int low = Math.min(first.getRank().ordinal(), second.getRank().ordinal());
+        if (first.getSuit() == second.getSuit()) {
+            return high * RANKS + low;
+        }
+        return low * RANKS + high;
+    }
+
+    /**
+     * @param index
+     * @return The class as it is usually written, e.g. <code>QQ</code>, <code>AKs</code> or <code>72o</code>
+     */
+    public static String nameOf(int index) {
+        int row = index / RANKS;
+        int column = index % RANKS;
+        CardRank high = CardRank.values()[Math.max(row, column)];
+        CardRank low = CardRank.values()[Math.min(row, column)];
+        String name = letterOf(high) + letterOf(low);
+        if (row == column) {
+            return name;
+        }
+        return name + (row > column ? "s" : "o");
+    }
+
+    /**
+     * @param index
+     * @return Two cards of the class
+     */
+    public static List<Card> cardsOf(int index) {
+        int row = index / RANKS;
+        int column = index % RANKS;
+        CardSuit secondSuit = row > column ? CardSuit.SPADES : CardSuit.HEARTS;
+        return Arrays.asList(Card.of(CardRank.values()[row], CardSuit.SPADES),
+                Card.of(CardRank.values()[column], secondSuit));
+    }
+
+    private static String letterOf(CardRank rank) {
+        return rank == CardRank.TEN ? "T" : rank.toString();
+    }
+
+}
@@ -0,0 +1,9 @@
+package com.entjava.poker.exception;
+
+public class TooManyTablesException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public TooManyTablesException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package com.entjava.poker.exception;
+
+public class WriteBehindQueueFullException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    public WriteBehindQueueFullException(String message) {
+        super(message);
+    }
+}
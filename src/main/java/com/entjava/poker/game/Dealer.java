@@ -0,0 +1,164 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.deck.Deck;
+import com.entjava.poker.deck.ShuffleSource;
+import com.entjava.poker.hand.WinningHandCalculator;
+
+/**
+ * Deals complete hands of Texas Hold'em straight to the showdown, for callers that play many hands
+ * and only need the outcome, e.g. the {@link com.entjava.poker.simulation.SimulationEngine}.
+ *
+ * <p>Every hand is dealt like a {@link Game}: two cards to each player, then the flop, the turn and
+ * the river, each after a burnt card. The cards are kept packed with
+ * {@link com.entjava.poker.hand.evaluator.CardMasks}, and every player is ranked against the board at
+ * once with {@link WinningHandCalculator#calculateWinners(long, long[], int[])}, so no
+ * {@link com.entjava.poker.hand.Hand} is built and nothing is allocated per hand.</p>
+ *
+ * <p>A dealer reuses its deck and arrays for every hand, so it belongs to one thread at a time.</p>
+ */
+public class Dealer {
+
+    public static final int MIN_PLAYERS = 2;
+
+    /**
+     * The most players a deck can deal a complete hand to: two cards each, five community cards
+     * and three burnt cards.
+     */
+    public static final int MAX_PLAYERS = 22;
+
+    public static final int PLAYER_CARDS = 2;
+    public static final int COMMUNITY_CARDS = 5;
+
+    private static final int FLOP_CARDS = 3;
+
+    private final Deck deck;
+    private final WinningHandCalculator winningHandCalculator;
+    private final int players;
+
+    private final Card[] playerCards;
+    private final long[] holeCards;
+    private final Card[] communityCards = new Card[COMMUNITY_CARDS];
+    private final int[] strengths;
+    private long board;
+    private int winners;
+
+    /**
+     * @param deck The deck to deal from, reset before every hand
+     * @param winningHandCalculator
+     * @param players The number of players, from {@link #MIN_PLAYERS} to {@link #MAX_PLAYERS}
+     * @throws IllegalArgumentException if the players do not fit a deck
+     */
+    public Dealer(Deck deck, WinningHandCalculator winningHandCalculator, int players) {
+        if (players < MIN_PLAYERS || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A table seats " + MIN_PLAYERS + " to " + MAX_PLAYERS + " players, got " + players);
+        }
+        this.deck = deck;
+        this.winningHandCalculator = winningHandCalculator;
+        this.players = players;
+        this.playerCards = new Card[players * PLAYER_CARDS];
+        this.holeCards = new long[players];
+        this.strengths = new int[players];
+    }
+
+    /**
+     * Shuffles the complete deck, deals a hand to the river and ranks every player.
+     *
+     * @param shuffleSource The numbers the deck is shuffled with
+     * @return The winning players as a bit set, see {@link #isWinner(int)}
+     */
+    public int dealHand(ShuffleSource shuffleSource) {
+        deck.reset();
+        // Only the cards actually dealt are shuffled
+        deck.shuffleLazily(shuffleSource);
+
+        for (int seat = 0; seat < players; seat++) {
+            holeCards[seat] = 0L;
+        }
+        for (int card = 0; card < PLAYER_CARDS; card++) {
+            for (int seat = 0; seat < players; seat++) {
+                Card dealt = deck.removeFromTop();
+                playerCards[seat * PLAYER_CARDS + card] = dealt;
+                holeCards[seat] |= dealt.getMask();
+            }
+        }
+
+        board = 0L;
+        dealCommunityCards(0, FLOP_CARDS);
+        dealCommunityCards(FLOP_CARDS, 1);
+        dealCommunityCards(FLOP_CARDS + 1, 1);
+
+        winners = winningHandCalculator.calculateWinners(board, holeCards, strengths);
+        return winners;
+    }
+
+    private void dealCommunityCards(int first, int count) {
+        deck.removeFromTop(); // Burn a card
+        for (int card = first; card < first + count; card++) {
+            communityCards[card] = deck.removeFromTop();
+            board |= communityCards[card].getMask();
+        }
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    /**
+     * @param seat From 0 to the number of players - 1
+     * @param card 0 or 1, in the order they were dealt
+     * @return One of the seat's cards in the last hand
+     */
+    public Card getPlayerCard(int seat, int card) {
+        return playerCards[seat * PLAYER_CARDS + card];
+    }
+
+    /**
+     * @param card From 0 to 4, in the order they were dealt
+     * @return One of the community cards of the last hand
+     */
+    public Card getCommunityCard(int card) {
+        return communityCards[card];
+    }
+
+    /**
+     * @param seat
+     * @return The seat's cards and the board of the last hand, packed with
+     * {@link com.entjava.poker.hand.evaluator.CardMasks}
+     */
+    public long getCards(int seat) {
+        return holeCards[seat] | board;
+    }
+
+    /**
+     * @param seat
+     * @return The strength of the seat's hand in the last hand, see
+     * {@link com.entjava.poker.hand.evaluator.HandStrength}
+     */
+    public int getStrength(int seat) {
+        return strengths[seat];
+    }
+
+    /**
+     * @return The strengths of every seat in the last hand. The array is reused by the next hand.
+     */
+    public int[] getStrengths() {
+        return strengths;
+    }
+
+    /**
+     * @param seat
+     * @return true if the seat has the best hand of the last hand. Tied players all win.
+     */
+    public boolean isWinner(int seat) {
+        return (winners & 1 << seat) != 0;
+    }
+
+    /**
+     * @return The strength of the best hand of the last hand
+     */
+    public int getWinningStrength() {
+        return strengths[Integer.numberOfTrailingZeros(winners)];
+    }
+
+}
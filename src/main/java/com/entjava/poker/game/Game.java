@@ -5,21 +5,26 @@ import com.entjava.poker.hand.WinningHandCalculator;
 import com.entjava.poker.card.Card;
 import com.entjava.poker.deck.Deck;
 import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.deck.SeededShuffleSource;
 import com.entjava.poker.hand.HandIdentifier;
-import org.springframework.stereotype.Component;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.SplittableRandom;
 import java.util.stream.Collectors;
 
 /**
- * The game engine.
+ * The game engine. Each {@link Table} of the {@link TableRegistry} has its own.
  */
-@Component
 public class Game {
 
+    private static final Logger log = LoggerFactory.getLogger(Game.class);
+
     private List<Player> players = new ArrayList<>();
 
     private List<Card> communityCards = new ArrayList<>();
@@ -30,34 +35,51 @@ public class Game {
 
     private Deck deck;
 
-    private Hand winningHand = null;
+    /**
+     * Draws the seed of every new game. It belongs to this game alone, so games running side by side
+     * never contend on a shared generator.
+     */
+    private final SplittableRandom seeds = new SplittableRandom();
+    private long seed;
+
+    private int winningStrength = NO_WINNER;
 
     private static final int MAX_PLAYER_CARDS = 2;
     private static final int MAX_COMMUNITY_CARDS = 5;
+    private static final int NO_WINNER = -1;
 
     public Game(DeckBuilder deckBuilder,
                 HandIdentifier handIdentifier,
                 WinningHandCalculator winningHandCalculator) {
-        players.add(new Player("Dadan"));
-        players.add(new Player("Haze"));
-        players.add(new Player("Joanny"));
-        players.add(new Player("Migs"));
-        players.add(new Player("Jude"));
-        players.add(new Player("Robyn"));
-        players.add(new Player("Jesse"));
+        this(deckBuilder, handIdentifier, winningHandCalculator, randomizePlayers(3));
+    }
+
+    /**
+     * Seats the given players, in order, and starts a new game.
+     *
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator
+     * @param playerNames The names of the players
+     */
+    public Game(DeckBuilder deckBuilder,
+                HandIdentifier handIdentifier,
+                WinningHandCalculator winningHandCalculator,
+                List<String> playerNames) {
+        playerNames.forEach(name -> players.add(new Player(name)));
 
         this.deckBuilder = deckBuilder;
         this.handIdentifier = handIdentifier;
         this.winningHandCalculator = winningHandCalculator;
 
-        randomizePlayers(3);
         startNewGame();
     }
 
-    private void randomizePlayers(int numberOfPlayers)
+    private static List<String> randomizePlayers(int numberOfPlayers)
     {
+        List<String> players = new ArrayList<>(Arrays.asList("Dadan", "Haze", "Joanny", "Migs", "Jude", "Robyn", "Jesse"));
         Collections.shuffle(players); // Shuffle the player list
-        players = players.subList(0, numberOfPlayers); // Keep only the first 'numberOfPlayers' players
+        return players.subList(0, numberOfPlayers); // Keep only the first 'numberOfPlayers' players
     }
 
     /**
@@ -67,17 +89,35 @@ public class Game {
      * <ul>
      * <li>Players' previous hands are cleared</li>
      * <li>Community cards are cleared</li>
-     * <li>A new deck is used</li>
-     * <li>The deck is shuffled</li>
+     * <li>The previous winners are cleared</li>
+     * <li>The deck is complete again: it is built for the first game and reset after that</li>
+     * <li>The deck is shuffled from a new seed, see {@link #getSeed()}</li>
      * <li>Players' are dealt with new cards.</li>
      * </ul>
      */
     public void startNewGame() {
+        startNewGame(seeds.nextLong());
+    }
+
+    /**
+     * Starts a new game whose deck is shuffled from the given seed. With the same players, the same
+     * seed always deals the same cards, so any game can be replayed.
+     *
+     * @param seed The seed of the shuffle, e.g. one returned by {@link #getSeed()}
+     */
+    public void startNewGame(long seed) {
+        this.seed = seed;
         players.forEach(Player::clearHand);
         communityCards.clear();
+        winningStrength = NO_WINNER;
 
-        deck = deckBuilder.buildDeck();
-        deck.shuffle();
+        if (deck == null) {
+            deck = deckBuilder.buildDeck();
+        } else {
+            deck.reset();
+        }
+        // Only the cards actually dealt are shuffled
+        deck.shuffleLazily(new SeededShuffleSource(seed));
 
         dealHands();
     }
@@ -103,11 +143,8 @@ public class Game {
             dealOneCommunityCard();
         }
 
-        // Identify hands after each community card deal
-        players.forEach(player -> {
-            Hand playerHand = handIdentifier.identifyHand(player.getHand(), communityCards);
-            player.setPlayableHand(playerHand);
-        });
+        // Rank hands after each community card deal. The Hand itself is only built when asked for.
+        players.forEach(player -> handIdentifier.evaluate(player.getHandState()));
 
         if (hasEnded()) {
             identifyWinningHand();
@@ -116,43 +153,53 @@ public class Game {
 
     /**
      * Checks the combination of the players and community cards to identify the winning hand.
+     * Only the strengths in the players' {@link Player#getHandState()}s are compared; the winning
+     * {@link Hand}s are only built to be logged at debug level.
      *
      * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
      */
     public void identifyWinningHand() {
-        List<Hand> playerHands = players.stream()
-                .map(this::identifyPlayerHand)
-                .collect(Collectors.toList());
-        Optional<Hand> optionalHand = winningHandCalculator.calculateWinningHand(playerHands);
-
-        winningHand = optionalHand.get();
-        System.out.println(winningHand);
+        int[] playerStrengths = players.stream()
+                .mapToInt(player -> handIdentifier.evaluate(player.getHandState()))
+                .toArray();
+        winningStrength = winningHandCalculator.calculateWinningStrength(playerStrengths).orElse(NO_WINNER);
+
+        if (log.isDebugEnabled()) {
+            log.debug("Winning hands: {}", players.stream()
+                    .filter(this::checkIfPlayerWon)
+                    .map(player -> identifyPlayerHand(player).toString())
+                    .collect(Collectors.joining(", ")));
+        }
     }
 
     /**
      * Checks if the player won
      *
      * @param player
-     * @return true if the player's hand is equal to the winning hand.
+     * @return true if the player's hand is as strong as the winning hand. Tied players all win.
      */
     public boolean checkIfPlayerWon(Player player) {
-        Hand playerHand = identifyPlayerHand(player);
-        return winningHand != null && (winningHand.getCurrentHand()).equals(player.getPlayableHand().getCurrentHand());
+        return winningStrength != NO_WINNER && handIdentifier.evaluate(player.getHandState()) == winningStrength;
     }
 
     /**
      * Identifies the player's hand. A hand is combination of the two cards in the player's
      * possession and the community cards on the table.
      *
+     * <p>The hand is built from the player's {@link Player#getHandState()}, which already holds
+     * every card dealt so far, the first time it is asked for on a street. Later calls on the same
+     * street, e.g. when the page is rendered again, return the same hand.</p>
+     *
      * @param player
      * @return The {@link} of a player, e.g. High Card, One Pair, Straight, etc.
      * @see <a href="https://www.youtube.com/watch?v=GAoR9ji8D6A">Poker rules</a>
      */
     public Hand identifyPlayerHand(Player player) {
-        List<Card> playerCards = player.getHand();
-        Hand playableHand = handIdentifier.identifyHand(playerCards, communityCards);
-        player.setPlayableHand(playableHand);
-        return playableHand;
+        if (player.getPlayableHand() == null) {
+            Hand playableHand = handIdentifier.identifyHand(player.getHandState(), player.getHand(), communityCards);
+            player.setPlayableHand(playableHand);
+        }
+        return player.getPlayableHand();
     }
 
     /**
@@ -169,6 +216,13 @@ public class Game {
         return communityCards;
     }
 
+    /**
+     * @return The seed the current game's deck was shuffled from
+     */
+    public long getSeed() {
+        return seed;
+    }
+
     /**
      * @return true if the number of community cards is equal to the maximum community cards allowed.
      */
@@ -187,13 +241,15 @@ public class Game {
     }
 
     private void dealThreeCommunityCards() {
-        communityCards.add(deck.removeFromTop());
-        communityCards.add(deck.removeFromTop());
-        communityCards.add(deck.removeFromTop());
+        dealOneCommunityCard();
+        dealOneCommunityCard();
+        dealOneCommunityCard();
     }
 
     private void dealOneCommunityCard() {
-        communityCards.add(deck.removeFromTop());
+        Card card = deck.removeFromTop();
+        communityCards.add(card);
+        players.forEach(player -> player.addCommunityCard(card));
     }
 
     private void burnCard() {
@@ -204,11 +260,8 @@ public class Game {
         return player.getHand().get(0).getRank().toString();
     }
     public Optional<Player> getWinner() {
-        if (winningHand == null) {
-            return Optional.empty();
-        }
         return players.stream()
-            .filter(player -> player.getPlayableHand().equals(winningHand))
+            .filter(this::checkIfPlayerWon)
             .findFirst();
     }
 }
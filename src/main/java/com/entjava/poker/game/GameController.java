@@ -2,33 +2,66 @@ package com.entjava.poker.game;
 
 import com.entjava.poker.card.BlankCard;
 import com.entjava.poker.card.Card;
+import com.entjava.poker.equity.LiveOddsTracker;
+import com.entjava.poker.exception.GameNotFoundException;
+import com.entjava.poker.exception.TooManyTablesException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 
+import javax.servlet.http.HttpSession;
 import java.util.Iterator;
 import java.util.List;
 
 @Controller
 public class GameController {
 
-	private Game game;
+	private static final String TABLE_ID = "tableId";
 
-	public GameController(Game game) {
-		this.game = game;
+	private TableRegistry tableRegistry;
+	private LiveOddsTracker liveOddsTracker;
+
+	public GameController(TableRegistry tableRegistry, LiveOddsTracker liveOddsTracker) {
+		this.tableRegistry = tableRegistry;
+		this.liveOddsTracker = liveOddsTracker;
 	}
 
+	/**
+	 * Opens a new table for every visitor, so each plays their own game. A visitor who comes back
+	 * is sent to the table they already have, unless it was evicted.
+	 */
 	@GetMapping("/")
-	public String index(Model model) {
-		model.addAttribute("game", game);
+	public String newTable(HttpSession session) {
+		String tableId = (String) session.getAttribute(TABLE_ID);
+		if (tableId == null || !tableRegistry.find(tableId).isPresent()) {
+			tableId = tableRegistry.open().getId();
+			session.setAttribute(TABLE_ID, tableId);
+		}
+		return "redirect:/table/" + tableId;
+	}
 
-		List<Player> players = game.getPlayers();
+	/**
+	 * Renders the table's latest snapshot. It never waits for the table's commands.
+	 */
+	@GetMapping("/table/{tableId}")
+	public String index(@PathVariable String tableId, Model model) {
+		TableSnapshot table = findTable(tableId).getSnapshot();
+		// Starts the odds of the first street. The page fetches them once they are ready.
+		liveOddsTracker.update(table);
+		model.addAttribute("table", table);
+
+		List<PlayerSnapshot> players = table.getPlayers();
 		for (int i = 0; i < players.size(); i++) {
 			int playerNumber = i + 1;
 			model.addAttribute("player" + playerNumber, players.get(i));
 		}
 
-		Iterator<Card> communityCardIterator = game.getCommunityCards().iterator();
+		Iterator<Card> communityCardIterator = table.getCommunityCards().iterator();
 		for (int communityCardNumber = 1; communityCardNumber <= 5; communityCardNumber++) {
 			model.addAttribute("communityCard" + communityCardNumber, fetchNextCommunityCard(communityCardIterator));
 		}
@@ -44,14 +77,43 @@ public class GameController {
 		}
 	}
 
-	@GetMapping("/nextAction")
-	public String nextAction() {
-		if (game.hasEnded()) {
-			game.startNewGame();
-		} else {
-			game.nextAction();
-		}
+	/**
+	 * Sends the next action to the table and waits for it, so the page it redirects to shows it.
+	 */
+	@GetMapping("/table/{tableId}/nextAction")
+	public String nextAction(@PathVariable String tableId) {
+		TableSnapshot table = findTable(tableId).send(game -> {
+			if (game.hasEnded()) {
+				game.startNewGame();
+			} else {
+				game.nextAction();
+			}
+		}).join();
+		liveOddsTracker.update(table);
 
+		return "redirect:/table/" + tableId;
+	}
+
+	/**
+	 * A table that was evicted, or never existed, is replaced by a new one.
+	 */
+	@ExceptionHandler(GameNotFoundException.class)
+	public String tableNotFound() {
 		return "redirect:/";
 	}
+
+	/**
+	 * Every table is taken, so the visitor should come back once idle tables have been evicted.
+	 */
+	@ExceptionHandler(TooManyTablesException.class)
+	public ResponseEntity<String> tooManyTables(TooManyTablesException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, "60")
+				.body(e.getMessage());
+	}
+
+	private Table findTable(String tableId) {
+		return tableRegistry.find(tableId)
+				.orElseThrow(() -> new GameNotFoundException("There is no table " + tableId));
+	}
 }
@@ -2,6 +2,7 @@ package com.entjava.poker.game;
 
 import com.entjava.poker.hand.Hand;
 import com.entjava.poker.card.Card;
+import com.entjava.poker.hand.evaluator.HandState;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -13,6 +14,7 @@ public class Player {
 
 	private String name;
 	private List<Card> hand = new ArrayList<>();
+	private final HandState handState = new HandState();
 
 	public Player(String name) {
 		this.name = name;
@@ -26,18 +28,43 @@ public class Player {
 		return hand;
 	}
 
+	/**
+	 * @return The player's cards and the community cards dealt so far, packed as they arrive, see {@link HandState}.
+	 */
+	public HandState getHandState() {
+		return handState;
+	}
+
 	void addToHand(Card card) {
 		hand.add(card);
+		handState.add(card);
+		playableHand = null;
+	}
+
+	/**
+	 * Makes a newly dealt community card part of the player's hand.
+	 *
+	 * @param card
+	 */
+	void addCommunityCard(Card card) {
+		handState.add(card);
+		playableHand = null;
 	}
 
 	void clearHand() {
 		hand.clear();
+		handState.clear();
+		playableHand = null;
 	}
 
 	public String toString() {
 		return name;
 	}
 
+	/**
+	 * @return The player's identified hand, or null if it has not been identified since the last
+	 * card was dealt.
+	 */
 	public Hand getPlayableHand() {
 		return playableHand;
 	}
@@ -0,0 +1,55 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.card.Card;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A {@link Player} as part of a {@link TableSnapshot}.
+ */
+public class PlayerSnapshot {
+
+	private final String name;
+	private final List<Card> hand;
+	private final String currentHand;
+	private final boolean isWinner;
+
+	PlayerSnapshot(String name, List<Card> hand, String currentHand, boolean isWinner) {
+		this.name = name;
+		this.hand = Collections.unmodifiableList(new ArrayList<>(hand));
+		this.currentHand = currentHand;
+		this.isWinner = isWinner;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return The player's own cards
+	 */
+	public List<Card> getHand() {
+		return hand;
+	}
+
+	/**
+	 * @return The best hand of the player's cards and the community cards, e.g. "Flush (K High)"
+	 */
+	public String getCurrentHand() {
+		return currentHand;
+	}
+
+	/**
+	 * @return true if the game has ended and the player's hand is as strong as the winning hand
+	 */
+	public boolean isWinner() {
+		return isWinner;
+	}
+
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,116 @@
+package com.entjava.poker.game;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * A {@link Game} kept by the {@link TableRegistry}, with the time it was last used.
+ *
+ * <p>The game is never touched by the caller's thread. Commands are queued in the table's mailbox
+ * with {@link #send(Consumer)} and run one at a time, in the order they were sent, on the
+ * registry's shared executor. At most one thread runs a table's commands at any moment, so the game
+ * needs no locks, and different tables run side by side.</p>
+ *
+ * <p>After every command the table publishes an immutable {@link TableSnapshot} of its game, which
+ * any thread may read with {@link #getSnapshot()}.</p>
+ */
+public class Table {
+
+	/**
+	 * The most commands run before the table gives its thread back to the other tables.
+	 */
+	private static final int MAX_COMMANDS_PER_RUN = 16;
+
+	private final String id;
+	private final Game game;
+	private final Executor executor;
+
+	private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+	private final AtomicBoolean isScheduled = new AtomicBoolean();
+
+	private volatile TableSnapshot snapshot;
+	private volatile long lastAccessNanos;
+
+	Table(String id, Game game, Executor executor) {
+		this.id = id;
+		this.game = game;
+		this.executor = executor;
+		this.snapshot = TableSnapshot.of(id, 0, game);
+		this.lastAccessNanos = System.nanoTime();
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	/**
+	 * Queues a command to run on the table's game.
+	 *
+	 * @param command Changes the game. It runs on another thread and must not keep the game.
+	 * @return The snapshot taken right after the command, or the command's exception
+	 */
+	public CompletableFuture<TableSnapshot> send(Consumer<Game> command) {
+		CompletableFuture<TableSnapshot> result = new CompletableFuture<>();
+		mailbox.add(() -> {
+			try {
+				command.accept(game);
+				TableSnapshot next = TableSnapshot.of(id, snapshot.getVersion() + 1, game);
+				snapshot = next;
+				result.complete(next);
+			} catch (RuntimeException e) {
+				result.completeExceptionally(e);
+			} catch (Error e) {
+				// The sender still hears of it, and the error still reaches the executor
+				result.completeExceptionally(e);
+				throw e;
+			}
+		});
+		schedule();
+		return result;
+	}
+
+	/**
+	 * @return The state of the game after the last command that has run
+	 */
+	public TableSnapshot getSnapshot() {
+		return snapshot;
+	}
+
+	private void schedule() {
+		if (isScheduled.compareAndSet(false, true)) {
+			executor.execute(this::runCommands);
+		}
+	}
+
+	private void runCommands() {
+		try {
+			Runnable command;
+			for (int run = 0; run < MAX_COMMANDS_PER_RUN && (command = mailbox.poll()) != null; run++) {
+				command.run();
+			}
+		} finally {
+			// Cleared even when a command throws an error, or the table would never run again
+			isScheduled.set(false);
+			// A command sent after the last poll, but before the flag was cleared, would be left waiting
+			if (!mailbox.isEmpty()) {
+				schedule();
+			}
+		}
+	}
+
+	/**
+	 * Marks the table as used, so it is not evicted as idle.
+	 */
+	void touch() {
+		lastAccessNanos = System.nanoTime();
+	}
+
+	long getLastAccessNanos() {
+		return lastAccessNanos;
+	}
+
+}
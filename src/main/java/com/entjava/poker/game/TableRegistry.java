@@ -0,0 +1,163 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.concurrent.WorkerPools;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.exception.TooManyTablesException;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Holds every open {@link Table}, each with its own independent {@link Game}, keyed by table id.
+ *
+ * <p>Tables live in a {@link ConcurrentHashMap}, so opening, finding and evicting tables never takes
+ * a lock shared by all of them. A table that has not been used for the idle timeout is evicted by
+ * {@link #evictIdleTables()}, which bounds the memory held by abandoned tables. No more than the
+ * maximum number of tables are open at once, so visitors cannot open tables faster than they are
+ * evicted until the memory runs out.</p>
+ *
+ * <p>Every table runs its commands on one shared pool with a thread per processor, however many
+ * tables are open. A table only holds a thread while it has commands waiting.</p>
+ */
+@Component
+public class TableRegistry {
+
+	private static final int ID_RADIX = 36;
+
+	private final Map<String, Table> tables = new ConcurrentHashMap<>();
+	private final List<Consumer<String>> evictionListeners = new CopyOnWriteArrayList<>();
+
+	private final DeckBuilder deckBuilder;
+	private final HandIdentifier handIdentifier;
+	private final WinningHandCalculator winningHandCalculator;
+	private final long idleTimeoutNanos;
+	private final int maxTables;
+	// Counted apart from the map, so a slot is taken before the table is added
+	private final AtomicInteger openTables = new AtomicInteger();
+	private final ForkJoinPool executor;
+
+	/**
+	 * @param deckBuilder
+	 * @param handIdentifier
+	 * @param winningHandCalculator
+	 * @param idleTimeoutMillis How long a table may go unused before it is evicted
+	 * @param threads The number of threads running the tables' commands, or 0 for one per processor
+	 * @param maxTables The most tables open at once
+	 */
+	@Autowired
+	public TableRegistry(DeckBuilder deckBuilder,
+						 HandIdentifier handIdentifier,
+						 WinningHandCalculator winningHandCalculator,
+						 @Value("${poker.tables.idle-timeout-ms:1800000}") long idleTimeoutMillis,
+						 @Value("${poker.tables.threads:0}") int threads,
+						 @Value("${poker.tables.max:10000}") int maxTables) {
+		this.deckBuilder = deckBuilder;
+		this.handIdentifier = handIdentifier;
+		this.winningHandCalculator = winningHandCalculator;
+		this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(idleTimeoutMillis);
+		this.maxTables = maxTables;
+
+		// Async mode runs the queued tables first in, first out, so no table is starved
+		this.executor = WorkerPools.namedPool("table", threads, true);
+	}
+
+	/**
+	 * Opens a new table with a new game.
+	 *
+	 * @return The new table, with a random id
+	 * @throws TooManyTablesException if the most tables are already open
+	 */
+	public Table open() {
+		if (openTables.incrementAndGet() > maxTables) {
+			openTables.decrementAndGet();
+			throw new TooManyTablesException("There are already " + maxTables + " tables open");
+		}
+		Game game = new Game(deckBuilder, handIdentifier, winningHandCalculator);
+		while (true) {
+			String id = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, ID_RADIX);
+			Table table = new Table(id, game, executor);
+			if (tables.putIfAbsent(id, table) == null) {
+				return table;
+			}
+		}
+	}
+
+	/**
+	 * Finds an open table and marks it as used.
+	 *
+	 * @param id
+	 * @return The table, or empty if there is no such table or it was evicted
+	 */
+	public Optional<Table> find(String id) {
+		// Touching inside the map's per-entry lock means an eviction sees it
+		return Optional.ofNullable(tables.computeIfPresent(id, (tableId, table) -> {
+			table.touch();
+			return table;
+		}));
+	}
+
+	/**
+	 * @return The number of open tables
+	 */
+	public int size() {
+		return tables.size();
+	}
+
+	/**
+	 * @param listener Called with the id of every table that is evicted
+	 */
+	public void addEvictionListener(Consumer<String> listener) {
+		evictionListeners.add(listener);
+	}
+
+	/**
+	 * Evicts every table that has not been used for the idle timeout.
+	 */
+	@Scheduled(fixedDelayString = "${poker.tables.eviction-interval-ms:60000}")
+	public void evictIdleTables() {
+		evictTablesIdleSince(System.nanoTime() - idleTimeoutNanos);
+	}
+
+	/**
+	 * @param cutoffNanos Tables last used before this {@link System#nanoTime()} are evicted
+	 * @return The number of tables evicted
+	 */
+	int evictTablesIdleSince(long cutoffNanos) {
+		int evicted = 0;
+		for (String id : tables.keySet()) {
+			boolean[] isEvicted = new boolean[1];
+			// Checked again under the entry's lock, in case a request used the table meanwhile
+			tables.computeIfPresent(id, (tableId, table) -> {
+				isEvicted[0] = table.getLastAccessNanos() - cutoffNanos < 0;
+				return isEvicted[0] ? null : table;
+			});
+			if (isEvicted[0]) {
+				openTables.decrementAndGet();
+				evicted++;
+				evictionListeners.forEach(listener -> listener.accept(id));
+			}
+		}
+		return evicted;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+}
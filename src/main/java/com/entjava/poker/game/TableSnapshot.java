@@ -0,0 +1,81 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.card.Card;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The state of a table's game at one moment. It never changes, so it can be read by any number of
+ * threads while the table's game moves on.
+ */
+public class TableSnapshot {
+
+	private final String tableId;
+	private final long version;
+	private final long seed;
+	private final List<PlayerSnapshot> players;
+	private final List<Card> communityCards;
+	private final boolean hasEnded;
+
+	private TableSnapshot(String tableId, long version, long seed, List<PlayerSnapshot> players,
+						  List<Card> communityCards, boolean hasEnded) {
+		this.tableId = tableId;
+		this.version = version;
+		this.seed = seed;
+		this.players = players;
+		this.communityCards = communityCards;
+		this.hasEnded = hasEnded;
+	}
+
+	/**
+	 * Copies the state of a game. Must be called by the thread running the table's commands.
+	 *
+	 * @param tableId
+	 * @param version The number of commands run on the table so far
+	 * @param game
+	 * @return The snapshot
+	 */
+	static TableSnapshot of(String tableId, long version, Game game) {
+		List<PlayerSnapshot> players = new ArrayList<>(game.getPlayers().size());
+		for (Player player : game.getPlayers()) {
+			players.add(new PlayerSnapshot(player.getName(), player.getHand(),
+					game.identifyPlayerHand(player).toString(), game.checkIfPlayerWon(player)));
+		}
+		return new TableSnapshot(tableId, version, game.getSeed(), Collections.unmodifiableList(players),
+				Collections.unmodifiableList(new ArrayList<>(game.getCommunityCards())), game.hasEnded());
+	}
+
+	public String getTableId() {
+		return tableId;
+	}
+
+	/**
+	 * @return The number of commands run on the table before the snapshot was taken. A later
+	 * snapshot of the same table has a higher version.
+	 */
+	public long getVersion() {
+		return version;
+	}
+
+	/**
+	 * @return The seed of the game, see {@link Game#getSeed()}
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	public List<PlayerSnapshot> getPlayers() {
+		return players;
+	}
+
+	public List<Card> getCommunityCards() {
+		return communityCards;
+	}
+
+	public boolean hasEnded() {
+		return hasEnded;
+	}
+
+}
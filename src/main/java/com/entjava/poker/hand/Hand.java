@@ -1,5 +1,9 @@
 package com.entjava.poker.hand;
 
+import com.entjava.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.hand.evaluator.HandEvaluator;
+import com.entjava.poker.hand.evaluator.HandStrength;
 import com.entjava.poker.hand.types.Flush;
 import com.entjava.poker.hand.types.FullHouse;
 import com.entjava.poker.card.Card;
@@ -13,16 +17,34 @@ import java.util.List;
  */
 public abstract class Hand implements Comparable{
 
+    private static final HandEvaluator HAND_EVALUATOR = new BitmaskHandEvaluator();
+
     public List<Card> getCurrentHand() {
         return currentHand;
     }
 
+    /**
+     * Sets the cards that make up the hand and ranks them.
+     *
+     * @param currentHand
+     */
     public void setCurrentHand(List<Card> currentHand) {
         this.currentHand = currentHand;
+        this.strength = HAND_EVALUATOR.evaluate(CardMasks.of(currentHand));
     }
 
     private List<Card> currentHand = new ArrayList<>();
 
+    private int strength;
+
+    /**
+     * @return The hand type and kickers of the hand as one number, see {@link HandStrength}. The
+     * higher the number, the better the hand.
+     */
+    public int strength() {
+        return strength;
+    }
+
     /**
      * @return The {@link HandType}
      */
@@ -31,16 +53,6 @@ public abstract class Hand implements Comparable{
     @Override
     public int compareTo(Object o) {
         Hand hand = (Hand)o;
-
-        int comparison = Integer.compare(this.getHandType().ordinal(), hand.getHandType().ordinal());
-
-        // if same hand rank, check for all cards.
-        int ctr =0;
-        while(comparison ==0 && ctr < 5) {
-            comparison = Integer.compare(this.getCurrentHand().get(ctr).getRank().ordinal(),hand.getCurrentHand().get(ctr).getRank().ordinal());
-            ++ctr;
-        }
-
-        return comparison;
+        return Integer.compare(this.strength(), hand.strength());
     }
 }
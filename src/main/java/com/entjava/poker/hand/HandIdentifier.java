@@ -1,21 +1,69 @@
 package com.entjava.poker.hand;
 
+import com.entjava.poker.card.CardRank;
 import com.entjava.poker.card.CardSuit;
+import com.entjava.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.hand.evaluator.HandEvaluator;
+import com.entjava.poker.hand.evaluator.HandState;
+import com.entjava.poker.hand.evaluator.HandStrength;
 import com.entjava.poker.hand.types.*;
 import com.entjava.poker.card.Card;
-import com.entjava.poker.card.CardRank;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * A service that is used to identify the {@link Hand} given the player's cards and the community
  * cards.
+ *
+ * <p>Ranking the cards is delegated to a {@link HandEvaluator}. This class only picks the cards
+ * that make up the ranked hand and wraps them in the matching {@link Hand} type.</p>
+ *
+ * <p>Callers that only need to rank or compare hands should use the <code>evaluate</code> methods,
+ * which return the {@link HandStrength} without allocating. Building the {@link Hand}, with its
+ * card lists and description, is left to <code>identifyHand</code> for when it is displayed.</p>
  */
 @Component
 public class HandIdentifier {
 
+    private static final CardRank[] CARD_RANKS = CardRank.values();
+
+    private final HandEvaluator handEvaluator;
+
+    public HandIdentifier() {
+        this(new BitmaskHandEvaluator());
+    }
+
+    @Autowired
+    public HandIdentifier(HandEvaluator handEvaluator) {
+        this.handEvaluator = handEvaluator;
+    }
+
+    /**
+     * Ranks the player's cards and the community cards without building a {@link Hand}.
+     *
+     * @param playerCards
+     * @param communityCards
+     * @return The strength of the player's hand, see {@link HandStrength}
+     */
+    public int evaluate(List<Card> playerCards, List<Card> communityCards) {
+        return handEvaluator.evaluate(CardMasks.of(playerCards) | CardMasks.of(communityCards));
+    }
+
+    /**
+     * Ranks cards that were packed as they were dealt without building a {@link Hand}. The whole
+     * hand is evaluated again after each new card, and the result is cached in the state until the
+     * next one.
+     *
+     * @param handState
+     * @return The strength of the player's hand, see {@link HandStrength}
+     */
+    public int evaluate(HandState handState) {
+        return handState.strength(handEvaluator);
+    }
+
     /**
      * Given the player's cards and the community cards, identifies the player's hand.
      *
@@ -24,171 +72,169 @@ public class HandIdentifier {
      * @return The player's {@link Hand} or `null` if no Hand was identified.
      */
     public Hand identifyHand(List<Card> playerCards, List<Card> communityCards) {
+        List<Card> combinedCards = combineCards(playerCards, communityCards);
+        return createHand(handEvaluator.evaluate(CardMasks.of(combinedCards)), combinedCards);
+    }
 
+    /**
+     * Identifies the player's hand from cards that were packed as they were dealt. The strength
+     * cached in the state is reused, so the cards are not ranked again if nothing was dealt since.
+     *
+     * @param handState The player's cards and community cards, see {@link HandState}
+     * @param playerCards
+     * @param communityCards
+     * @return The player's {@link Hand}
+     */
+    public Hand identifyHand(HandState handState, List<Card> playerCards, List<Card> communityCards) {
+        return createHand(handState.strength(handEvaluator), combineCards(playerCards, communityCards));
+    }
 
-            if (communityCards.isEmpty()) {
-                // Initial hand with just player cards
-                if (playerCards.stream().allMatch(card -> card.getRank() == playerCards.get(0).getRank())) {
-                    return new OnePair(playerCards, new ArrayList<>());
-                }
-                return new HighCard(playerCards);
+    /**
+     * Describes a ranked hand of five or more cards in the same words as the {@link Hand} that
+     * <code>identifyHand</code> would build, e.g. "Two Pair (Q,6) - 5 High", without building it.
+     * The ranks are all in the strength, so the cards are only read to name a Royal Flush's suit.
+     *
+     * @param strength The strength of the cards, see {@link HandStrength}
+     * @param cards The cards that were ranked, packed with {@link CardMasks}
+     * @return The description of the hand
+     */
+    public String describe(int strength, long cards) {
+        switch (HandStrength.handType(strength)) {
+            case ROYAL_FLUSH:
+                return "Royal Flush (" + flushSuit(cards) + ")";
+            case STRAIGHT_FLUSH:
+                return "Straight Flush (" + HandStrength.rank(strength, 0) + " High)";
+            case FOUR_OF_A_KIND:
+                return "Quads (" + HandStrength.rank(strength, 0) + ") - " + HandStrength.rank(strength, 1) + " High";
+            case FULL_HOUSE:
+                return "Full House (" + HandStrength.rank(strength, 0) + "," + HandStrength.rank(strength, 1) + ")";
+            case FLUSH:
+                return "Flush (" + HandStrength.rank(strength, 0) + " High)";
+            case STRAIGHT:
+                return "Straight (" + HandStrength.rank(strength, 0) + " High)";
+            case THREE_OF_A_KIND:
+                return "Trips (" + HandStrength.rank(strength, 0) + ") - " + HandStrength.rank(strength, 1) + ","
+                        + HandStrength.rank(strength, 2) + " High";
+            case TWO_PAIR:
+                return "Two Pair (" + HandStrength.rank(strength, 0) + "," + HandStrength.rank(strength, 1) + ") - "
+                        + HandStrength.rank(strength, 2) + " High";
+            case ONE_PAIR:
+                return "One Pair (" + HandStrength.rank(strength, 0) + ") - " + HandStrength.rank(strength, 1) + ","
+                        + HandStrength.rank(strength, 2) + "," + HandStrength.rank(strength, 3) + " High";
+            default:
+                return HandStrength.rank(strength, 0) + "," + HandStrength.rank(strength, 1) + ","
+                        + HandStrength.rank(strength, 2) + "," + HandStrength.rank(strength, 3) + ","
+                        + HandStrength.rank(strength, 4);
+        }
+    }
+
+    private static CardSuit flushSuit(long cards) {
+        for (CardSuit suit : CardSuit.values()) {
+            if (Integer.bitCount(CardMasks.ranksOf(cards, suit)) >= 5) {
+                return suit;
             }
-        
+        }
+        throw new IllegalArgumentException("There is no flush in the cards");
+    }
 
-        List<Card> combinedCards = new ArrayList<>();
+    private List<Card> combineCards(List<Card> playerCards, List<Card> communityCards) {
+        List<Card> combinedCards = new ArrayList<>(playerCards.size() + communityCards.size());
         combinedCards.addAll(playerCards);
         combinedCards.addAll(communityCards);
 
         combinedCards.sort(Collections.reverseOrder());
+        return combinedCards;
+    }
 
-        // Map to track same suits
-        Map<String, List<Card>> sameCardSuitMap = combinedCards.stream()
-                .collect(Collectors.groupingBy(c -> c.getSuit().toString()));
-
-        // Check for flush or straight flush
-        List<Card> sameSuitCardsList = sameCardSuitMap.values().stream()
-                .filter(l -> l.size() >= 5)
-                .findFirst()
-                .orElse(new ArrayList<>());
-
-        if (!sameSuitCardsList.isEmpty()) {
-            // Check for Royal Flush (A, K, Q, J, 10 of the same suit)
-            if (isRoyalFlush(sameSuitCardsList)) {
-                return new RoyalFlush(sameSuitCardsList.subList(0, 5)); // Return the royal flush cards
-            }
-
-            // Check for Straight Flush
-            if (isStraight(sameSuitCardsList)) {
-                return new StraightFlush(sameSuitCardsList.subList(0, 5)); // Return the top 5 cards of straight flush
-            } else {
-                return new Flush(sameSuitCardsList.subList(0, 5)); // Return the top 5 flush cards
-            }
-        }
-
-        // Map to track same ranks
-        Map<String, List<Card>> sameCardRankMap = combinedCards.stream()
-                .collect(Collectors.groupingBy(c -> c.getRank().toString()));
-
-        // Four of a kind checker
-        List<Card> fourOfAKindList = sameCardRankMap.values().stream()
-                .filter(l -> l.size() == 4)
-                .findFirst()
-                .orElse(new ArrayList<>());
-
-        if (!fourOfAKindList.isEmpty()) {
-            combinedCards.removeAll(fourOfAKindList);
-            return new FourOfAKind(fourOfAKindList, combinedCards.subList(0, 1)); // Kicker is the highest remaining card
+    /**
+     * @param strength The strength of the cards, see {@link HandStrength}
+     * @param combinedCards The cards sorted in descending order
+     * @return The {@link Hand} type matching the strength, made of the cards that form it
+     */
+    private Hand createHand(int strength, List<Card> combinedCards) {
+        CardRank firstRank = HandStrength.rank(strength, 0);
+        CardRank secondRank = HandStrength.rank(strength, 1);
+
+        switch (HandStrength.handType(strength)) {
+            case ROYAL_FLUSH:
+                return new RoyalFlush(straightCards(flushCards(combinedCards), firstRank));
+            case STRAIGHT_FLUSH:
+                return new StraightFlush(straightCards(flushCards(combinedCards), firstRank));
+            case FOUR_OF_A_KIND:
+                return new FourOfAKind(cardsOfRank(combinedCards, firstRank),
+                        cardsWithoutRanks(combinedCards, firstRank, firstRank)); // Kicker is the highest remaining card
+            case FULL_HOUSE:
+                return new FullHouse(cardsOfRank(combinedCards, firstRank), cardsOfRank(combinedCards, secondRank));
+            case FLUSH:
+                return new Flush(flushCards(combinedCards)); // Top 5 cards of the flush suit
+            case STRAIGHT:
+                return new Straight(straightCards(combinedCards, firstRank));
+            case THREE_OF_A_KIND:
+                return new ThreeOfAKind(cardsOfRank(combinedCards, firstRank),
+                        cardsWithoutRanks(combinedCards, firstRank, firstRank)); // Kickers are the top 2 remaining cards
+            case TWO_PAIR:
+                return new TwoPair(cardsOfRank(combinedCards, firstRank), cardsOfRank(combinedCards, secondRank),
+                        cardsWithoutRanks(combinedCards, firstRank, secondRank)); // Kicker is top remaining card
+            case ONE_PAIR:
+                return new OnePair(cardsOfRank(combinedCards, firstRank),
+                        cardsWithoutRanks(combinedCards, firstRank, firstRank)); // Kickers are the top 3 remaining cards
+            default:
+                return new HighCard(combinedCards);
         }
+    }
 
-        // Full house or Three of a kind checker
-        List<Card> threeOfAKindList = sameCardRankMap.values().stream()
-                .filter(l -> l.size() == 3)
-                .findFirst()
-                .orElse(new ArrayList<>());
-
-        if (!threeOfAKindList.isEmpty()) {
-            sameCardRankMap.remove(threeOfAKindList.get(0).getRank().toString());
-            List<Card> fullHouseKickerList = sameCardRankMap.values().stream()
-                    .filter(l -> l.size() >= 2)
-                    .findFirst()
-                    .orElse(new ArrayList<>());
-
-            if (!fullHouseKickerList.isEmpty()) {
-                return new FullHouse(threeOfAKindList, fullHouseKickerList.subList(0, 2)); // Pair for the full house
-            } else {
-                combinedCards.removeAll(threeOfAKindList);
-                return new ThreeOfAKind(threeOfAKindList, combinedCards.subList(0, 2)); // Kickers are the top 2 remaining cards
+    /**
+     * @param cards List of cards sorted in descending order
+     * @return The cards of the suit holding five or more cards, still in descending order
+     */
+    private List<Card> flushCards(List<Card> cards) {
+        for (CardSuit suit : CardSuit.values()) {
+            List<Card> sameSuitCards = new ArrayList<>();
+            for (Card card : cards) {
+                if (card.getSuit() == suit) {
+                    sameSuitCards.add(card);
+                }
             }
-        }
-
-        // Check for two pair or one pair
-        List<Card> twoOfAKindList = sameCardRankMap.values().stream()
-                .filter(l -> l.size() == 2)
-                .findFirst()
-                .orElse(new ArrayList<>());
-
-        if (!twoOfAKindList.isEmpty()) {
-            sameCardRankMap.remove(twoOfAKindList.get(0).getRank().toString());
-            List<Card> secondPairList = sameCardRankMap.values().stream()
-                    .filter(l -> l.size() == 2)
-                    .findFirst()
-                    .orElse(new ArrayList<>());
-
-            if (!secondPairList.isEmpty()) {
-                combinedCards.removeAll(twoOfAKindList);
-                combinedCards.removeAll(secondPairList);
-                return new TwoPair(twoOfAKindList, secondPairList, combinedCards.subList(0, 1)); // Kicker is top remaining card
-            } else {
-                combinedCards.removeAll(twoOfAKindList);
-                return new OnePair(twoOfAKindList, combinedCards.subList(0, 3)); // Kickers are the top 3 remaining cards
+            if (sameSuitCards.size() >= 5) {
+                return sameSuitCards;
             }
         }
-
-        // Check for straight (no flush)
-        if (isStraight(combinedCards)) {
-            return new Straight(combinedCards.subList(0, 5)); // Return the top 5 cards of the straight
-        }
-
-        // Default to high card
-        return new HighCard(combinedCards.subList(0, 5)); // Return the top 5 cards
+        return Collections.emptyList();
     }
 
     /**
-     * Checks if the given list of cards forms a straight.
-     *
      * @param cards List of cards sorted in descending order
-     * @return true if the list forms a straight, otherwise false
+     * @param highestRank The highest card of the straight
+     * @return One card for each of the five ranks of the straight, from the highest rank down. An
+     * Ace-low straight ends with the Ace.
      */
-    private boolean isStraight(List<Card> cards) {
-        List<Integer> ranks = cards.stream()
-                .map(card -> card.getRank().ordinal())
-                .distinct()
-                .sorted(Comparator.reverseOrder())
-                .collect(Collectors.toList());
-
-        // Special case for Ace-low straight
-        if (ranks.contains(CardRank.ACE.ordinal()) &&
-                ranks.contains(CardRank.TWO.ordinal()) &&
-                ranks.contains(CardRank.THREE.ordinal()) &&
-                ranks.contains(CardRank.FOUR.ordinal()) &&
-                ranks.contains(CardRank.FIVE.ordinal())) {
-            return true;
+    private List<Card> straightCards(List<Card> cards, CardRank highestRank) {
+        List<Card> straightCards = new ArrayList<>(5);
+        for (int i = 0; i < 5; i++) {
+            int rankOrdinal = highestRank.ordinal() - i;
+            CardRank rank = rankOrdinal < 0 ? CardRank.ACE : CARD_RANKS[rankOrdinal];
+            straightCards.add(cardsOfRank(cards, rank).get(0));
         }
+        return straightCards;
+    }
 
-        // Check for a normal straight
-        for (int i = 0; i < ranks.size() - 4; i++) {
-            if (ranks.get(i) - ranks.get(i + 4) == 4) {
-                return true;
+    private List<Card> cardsOfRank(List<Card> cards, CardRank rank) {
+        List<Card> sameRankCards = new ArrayList<>();
+        for (Card card : cards) {
+            if (card.getRank() == rank) {
+                sameRankCards.add(card);
             }
         }
-        return false;
+        return sameRankCards;
     }
 
-    /**
-     * Checks if the given list of cards forms a Royal Flush.
-     *
-     * @param cards List of cards all of the same suit
-     * @return true if the list forms a Royal Flush, otherwise false
-     */
-    private boolean isRoyalFlush(List<Card> cards)
-    {
-        if (cards.size() < 5)
-            return false; // Ensure there are enough cards
-
-        // Check if all cards are of the same suit
-        CardSuit cardSuit = cards.get(0).getSuit();
-        if (!cards.stream().allMatch(card -> card.getSuit() == cardSuit))
-        {
-            return false;
+    private List<Card> cardsWithoutRanks(List<Card> cards, CardRank firstRank, CardRank secondRank) {
+        List<Card> otherCards = new ArrayList<>();
+        for (Card card : cards) {
+            if (card.getRank() != firstRank && card.getRank() != secondRank) {
+                otherCards.add(card);
+            }
         }
-
-        // Define the Royal Flush ranks
-        Set<CardRank> royalRanks = EnumSet.of(CardRank.TEN, CardRank.JACK,
-                CardRank.QUEEN, CardRank.KING, CardRank.ACE);
-        Set<CardRank> cardRanks = cards.stream()
-                .map(Card::getRank)
-                .collect(Collectors.toSet());
-
-        return cardRanks.containsAll(royalRanks);
+        return otherCards;
     }
 }
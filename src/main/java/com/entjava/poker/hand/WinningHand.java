@@ -0,0 +1,50 @@
+package com.entjava.poker.hand;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * The result of a showdown: the strength of the best hand and every hand that has it. There is
+ * more than one hand when players tie.
+ */
+public class WinningHand {
+
+	private final int strength;
+	private final List<Hand> hands;
+
+	public WinningHand(int strength, List<Hand> hands) {
+		this.strength = strength;
+		this.hands = hands;
+	}
+
+	/**
+	 * @return The {@link Hand#strength()} of the winning hands
+	 */
+	public int getStrength() {
+		return strength;
+	}
+
+	/**
+	 * @return The winning hands, in the order they were given to the {@link WinningHandCalculator}
+	 */
+	public List<Hand> getHands() {
+		return hands;
+	}
+
+	/**
+	 * @param hand
+	 * @return true if the hand is as strong as the winning hand
+	 */
+	public boolean isWinning(Hand hand) {
+		return hand != null && hand.strength() == strength;
+	}
+
+	/**
+	 * @return The winning hands, e.g. Flush (K High), Flush (K High)
+	 */
+	@Override
+	public String toString() {
+		return hands.stream().map(Hand::toString).collect(Collectors.joining(", "));
+	}
+
+}
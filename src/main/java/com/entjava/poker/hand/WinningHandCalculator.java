@@ -1,11 +1,15 @@
 package com.entjava.poker.hand;
 
+import com.entjava.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.hand.evaluator.HandEvaluator;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.Collections;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.OptionalInt;
 
 /**
  * A service class used to calculate the winning hand.
@@ -13,60 +17,95 @@ import java.util.stream.Collectors;
 @Component
 public class WinningHandCalculator {
 
+	private static final int MAX_PLAYERS = Integer.SIZE;
+
+	private final HandEvaluator handEvaluator;
+
+	public WinningHandCalculator() {
+		this(new BitmaskHandEvaluator());
+	}
+
+	@Autowired
+	public WinningHandCalculator(HandEvaluator handEvaluator) {
+		this.handEvaluator = handEvaluator;
+	}
+
 	/**
+	 * Finds the best {@link Hand#strength()} in a single pass, keeping every hand tied with it.
+	 *
 	 * @param playerHands
-	 * @return The winning {@link Hand} from a list of player hands.
+	 * @return The winning hand/s from a list of player hands, or empty if there are no hands.
 	 */
-	public Optional<Hand> calculateWinningHand(List<Hand> playerHands) {
-        if (playerHands.isEmpty()) {
-            return Optional.empty();
-        }
-
-        // Sort hands by rank (implemented in Hand.compareTo())
-        Collections.sort(playerHands, Collections.reverseOrder());
-        
-        // Get highest ranked hand
-        Hand bestHand = playerHands.get(0);
-        
-        // Check for ties
-        List<Hand> tiedHands = playerHands.stream()
-            .filter(hand -> hand.compareTo(bestHand) == 0)
-            .collect(Collectors.toList());
+	public Optional<WinningHand> calculateWinningHand(List<Hand> playerHands) {
+		int bestStrength = Integer.MIN_VALUE;
+		List<Hand> bestHands = new ArrayList<>();
 
-        if (tiedHands.size() > 1) {
-            // Handle ties by comparing kickers
-            return Optional.of(compareKickers(tiedHands));
-        }
+		for (int i = 0; i < playerHands.size(); i++) {
+			Hand hand = playerHands.get(i);
+			int strength = hand.strength();
+			if (strength > bestStrength) {
+				bestStrength = strength;
+				bestHands.clear();
+				bestHands.add(hand);
+			} else if (strength == bestStrength) {
+				bestHands.add(hand);
+			}
+		}
 
-        return Optional.of(bestHand);
-    }
+		if (bestHands.isEmpty()) {
+			return Optional.empty();
+		}
+		return Optional.of(new WinningHand(bestStrength, bestHands));
+	}
 
-    private Hand compareKickers(List<Hand> tiedHands) {
-        // If there's only one hand, return it
-        if (tiedHands.size() == 1) {
-            return tiedHands.get(0);
-        }
+	/**
+	 * The primitive form of {@link #calculateWinningHand(List)}, for callers that ranked the hands
+	 * without building them. Every player whose strength equals the result has won.
+	 *
+	 * @param playerStrengths The {@link Hand#strength()} of each player
+	 * @return The best strength, or empty if there are no players.
+	 */
+	public OptionalInt calculateWinningStrength(int[] playerStrengths) {
+		if (playerStrengths.length == 0) {
+			return OptionalInt.empty();
+		}
 
-        // Compare each card in the hands
-        for (int i = 0; i < tiedHands.get(0).getCurrentHand().size(); i++) {
-            final int cardIndex = i;
-            int highestRank = tiedHands.stream()
-                .mapToInt(hand -> hand.getCurrentHand().get(cardIndex).getRank().ordinal())
-                .max()
-                .getAsInt();
+		int bestStrength = playerStrengths[0];
+		for (int i = 1; i < playerStrengths.length; i++) {
+			bestStrength = Math.max(bestStrength, playerStrengths[i]);
+		}
+		return OptionalInt.of(bestStrength);
+	}
 
-            // Filter to hands that have the highest rank card at this position
-            tiedHands = tiedHands.stream()
-                .filter(hand -> hand.getCurrentHand().get(cardIndex).getRank().ordinal() == highestRank)
-                .collect(Collectors.toList());
+	/**
+	 * Scores every player against one board in a single batch, see
+	 * {@link HandEvaluator#evaluateAll(long, long[], int[])}, then picks the winners.
+	 *
+	 * @param board The community cards, packed with {@link CardMasks}
+	 * @param holeCards Each player's own cards, packed with {@link CardMasks}
+	 * @param strengths Receives the strength of each player's hand. Must be at least as long as
+	 *                  <code>holeCards</code>, so it can be reused across calls.
+	 * @return The winning players as a bit set: bit <em>i</em> is set if player <em>i</em> has the
+	 * best hand. Tied players all win.
+	 * @throws IllegalArgumentException if there are more than 32 players
+	 */
+	public int calculateWinners(long board, long[] holeCards, int[] strengths) {
+		if (holeCards.length > MAX_PLAYERS) {
+			throw new IllegalArgumentException("At most " + MAX_PLAYERS + " players can be compared, got " + holeCards.length);
+		}
 
-            // If we've filtered down to one hand, we have a winner
-            if (tiedHands.size() == 1) {
-                return tiedHands.get(0);
-            }
-        }
+		handEvaluator.evaluateAll(board, holeCards, strengths);
 
-        // If we get here, the hands are exactly equal
-        return tiedHands.get(0);
-    }
+		int bestStrength = Integer.MIN_VALUE;
+		int winners = 0;
+		for (int i = 0; i < holeCards.length; i++) {
+			if (strengths[i] > bestStrength) {
+				bestStrength = strengths[i];
+				winners = 1 << i;
+			} else if (strengths[i] == bestStrength) {
+				winners |= 1 << i;
+			}
+		}
+		return winners;
+	}
 }
@@ -0,0 +1,211 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.hand.HandType;
+
+/**
+ * A {@link HandEvaluator} that works directly on the suit lanes of the packed cards.
+ *
+ * <p>Each lane is a 13-bit set of ranks. ANDing and ORing the four lanes gives the ranks held at
+ * least twice, three times and four times, and shifting a rank set against itself finds straights,
+ * so the hand type and kickers are decided without sorting, grouping or allocating.</p>
+ *
+ * <p>{@link #evaluateAll(long, long[], int[])} splits the board into its lanes and rank sets once.
+ * Each player then only adds their own cards to those sets before the hand type is decided.</p>
+ */
+public class BitmaskHandEvaluator implements HandEvaluator {
+
+    private static final int ACE = CardRank.ACE.ordinal();
+    private static final int FIVE = CardRank.FIVE.ordinal();
+
+    private static final int HIGH_CARD = HandType.HIGH_CARD.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int ONE_PAIR = HandType.ONE_PAIR.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int TWO_PAIR = HandType.TWO_PAIR.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int THREE_OF_A_KIND = HandType.THREE_OF_A_KIND.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int STRAIGHT = HandType.STRAIGHT.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int FLUSH = HandType.FLUSH.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int FULL_HOUSE = HandType.FULL_HOUSE.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int FOUR_OF_A_KIND = HandType.FOUR_OF_A_KIND.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int STRAIGHT_FLUSH = HandType.STRAIGHT_FLUSH.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+    private static final int ROYAL_FLUSH = HandType.ROYAL_FLUSH.ordinal() << HandStrength.HAND_TYPE_SHIFT;
+
+    private static final int NO_STRAIGHT = -1;
+
+    @Override
+    public int evaluate(long cards) {
+        int spades = (int) cards & CardMasks.RANK_BITS;
+        int clubs = (int) (cards >>> CardMasks.SUIT_SHIFT) & CardMasks.RANK_BITS;
+        int diamonds = (int) (cards >>> (2 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS;
+        int hearts = (int) (cards >>> (3 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS;
+
+        int ranks = spades | clubs | diamonds | hearts;
+        int quads = spades & clubs & diamonds & hearts;
+        int trips = (spades & clubs & (diamonds | hearts)) | (diamonds & hearts & (spades | clubs));
+        int pairs = (spades & clubs) | (diamonds & hearts) | ((spades | clubs) & (diamonds | hearts));
+
+        return strength(flushRanks(spades, clubs, diamonds, hearts), ranks, pairs, trips, quads);
+    }
+
+    @Override
+    public void evaluateAll(long board, long[] holeCards, int[] strengths) {
+        int spades = (int) board & CardMasks.RANK_BITS;
+        int clubs = (int) (board >>> CardMasks.SUIT_SHIFT) & CardMasks.RANK_BITS;
+        int diamonds = (int) (board >>> (2 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS;
+        int hearts = (int) (board >>> (3 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS;
+
+        int boardRanks = spades | clubs | diamonds | hearts;
+        int boardQuads = spades & clubs & diamonds & hearts;
+        int boardTrips = (spades & clubs & (diamonds | hearts)) | (diamonds & hearts & (spades | clubs));
+        int boardPairs = (spades & clubs) | (diamonds & hearts) | ((spades | clubs) & (diamonds | hearts));
+        int longestSuit = Math.max(Math.max(Integer.bitCount(spades), Integer.bitCount(clubs)),
+                Math.max(Integer.bitCount(diamonds), Integer.bitCount(hearts)));
+
+        for (int i = 0; i < holeCards.length; i++) {
+            long hole = holeCards[i];
+            int ranks = boardRanks;
+            int pairs = boardPairs;
+            int trips = boardTrips;
+            int quads = boardQuads;
+            // Each card lifts its rank one count higher, from the highest count down
+            for (long remaining = hole; remaining != 0; remaining &= remaining - 1) {
+                int rank = 1 << (Long.numberOfTrailingZeros(remaining) % CardMasks.SUIT_SHIFT);
+                quads |= trips & rank;
+                trips |= pairs & rank;
+                pairs |= ranks & rank;
+                ranks |= rank;
+            }
+
+            int flushRanks = 0;
+            // No suit can reach five cards unless the board already holds enough of it
+            if (longestSuit + Long.bitCount(hole) >= 5) {
+                flushRanks = flushRanks(
+                        spades | (int) hole & CardMasks.RANK_BITS,
+                        clubs | (int) (hole >>> CardMasks.SUIT_SHIFT) & CardMasks.RANK_BITS,
+                        diamonds | (int) (hole >>> (2 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS,
+                        hearts | (int) (hole >>> (3 * CardMasks.SUIT_SHIFT)) & CardMasks.RANK_BITS);
+            }
+            strengths[i] = strength(flushRanks, ranks, pairs, trips, quads);
+        }
+    }
+
+    /**
+     * Decides the hand type and kickers from the rank sets of the cards.
+     *
+     * @param flushRanks The ranks of the suit holding five or more cards, or 0 if there is no flush
+     * @param ranks The ranks held at least once
+     * @param pairs The ranks held at least twice
+     * @param trips The ranks held at least three times
+     * @param quads The ranks held four times
+     */
+    private static int strength(int flushRanks, int ranks, int pairs, int trips, int quads) {
+        if (flushRanks != 0) {
+            int straightFlushHigh = straightHigh(flushRanks);
+            if (straightFlushHigh == ACE) {
+                return ROYAL_FLUSH | ACE << HandStrength.FIRST_RANK_SHIFT;
+            }
+            if (straightFlushHigh != NO_STRAIGHT) {
+                return STRAIGHT_FLUSH | straightFlushHigh << HandStrength.FIRST_RANK_SHIFT;
+            }
+        }
+
+        if (quads != 0) {
+            int quadsRank = highest(quads);
+            return FOUR_OF_A_KIND | quadsRank << HandStrength.FIRST_RANK_SHIFT
+                    | kickers(ranks & ~(1 << quadsRank), 1, HandStrength.FIRST_RANK_SHIFT - 4);
+        }
+
+        if (trips != 0) {
+            int tripsRank = highest(trips);
+            int otherPairs = pairs & ~(1 << tripsRank);
+            if (otherPairs != 0) {
+                return FULL_HOUSE | tripsRank << HandStrength.FIRST_RANK_SHIFT
+                        | highest(otherPairs) << (HandStrength.FIRST_RANK_SHIFT - 4);
+            }
+        }
+
+        if (flushRanks != 0) {
+            return FLUSH | kickers(flushRanks, 5, HandStrength.FIRST_RANK_SHIFT);
+        }
+
+        int straightHigh = straightHigh(ranks);
+        if (straightHigh != NO_STRAIGHT) {
+            return STRAIGHT | straightHigh << HandStrength.FIRST_RANK_SHIFT;
+        }
+
+        if (trips != 0) {
+            int tripsRank = highest(trips);
+            return THREE_OF_A_KIND | tripsRank << HandStrength.FIRST_RANK_SHIFT
+                    | kickers(ranks & ~(1 << tripsRank), 2, HandStrength.FIRST_RANK_SHIFT - 4);
+        }
+
+        if (pairs != 0) {
+            int highPair = highest(pairs);
+            int otherPairs = pairs & ~(1 << highPair);
+            if (otherPairs != 0) {
+                int lowPair = highest(otherPairs);
+                return TWO_PAIR | highPair << HandStrength.FIRST_RANK_SHIFT
+                        | lowPair << (HandStrength.FIRST_RANK_SHIFT - 4)
+                        | kickers(ranks & ~(1 << highPair) & ~(1 << lowPair), 1, HandStrength.FIRST_RANK_SHIFT - 8);
+            }
+            return ONE_PAIR | highPair << HandStrength.FIRST_RANK_SHIFT
+                    | kickers(ranks & ~(1 << highPair), 3, HandStrength.FIRST_RANK_SHIFT - 4);
+        }
+
+        return HIGH_CARD | kickers(ranks, 5, HandStrength.FIRST_RANK_SHIFT);
+    }
+
+    /**
+     * @return The ranks of the first suit holding five or more cards, or 0 if there is no flush
+     */
+    private static int flushRanks(int spades, int clubs, int diamonds, int hearts) {
+        if (Integer.bitCount(spades) >= 5) {
+            return spades;
+        }
+        if (Integer.bitCount(clubs) >= 5) {
+            return clubs;
+        }
+        if (Integer.bitCount(diamonds) >= 5) {
+            return diamonds;
+        }
+        if (Integer.bitCount(hearts) >= 5) {
+            return hearts;
+        }
+        return 0;
+    }
+
+    /**
+     * Shifts the ranks up by one and copies the ace into bit 0, so the wheel (A,2,3,4,5) is a run
+     * like any other. A bit that survives ANDing the set with itself shifted by 1 to 4 places starts
+     * a run of five.
+     *
+     * @return The rank ordinal of the highest card of the best straight, or {@link #NO_STRAIGHT}
+     */
+    private static int straightHigh(int ranks) {
+        int withLowAce = (ranks << 1) | ((ranks >>> ACE) & 1);
+        int runs = withLowAce & (withLowAce >>> 1) & (withLowAce >>> 2) & (withLowAce >>> 3) & (withLowAce >>> 4);
+        if (runs == 0) {
+            return NO_STRAIGHT;
+        }
+        return highest(runs) + FIVE;
+    }
+
+    private static int highest(int ranks) {
+        return 31 - Integer.numberOfLeadingZeros(ranks);
+    }
+
+    /**
+     * Packs up to <code>count</code> of the highest ranks, one 4-bit position each, starting at
+     * <code>shift</code> and moving towards the least significant position.
+     */
+    private static int kickers(int ranks, int count, int shift) {
+        int packed = 0;
+        for (int i = 0; i < count && ranks != 0; i++) {
+            int rank = highest(ranks);
+            ranks &= ~(1 << rank);
+            packed |= rank << shift;
+            shift -= 4;
+        }
+        return packed;
+    }
+
+}
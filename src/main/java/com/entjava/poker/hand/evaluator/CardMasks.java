@@ -0,0 +1,60 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardSuit;
+
+import java.util.List;
+
+/**
+ * Packs {@link Card}s into the 64-bit layout read by the {@link HandEvaluator}s.
+ *
+ * <p>Each {@link CardSuit} owns a 16-bit lane, in ordinal order. Within a lane, bit <em>n</em> is
+ * set when the card whose {@link com.entjava.poker.card.CardRank} has ordinal <em>n</em> is
+ * present, so only the lower 13 bits of a lane are ever used. This is the layout of
+ * {@link Card#getMask()}.</p>
+ */
+public final class CardMasks {
+
+    /**
+     * The width of one suit lane.
+     */
+    public static final int SUIT_SHIFT = 16;
+
+    /**
+     * The bits of a lane that can hold a rank.
+     */
+    public static final int RANK_BITS = 0x1FFF;
+
+    private CardMasks() {
+    }
+
+    /**
+     * @param card
+     * @return The single bit of the card
+     */
+    public static long of(Card card) {
+        return card.getMask();
+    }
+
+    /**
+     * @param cards
+     * @return The bits of all the cards
+     */
+    public static long of(List<Card> cards) {
+        long mask = 0L;
+        for (int i = 0; i < cards.size(); i++) {
+            mask |= cards.get(i).getMask();
+        }
+        return mask;
+    }
+
+    /**
+     * @param cards The packed cards
+     * @param suit
+     * @return The ranks held in the given suit, one bit per rank ordinal
+     */
+    public static int ranksOf(long cards, CardSuit suit) {
+        return (int) (cards >>> (suit.ordinal() * SUIT_SHIFT)) & RANK_BITS;
+    }
+
+}
@@ -0,0 +1,34 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.hand.HandIdentifier;
+
+/**
+ * Ranks a set of cards packed with {@link CardMasks}. This is the primitive side of the
+ * {@link HandIdentifier}: it only decides how strong the cards are, it never builds a
+ * {@link com.entjava.poker.hand.Hand}.
+ */
+public interface HandEvaluator {
+
+    /**
+     * @param cards The cards to rank, packed with {@link CardMasks}
+     * @return The strength of the best hand that can be made from the cards, encoded as described
+     * in {@link HandStrength}. A higher value is a better hand.
+     */
+    int evaluate(long cards);
+
+    /**
+     * Scores many players against one board. Implementations may work out the board's share of the
+     * evaluation once and reuse it for every player.
+     *
+     * @param board The community cards, packed with {@link CardMasks}
+     * @param holeCards Each player's own cards, packed with {@link CardMasks}. They must not overlap
+     *                  the board.
+     * @param strengths Receives the strength of each player's best hand, at the player's index
+     */
+    default void evaluateAll(long board, long[] holeCards, int[] strengths) {
+        for (int i = 0; i < holeCards.length; i++) {
+            strengths[i] = evaluate(board | holeCards[i]);
+        }
+    }
+
+}
@@ -0,0 +1,35 @@
+package com.entjava.poker.hand.evaluator;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Chooses the {@link HandEvaluator} with the <code>poker.hand-evaluator</code> property:
+ *
+ * <ul>
+ * <li><code>bitmask</code> (default): the rule-based {@link BitmaskHandEvaluator}</li>
+ * <li><code>lookup-table</code>: the {@link LookupTableHandEvaluator}, mapping the table file at
+ * <code>poker.hand-rank-table</code></li>
+ * </ul>
+ */
+@Configuration
+public class HandEvaluatorConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.hand-evaluator", havingValue = "bitmask", matchIfMissing = true)
+    public HandEvaluator bitmaskHandEvaluator() {
+        return new BitmaskHandEvaluator();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.hand-evaluator", havingValue = "lookup-table")
+    public HandEvaluator lookupTableHandEvaluator(@Value("${poker.hand-rank-table}") String tableFile) throws IOException {
+        return new LookupTableHandEvaluator(Paths.get(tableFile));
+    }
+
+}
@@ -0,0 +1,323 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.hand.Hand;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.HandType;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Checks the hand evaluators against every one of the C(52,7) = 133,784,560 seven-card hands.
+ *
+ * <p>For every hand, the {@link BitmaskHandEvaluator} and the {@link LookupTableHandEvaluator} must
+ * give the same strength, and each must find the known number of hands of every {@link HandType}.
+ * The {@link Hand} built by the {@link HandIdentifier} must have the same type and, evaluated from
+ * its own five cards, the same strength, so all three order any two hands the same way.</p>
+ *
+ * <p>The hands are split by their two lowest cards and checked in parallel on a
+ * {@link ForkJoinPool}. Building a {@link Hand} is much slower than evaluating the cards, so it can
+ * be limited to every <em>n</em>th hand.</p>
+ *
+ * <p>Run it before releasing a change to an evaluator, with <code>gradle verifyHandEvaluators</code>
+ * or with the arguments <code>[table file] [hand identifier stride]</code>.</p>
+ */
+public class HandEvaluatorVerifier {
+
+    static final int HAND_SIZE = 7;
+
+    /**
+     * The number of seven-card hands of each {@link HandType}, in ordinal order.
+     */
+    static final long[] EXPECTED_COUNTS = {
+            23_294_460L, // High Card
+            58_627_800L, // One Pair
+            31_433_400L, // Two Pair
+            6_461_620L, // Three of a Kind
+            6_180_020L, // Straight
+            4_047_644L, // Flush
+            3_473_184L, // Full House
+            224_848L, // Four of a Kind
+            37_260L, // Straight Flush
+            4_324L, // Royal Flush
+    };
+
+    private static final int BITMASK = 0;
+    private static final int LOOKUP_TABLE = 1;
+    private static final int HAND_IDENTIFIER = 2;
+    private static final String[] ENGINES = {"BitmaskHandEvaluator", "LookupTableHandEvaluator", "HandIdentifier"};
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+    private static final long[] CARD_MASKS = new long[Card.DECK_SIZE];
+
+    static {
+        for (int code = 0; code < Card.DECK_SIZE; code++) {
+            CARD_MASKS[code] = Card.fromCode(code).getMask();
+        }
+    }
+
+    private final HandEvaluator bitmaskHandEvaluator = new BitmaskHandEvaluator();
+    private final HandEvaluator lookupTableHandEvaluator;
+    private final HandIdentifier handIdentifier = new HandIdentifier();
+    private final int handIdentifierStride;
+
+    /**
+     * @param lookupTableHandEvaluator
+     * @param handIdentifierStride Build a {@link Hand} for every <em>n</em>th hand only, or never if 0
+     */
+    public HandEvaluatorVerifier(HandEvaluator lookupTableHandEvaluator, int handIdentifierStride) {
+        this.lookupTableHandEvaluator = lookupTableHandEvaluator;
+        this.handIdentifierStride = handIdentifierStride;
+    }
+
+    /**
+     * Checks every seven-card hand on the common fork/join pool.
+     *
+     * @return The counts and the mismatches found
+     */
+    public Result verify() {
+        int[][] lowestPairs = lowestPairs();
+        return ForkJoinPool.commonPool().invoke(new VerifyTask(lowestPairs, 0, lowestPairs.length));
+    }
+
+    /**
+     * Checks only the hands whose two lowest cards are among <code>lowestPairs[from..to)</code>.
+     */
+    Result verify(int[][] lowestPairs, int from, int to) {
+        return ForkJoinPool.commonPool().invoke(new VerifyTask(lowestPairs, from, to));
+    }
+
+    /**
+     * @return Every pair of card codes that can be the two lowest cards of a seven-card hand
+     */
+    static int[][] lowestPairs() {
+        List<int[]> pairs = new ArrayList<>();
+        for (int first = 0; first <= Card.DECK_SIZE - HAND_SIZE; first++) {
+            for (int second = first + 1; second <= Card.DECK_SIZE - HAND_SIZE + 1; second++) {
+                pairs.add(new int[]{first, second});
+            }
+        }
+        return pairs.toArray(new int[0][]);
+    }
+
+    private Result verifyPair(int first, int second) {
+        Result result = new Result();
+        int[] codes = {first, second, 0, 0, 0, 0, 0};
+        long pair = CARD_MASKS[first] | CARD_MASKS[second];
+        long hand = 0;
+
+        for (codes[2] = second + 1; codes[2] < Card.DECK_SIZE; codes[2]++) {
+            long three = pair | CARD_MASKS[codes[2]];
+            for (codes[3] = codes[2] + 1; codes[3] < Card.DECK_SIZE; codes[3]++) {
+                long four = three | CARD_MASKS[codes[3]];
+                for (codes[4] = codes[3] + 1; codes[4] < Card.DECK_SIZE; codes[4]++) {
+                    long five = four | CARD_MASKS[codes[4]];
+                    for (codes[5] = codes[4] + 1; codes[5] < Card.DECK_SIZE; codes[5]++) {
+                        long six = five | CARD_MASKS[codes[5]];
+                        for (codes[6] = codes[5] + 1; codes[6] < Card.DECK_SIZE; codes[6]++) {
+                            boolean buildHand = handIdentifierStride > 0 && hand++ % handIdentifierStride == 0;
+                            verifyHand(result, six | CARD_MASKS[codes[6]], codes, buildHand);
+                        }
+                    }
+                }
+            }
+        }
+        return result;
+    }
+
+    private void verifyHand(Result result, long cards, int[] codes, boolean buildHand) {
+        int bitmaskStrength = bitmaskHandEvaluator.evaluate(cards);
+        int lookupTableStrength = lookupTableHandEvaluator.evaluate(cards);
+        result.count(BITMASK, HandStrength.handType(bitmaskStrength));
+        result.count(LOOKUP_TABLE, HandStrength.handType(lookupTableStrength));
+        if (bitmaskStrength != lookupTableStrength) {
+            result.mismatch(codes, ENGINES[LOOKUP_TABLE] + " gave " + lookupTableStrength + " instead of " + bitmaskStrength);
+        }
+        if (!buildHand) {
+            return;
+        }
+
+        List<Card> playerCards = Arrays.asList(Card.fromCode(codes[0]), Card.fromCode(codes[1]));
+        List<Card> communityCards = new ArrayList<>(HAND_SIZE - playerCards.size());
+        for (int i = playerCards.size(); i < codes.length; i++) {
+            communityCards.add(Card.fromCode(codes[i]));
+        }
+
+        Hand hand = handIdentifier.identifyHand(playerCards, communityCards);
+        result.count(HAND_IDENTIFIER, hand.getHandType());
+        if (hand.strength() != lookupTableStrength || hand.getHandType() != HandStrength.handType(lookupTableStrength)) {
+            result.mismatch(codes, ENGINES[HAND_IDENTIFIER] + " gave " + hand + " (" + hand.strength()
+                    + ") instead of " + lookupTableStrength);
+        }
+    }
+
+    private class VerifyTask extends RecursiveTask<Result> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int[][] lowestPairs;
+        private final int from;
+        private final int to;
+
+        VerifyTask(int[][] lowestPairs, int from, int to) {
+            this.lowestPairs = lowestPairs;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Result compute() {
+            if (to - from == 1) {
+                return verifyPair(lowestPairs[from][0], lowestPairs[from][1]);
+            }
+
+            int middle = (from + to) >>> 1;
+            VerifyTask upper = new VerifyTask(lowestPairs, middle, to);
+            upper.fork();
+            Result result = new VerifyTask(lowestPairs, from, middle).compute();
+            result.add(upper.join());
+            return result;
+        }
+    }
+
+    /**
+     * The number of hands of each {@link HandType} found by each engine, and the mismatches.
+     */
+    public static class Result {
+
+        private static final int MAX_REPORTED_MISMATCHES = 10;
+
+        private final long[][] counts = new long[ENGINES.length][HAND_TYPES.length];
+        private final List<String> mismatches = new ArrayList<>();
+        private long mismatchCount;
+
+        private void count(int engine, HandType handType) {
+            counts[engine][handType.ordinal()]++;
+        }
+
+        private void mismatch(int[] codes, String message) {
+            mismatchCount++;
+            if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                StringBuilder cards = new StringBuilder();
+                for (int code : codes) {
+                    cards.append(Card.fromCode(code)).append(' ');
+                }
+                mismatches.add(cards + ": " + message);
+            }
+        }
+
+        private void add(Result other) {
+            for (int engine = 0; engine < ENGINES.length; engine++) {
+                for (int handType = 0; handType < HAND_TYPES.length; handType++) {
+                    counts[engine][handType] += other.counts[engine][handType];
+                }
+            }
+            for (String mismatch : other.mismatches) {
+                if (mismatches.size() < MAX_REPORTED_MISMATCHES) {
+                    mismatches.add(mismatch);
+                }
+            }
+            mismatchCount += other.mismatchCount;
+        }
+
+        /**
+         * @return The number of hands checked by the evaluators
+         */
+        public long getHandCount() {
+            return Arrays.stream(counts[BITMASK]).sum();
+        }
+
+        /**
+         * @param handType
+         * @return The number of hands of that type found by the {@link BitmaskHandEvaluator}
+         */
+        public long getBitmaskCount(HandType handType) {
+            return counts[BITMASK][handType.ordinal()];
+        }
+
+        /**
+         * @param handType
+         * @return The number of hands of that type found by the {@link LookupTableHandEvaluator}
+         */
+        public long getLookupTableCount(HandType handType) {
+            return counts[LOOKUP_TABLE][handType.ordinal()];
+        }
+
+        /**
+         * @param handType
+         * @return The number of hands of that type built by the {@link HandIdentifier}
+         */
+        public long getHandIdentifierCount(HandType handType) {
+            return counts[HAND_IDENTIFIER][handType.ordinal()];
+        }
+
+        public long getMismatchCount() {
+            return mismatchCount;
+        }
+
+        /**
+         * @return The first few mismatches, for the report
+         */
+        public List<String> getMismatches() {
+            return mismatches;
+        }
+
+        /**
+         * @param checkedEveryHand Whether the {@link HandIdentifier} built a {@link Hand} for every hand
+         * @return true if there are no mismatches and the counts are the known ones
+         */
+        boolean isValid(boolean checkedEveryHand) {
+            if (mismatchCount > 0) {
+                return false;
+            }
+            for (int handType = 0; handType < HAND_TYPES.length; handType++) {
+                if (counts[BITMASK][handType] != EXPECTED_COUNTS[handType]
+                        || counts[LOOKUP_TABLE][handType] != EXPECTED_COUNTS[handType]
+                        || checkedEveryHand && counts[HAND_IDENTIFIER][handType] != EXPECTED_COUNTS[handType]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * @param args The lookup table file, generated if missing, and how often a {@link Hand} is built:
+     *             1 for every hand (the default), <em>n</em> for every <em>n</em>th hand, 0 for never
+     * @throws IOException if the lookup table could not be generated or mapped
+     */
+    public static void main(String[] args) throws IOException {
+        Path tableFile = args.length > 0
+                ? Paths.get(args[0])
+                : Paths.get(System.getProperty("java.io.tmpdir"), "poker-hand-ranks.bin");
+        int handIdentifierStride = args.length > 1 ? Integer.parseInt(args[1]) : 1;
+
+        System.out.println("Checking every seven-card hand on " + ForkJoinPool.commonPool().getParallelism() + " threads");
+        long start = System.nanoTime();
+        Result result = new HandEvaluatorVerifier(new LookupTableHandEvaluator(tableFile), handIdentifierStride).verify();
+        long seconds = (System.nanoTime() - start) / 1_000_000_000L;
+
+        System.out.printf("%-16s %12s %12s %12s %12s%n", "", "Expected", "Bitmask", "Lookup", "Identifier");
+        for (HandType handType : HAND_TYPES) {
+            System.out.printf("%-16s %,12d %,12d %,12d %,12d%n", handType, EXPECTED_COUNTS[handType.ordinal()],
+                    result.getBitmaskCount(handType), result.getLookupTableCount(handType),
+                    result.getHandIdentifierCount(handType));
+        }
+        System.out.printf("%,d hands, %,d mismatches, %d s%n", result.getHandCount(), result.getMismatchCount(), seconds);
+        result.getMismatches().forEach(System.out::println);
+
+        if (!result.isValid(handIdentifierStride == 1)) {
+            System.out.println("FAILED");
+            System.exit(1);
+        }
+        System.out.println("OK");
+    }
+
+}
@@ -0,0 +1,171 @@
+package com.entjava.poker.hand.evaluator;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Generates the table file read by the {@link LookupTableHandEvaluator}.
+ *
+ * <p>Every 5-card poker hand falls into one of {@link #EQUIVALENCE_CLASSES} equivalence classes,
+ * numbered from 1 (Royal Flush) to 7462 (7,5,4,3,2 high). The table maps any set of 5, 6 or 7
+ * cards to the class of its best hand. The file is laid out in big-endian order as:</p>
+ * <ol>
+ * <li>The {@link #MAGIC} and {@link #VERSION} ints</li>
+ * <li>One int per class, in class order: the {@link HandStrength} of the class</li>
+ * <li>One short per 13-bit set of ranks of a single suit: the class of the flush or straight flush
+ * made by those ranks, or 0 if there are fewer than five</li>
+ * <li>For 5, 6 and 7 cards in turn, one short per {@link RankCountHash} index: the class of the
+ * best hand that can be made from those rank counts when there is no flush</li>
+ * </ol>
+ *
+ * <p>The classes are computed with the {@link BitmaskHandEvaluator}, so both engines always agree.</p>
+ */
+public class HandRankTableGenerator {
+
+    static final int MAGIC = 0x504B5254;
+    static final int VERSION = 1;
+    static final int EQUIVALENCE_CLASSES = 7462;
+
+    static final int MIN_CARDS = 5;
+    static final int SUIT_RANK_SETS = 1 << 13;
+
+    static final int STRENGTHS_OFFSET = 8;
+    static final int FLUSH_OFFSET = STRENGTHS_OFFSET + EQUIVALENCE_CLASSES * Integer.BYTES;
+    static final int NO_FLUSH_OFFSET = FLUSH_OFFSET + SUIT_RANK_SETS * Short.BYTES;
+
+    private static final int RANKS = 13;
+    private static final int SUITS = 4;
+
+    private final HandEvaluator handEvaluator = new BitmaskHandEvaluator();
+
+    /**
+     * Writes the table to a temporary file next to <code>tableFile</code> and then moves it into
+     * place, so a process mapping the table never sees it half written.
+     *
+     * @param tableFile
+     * @throws IOException if the table could not be written
+     */
+    public void generate(Path tableFile) throws IOException {
+        Path directory = tableFile.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+
+        int[] classStrengths = classStrengths();
+        Map<Integer, Integer> classesByStrength = new HashMap<>();
+        for (int i = 0; i < classStrengths.length; i++) {
+            classesByStrength.put(classStrengths[i], i + 1);
+        }
+
+        Path temporaryFile = Files.createTempFile(directory, tableFile.getFileName().toString(), ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+
+            for (int strength : classStrengths) {
+                out.writeInt(strength);
+            }
+
+            for (int ranks = 0; ranks < SUIT_RANK_SETS; ranks++) {
+                boolean isFlush = Integer.bitCount(ranks) >= MIN_CARDS;
+                out.writeShort(isFlush ? classesByStrength.get(handEvaluator.evaluate(ranks)) : 0);
+            }
+
+            for (int cardCount = MIN_CARDS; cardCount <= RankCountHash.MAX_CARDS; cardCount++) {
+                short[] classes = new short[RankCountHash.size(cardCount)];
+                fillNoFlushClasses(classes, new int[RANKS], RANKS - 1, cardCount, classesByStrength);
+                for (short equivalenceClass : classes) {
+                    out.writeShort(equivalenceClass);
+                }
+            }
+        }
+
+        Files.move(temporaryFile, tableFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return The strength of every distinct 5-card hand, best first
+     */
+    private int[] classStrengths() {
+        TreeSet<Integer> strengths = new TreeSet<>();
+        for (int ranks = 0; ranks < SUIT_RANK_SETS; ranks++) {
+            if (Integer.bitCount(ranks) == MIN_CARDS) {
+                strengths.add(handEvaluator.evaluate(ranks));
+            }
+        }
+        collectNoFlushStrengths(strengths, new int[RANKS], RANKS - 1, MIN_CARDS);
+
+        if (strengths.size() != EQUIVALENCE_CLASSES) {
+            throw new IllegalStateException("Expected " + EQUIVALENCE_CLASSES + " equivalence classes but found " + strengths.size());
+        }
+        return strengths.descendingSet().stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private void collectNoFlushStrengths(TreeSet<Integer> strengths, int[] rankCounts, int rank, int remaining) {
+        if (rank < 0) {
+            if (remaining == 0) {
+                strengths.add(handEvaluator.evaluate(withoutFlush(rankCounts)));
+            }
+            return;
+        }
+        for (int count = 0; count <= Math.min(SUITS, remaining); count++) {
+            rankCounts[rank] = count;
+            collectNoFlushStrengths(strengths, rankCounts, rank - 1, remaining - count);
+        }
+        rankCounts[rank] = 0;
+    }
+
+    private void fillNoFlushClasses(short[] classes, int[] rankCounts, int rank, int remaining,
+                                    Map<Integer, Integer> classesByStrength) {
+        if (rank < 0) {
+            if (remaining == 0) {
+                long cards = withoutFlush(rankCounts);
+                classes[RankCountHash.index(cards)] = classesByStrength.get(handEvaluator.evaluate(cards)).shortValue();
+            }
+            return;
+        }
+        for (int count = 0; count <= Math.min(SUITS, remaining); count++) {
+            rankCounts[rank] = count;
+            fillNoFlushClasses(classes, rankCounts, rank - 1, remaining - count, classesByStrength);
+        }
+        rankCounts[rank] = 0;
+    }
+
+    /**
+     * Deals the suits round-robin, so the cards of one rank never share a suit and no suit holds
+     * more than two of at most seven cards.
+     *
+     * @return Cards with the given rank counts that do not make a flush
+     */
+    private long withoutFlush(int[] rankCounts) {
+        long cards = 0L;
+        int dealt = 0;
+        for (int rank = 0; rank < RANKS; rank++) {
+            for (int i = 0; i < rankCounts[rank]; i++) {
+                cards |= 1L << ((dealt++ % SUITS) * CardMasks.SUIT_SHIFT + rank);
+            }
+        }
+        return cards;
+    }
+
+    /**
+     * Generates the table ahead of time, e.g. as part of a deployment.
+     *
+     * @param args The path of the table file
+     * @throws IOException if the table could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 1) {
+            throw new IllegalArgumentException("Usage: HandRankTableGenerator <table file>, got " + Arrays.toString(args));
+        }
+        new HandRankTableGenerator().generate(Paths.get(args[0]));
+    }
+
+}
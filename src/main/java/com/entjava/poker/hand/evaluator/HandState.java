@@ -0,0 +1,63 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+
+/**
+ * The cards a player can use so far, kept packed with {@link CardMasks} as they are dealt.
+ *
+ * <p>Each street only ORs its new cards into the suit lanes. The strength is a cache: it is a full
+ * evaluation of every card held, done at most once per change and reused until the next card
+ * arrives, so reading it again at the showdown is free. Nothing of an earlier evaluation is carried
+ * into the next one.</p>
+ */
+public class HandState {
+
+    private long cards;
+    private int cardCount;
+
+    private int strength;
+    private boolean evaluated;
+
+    /**
+     * @param card The card to add, e.g. a hole card or a newly dealt community card
+     */
+    public void add(Card card) {
+        cards |= card.getMask();
+        cardCount++;
+        evaluated = false;
+    }
+
+    /**
+     * Removes all the cards, e.g. when a new game starts.
+     */
+    public void clear() {
+        cards = 0L;
+        cardCount = 0;
+        evaluated = false;
+    }
+
+    /**
+     * @return The cards packed with {@link CardMasks}
+     */
+    public long getCards() {
+        return cards;
+    }
+
+    public int getCardCount() {
+        return cardCount;
+    }
+
+    /**
+     * @param handEvaluator
+     * @return The strength of all the cards, evaluated again only if cards were added since the
+     * last call
+     */
+    public int strength(HandEvaluator handEvaluator) {
+        if (!evaluated) {
+            strength = handEvaluator.evaluate(cards);
+            evaluated = true;
+        }
+        return strength;
+    }
+
+}
@@ -0,0 +1,54 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.hand.HandType;
+
+/**
+ * The encoding of the <code>int</code> returned by a {@link HandEvaluator}.
+ *
+ * <p>The {@link HandType} ordinal is stored above bit 20. Below it are up to five 4-bit rank
+ * ordinals, most significant first, that break ties inside the hand type:</p>
+ * <ul>
+ * <li>Straight Flush, Royal Flush and Straight: the highest card</li>
+ * <li>Four of a Kind: the quads, then the kicker</li>
+ * <li>Full House: the three of a kind, then the pair</li>
+ * <li>Flush and High Card: the five cards in descending rank</li>
+ * <li>Three of a Kind: the trips, then two kickers</li>
+ * <li>Two Pair: the higher pair, the lower pair, then the kicker</li>
+ * <li>One Pair: the pair, then three kickers</li>
+ * </ul>
+ * <p>Unused positions are zero, so comparing two strengths as plain integers orders the hands.</p>
+ */
+public final class HandStrength {
+
+    static final int HAND_TYPE_SHIFT = 20;
+
+    static final int FIRST_RANK_SHIFT = 16;
+
+    private static final int RANK_WIDTH = 4;
+    private static final int RANK_BITS = 0xF;
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+    private static final CardRank[] CARD_RANKS = CardRank.values();
+
+    private HandStrength() {
+    }
+
+    /**
+     * @param strength
+     * @return The {@link HandType} encoded in the strength
+     */
+    public static HandType handType(int strength) {
+        return HAND_TYPES[strength >>> HAND_TYPE_SHIFT];
+    }
+
+    /**
+     * @param strength
+     * @param position The tie-breaking position, from 0 (most significant) to 4
+     * @return The {@link CardRank} stored at the given position
+     */
+    public static CardRank rank(int strength, int position) {
+        return CARD_RANKS[(strength >>> (FIRST_RANK_SHIFT - position * RANK_WIDTH)) & RANK_BITS];
+    }
+
+}
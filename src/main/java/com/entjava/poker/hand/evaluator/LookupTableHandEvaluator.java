@@ -0,0 +1,155 @@
+package com.entjava.poker.hand.evaluator;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link HandEvaluator} that looks up the equivalence class of the cards in a precomputed table
+ * instead of working it out.
+ *
+ * <p>The table is written once by the {@link HandRankTableGenerator}, the first time a table file
+ * is missing, and is then memory-mapped read-only. Every JVM on the host that maps the same file
+ * shares one copy of it in the page cache.</p>
+ *
+ * <p>Only sets of 5 to 7 cards are in the table. Smaller sets, such as the two cards a player holds
+ * before the flop, are ranked by a {@link BitmaskHandEvaluator}.</p>
+ */
+public class LookupTableHandEvaluator implements HandEvaluator {
+
+    private final HandEvaluator smallHandEvaluator = new BitmaskHandEvaluator();
+
+    private final ByteBuffer table;
+
+    private final int[] noFlushOffsets = new int[RankCountHash.MAX_CARDS + 1];
+
+    /**
+     * The board's rank counts in {@link #evaluateAll(long, long[], int[])}. The evaluator is shared
+     * by every thread, so each has its own array rather than one allocated per call.
+     */
+    private final ThreadLocal<int[]> rankCountsScratch = ThreadLocal.withInitial(() -> new int[RankCountHash.RANKS]);
+
+    /**
+     * @param tableFile The table file, generated if it does not exist yet
+     * @throws IOException if the table could not be generated or mapped
+     */
+    public LookupTableHandEvaluator(Path tableFile) throws IOException {
+        if (!Files.exists(tableFile)) {
+            new HandRankTableGenerator().generate(tableFile);
+        }
+
+        try (FileChannel channel = FileChannel.open(tableFile, StandardOpenOption.READ)) {
+            table = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (table.capacity() < HandRankTableGenerator.STRENGTHS_OFFSET
+                || table.getInt(0) != HandRankTableGenerator.MAGIC
+                || table.getInt(Integer.BYTES) != HandRankTableGenerator.VERSION) {
+            throw new IllegalStateException(tableFile + " is not a hand rank table of version "
+                    + HandRankTableGenerator.VERSION + ". Delete it to have it generated again.");
+        }
+
+        int offset = HandRankTableGenerator.NO_FLUSH_OFFSET;
+        for (int cardCount = HandRankTableGenerator.MIN_CARDS; cardCount <= RankCountHash.MAX_CARDS; cardCount++) {
+            noFlushOffsets[cardCount] = offset;
+            offset += RankCountHash.size(cardCount) * Short.BYTES;
+        }
+        if (table.capacity() != offset) {
+            throw new IllegalStateException(tableFile + " is truncated. Delete it to have it generated again.");
+        }
+    }
+
+    @Override
+    public int evaluate(long cards) {
+        int cardCount = Long.bitCount(cards);
+        if (cardCount < HandRankTableGenerator.MIN_CARDS || cardCount > RankCountHash.MAX_CARDS) {
+            return smallHandEvaluator.evaluate(cards);
+        }
+        return strengthOf(equivalenceClass(cards));
+    }
+
+    /**
+     * Counts the board's ranks once, and only looks for a flush when some suit already has three
+     * cards on the board. Each player then only adds their own cards to the counts before the
+     * table lookup.
+     */
+    @Override
+    public void evaluateAll(long board, long[] holeCards, int[] strengths) {
+        int boardCount = Long.bitCount(board);
+        int[] rankCounts = rankCountsScratch.get();
+        RankCountHash.countRanks(board, rankCounts);
+        boolean isFlushPossible = findFlushRanks(board, HandRankTableGenerator.MIN_CARDS - 2) != 0;
+
+        for (int i = 0; i < holeCards.length; i++) {
+            long cards = board | holeCards[i];
+            int cardCount = boardCount + Long.bitCount(holeCards[i]);
+            if (cardCount < HandRankTableGenerator.MIN_CARDS || cardCount > RankCountHash.MAX_CARDS) {
+                strengths[i] = evaluate(cards);
+                continue;
+            }
+
+            int flushRanks = isFlushPossible ? findFlushRanks(cards, HandRankTableGenerator.MIN_CARDS) : 0;
+            if (flushRanks != 0) {
+                strengths[i] = strengthOf(flushClass(flushRanks));
+                continue;
+            }
+
+            addRankCounts(rankCounts, holeCards[i], 1);
+            strengths[i] = strengthOf(noFlushClass(RankCountHash.index(rankCounts, cardCount), cardCount));
+            addRankCounts(rankCounts, holeCards[i], -1);
+        }
+    }
+
+    /**
+     * @param cards 5 to 7 cards packed with {@link CardMasks}
+     * @return The equivalence class of the best hand, from 1 (Royal Flush) to 7462 (7,5,4,3,2 high)
+     * @throws IllegalArgumentException if there are fewer than 5 or more than 7 cards
+     */
+    public int equivalenceClass(long cards) {
+        int cardCount = Long.bitCount(cards);
+        if (cardCount < HandRankTableGenerator.MIN_CARDS || cardCount > RankCountHash.MAX_CARDS) {
+            throw new IllegalArgumentException("Only 5 to 7 cards have an equivalence class, got " + cardCount);
+        }
+
+        int flushRanks = findFlushRanks(cards, HandRankTableGenerator.MIN_CARDS);
+        if (flushRanks != 0) {
+            return flushClass(flushRanks);
+        }
+        return noFlushClass(RankCountHash.index(cards), cardCount);
+    }
+
+    /**
+     * @return The ranks of the first suit holding at least <code>minimumCards</code> cards, or 0
+     */
+    private static int findFlushRanks(long cards, int minimumCards) {
+        for (int shift = 0; shift < Long.SIZE; shift += CardMasks.SUIT_SHIFT) {
+            int suitRanks = (int) (cards >>> shift) & CardMasks.RANK_BITS;
+            if (Integer.bitCount(suitRanks) >= minimumCards) {
+                return suitRanks;
+            }
+        }
+        return 0;
+    }
+
+    private static void addRankCounts(int[] rankCounts, long cards, int delta) {
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            rankCounts[Long.numberOfTrailingZeros(remaining) % CardMasks.SUIT_SHIFT] += delta;
+        }
+    }
+
+    private int flushClass(int flushRanks) {
+        return table.getShort(HandRankTableGenerator.FLUSH_OFFSET + flushRanks * Short.BYTES);
+    }
+
+    private int noFlushClass(int rankCountIndex, int cardCount) {
+        return table.getShort(noFlushOffsets[cardCount] + rankCountIndex * Short.BYTES);
+    }
+
+    private int strengthOf(int equivalenceClass) {
+        return table.getInt(HandRankTableGenerator.STRENGTHS_OFFSET + (equivalenceClass - 1) * Integer.BYTES);
+    }
+
+}
@@ -0,0 +1,120 @@
+package com.entjava.poker.hand.evaluator;
+
+import java.util.Arrays;
+
+/**
+ * A minimal perfect hash of the rank counts of a set of cards, ignoring suits.
+ *
+ * <p>Every way of holding <em>n</em> cards across the 13 ranks, at most four of each, maps to a
+ * distinct index below {@link #size(int)}. The index is the position of the rank counts in the
+ * lexicographic order of all such counts, read from the Ace down.</p>
+ */
+final class RankCountHash {
+
+    static final int MAX_CARDS = 7;
+
+    /**
+     * The length of a rank counts array.
+     */
+    static final int RANKS = 13;
+
+    private static final int MAX_PER_RANK = 4;
+
+    /**
+     * <code>WAYS[ranks][cards]</code> is the number of ways to hold <code>cards</code> cards across
+     * <code>ranks</code> ranks.
+     */
+    private static final int[][] WAYS = new int[RANKS + 1][MAX_CARDS + 1];
+
+    /**
+     * The amount added to the index when rank <em>r</em> holds <em>c</em> cards and <em>n</em> cards
+     * are left for rank <em>r</em> and the ranks below it, flattened as <code>[r][n][c]</code>.
+     */
+    private static final int[] OFFSETS = new int[RANKS * (MAX_CARDS + 1) * (MAX_PER_RANK + 1)];
+
+    static {
+        WAYS[0][0] = 1;
+        for (int ranks = 1; ranks <= RANKS; ranks++) {
+            for (int cards = 0; cards <= MAX_CARDS; cards++) {
+                for (int count = 0; count <= Math.min(MAX_PER_RANK, cards); count++) {
+                    WAYS[ranks][cards] += WAYS[ranks - 1][cards - count];
+                }
+            }
+        }
+
+        for (int rank = 0; rank < RANKS; rank++) {
+            for (int remaining = 0; remaining <= MAX_CARDS; remaining++) {
+                int offset = 0;
+                for (int count = 0; count <= MAX_PER_RANK && count <= remaining; count++) {
+                    OFFSETS[offsetIndex(rank, remaining, count)] = offset;
+                    offset += WAYS[rank][remaining - count];
+                }
+            }
+        }
+    }
+
+    private RankCountHash() {
+    }
+
+    /**
+     * @param cardCount
+     * @return The number of distinct indexes for sets of <code>cardCount</code> cards
+     */
+    static int size(int cardCount) {
+        return WAYS[RANKS][cardCount];
+    }
+
+    /**
+     * @param cards Up to {@link #MAX_CARDS} cards packed with {@link CardMasks}
+     * @return The index of the rank counts of the cards
+     */
+    static int index(long cards) {
+        int remaining = Long.bitCount(cards);
+        int index = 0;
+        for (int rank = RANKS - 1; rank >= 0 && remaining > 0; rank--) {
+            long lanes = cards >>> rank;
+            int count = (int) (lanes & 1)
+                    + (int) ((lanes >>> CardMasks.SUIT_SHIFT) & 1)
+                    + (int) ((lanes >>> (2 * CardMasks.SUIT_SHIFT)) & 1)
+                    + (int) ((lanes >>> (3 * CardMasks.SUIT_SHIFT)) & 1);
+            index += OFFSETS[offsetIndex(rank, remaining, count)];
+            remaining -= count;
+        }
+        return index;
+    }
+
+    /**
+     * @param cards Cards packed with {@link CardMasks}
+     * @param rankCounts Receives the number of cards held of each rank, indexed by rank ordinal.
+     *                   It is overwritten, so a caller can reuse one array for every call.
+     */
+    static void countRanks(long cards, int[] rankCounts) {
+        Arrays.fill(rankCounts, 0, RANKS, 0);
+        for (long remaining = cards; remaining != 0; remaining &= remaining - 1) {
+            rankCounts[Long.numberOfTrailingZeros(remaining) % CardMasks.SUIT_SHIFT]++;
+        }
+    }
+
+    /**
+     * The same index as {@link #index(long)}, for callers that already hold the rank counts.
+     *
+     * @param rankCounts The number of cards held of each rank, indexed by rank ordinal
+     * @param cardCount The sum of the rank counts, at most {@link #MAX_CARDS}
+     * @return The index of the rank counts
+     */
+    static int index(int[] rankCounts, int cardCount) {
+        int remaining = cardCount;
+        int index = 0;
+        for (int rank = RANKS - 1; rank >= 0 && remaining > 0; rank--) {
+            int count = rankCounts[rank];
+            index += OFFSETS[offsetIndex(rank, remaining, count)];
+            remaining -= count;
+        }
+        return index;
+    }
+
+    private static int offsetIndex(int rank, int remaining, int count) {
+        return (rank * (MAX_CARDS + 1) + remaining) * (MAX_PER_RANK + 1) + count;
+    }
+
+}
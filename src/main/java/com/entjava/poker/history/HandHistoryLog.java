@@ -0,0 +1,207 @@
+package com.entjava.poker.history;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * An append-only log of completed hands, kept as fixed-size {@link HandRecord}s in a directory of
+ * memory-mapped {@link Segment} files.
+ *
+ * <p>Each hand is given the event id after the last one, so the records are in id order across
+ * every segment. A segment is named after the event id of its first record, and a new one is
+ * started when the last one is full. The players' names are kept once, in a
+ * {@link PlayerDirectory} next to the segments.</p>
+ *
+ * <p>Appending only writes to memory. The records reach the disk when the page cache writes them
+ * out, when a segment is full, and whenever {@link #force()} is called, e.g. every second. A crash
+ * of the machine loses at most the records appended since the last force. A record cut short by
+ * the crash fails its checksum, and the log ends before it when it is opened again.</p>
+ */
+public class HandHistoryLog implements AutoCloseable {
+
+    private static final String SEGMENT_PREFIX = "hands-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String PLAYERS_FILE = "players.dat";
+
+    private final Path directory;
+    private final int segmentCapacity;
+    private final PlayerDirectory players;
+
+    /**
+     * Only added to, at the end, so a reader can search it while a hand is appended.
+     */
+    private final List<Segment> segments = new CopyOnWriteArrayList<>();
+
+    private long lastEventId;
+
+    /**
+     * @param directory The directory of the log, created if it does not exist yet
+     * @param segmentCapacity The number of records in each new segment
+     * @throws IOException if the log could not be opened
+     */
+    public HandHistoryLog(Path directory, int segmentCapacity) throws IOException {
+        if (segmentCapacity < 1 || segmentCapacity > Segment.MAX_CAPACITY) {
+            throw new IllegalArgumentException("A segment holds 1 to " + Segment.MAX_CAPACITY + " records, got " + segmentCapacity);
+        }
+        this.directory = directory;
+        this.segmentCapacity = segmentCapacity;
+
+        Files.createDirectories(directory);
+        this.players = new PlayerDirectory(directory.resolve(PLAYERS_FILE));
+
+        List<Path> segmentFiles;
+        try (Stream<Path> files = Files.list(directory)) {
+            segmentFiles = files
+                    .filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path segmentFile : segmentFiles) {
+            Segment segment = Segment.open(segmentFile);
+            segments.add(segment);
+            lastEventId = Math.max(lastEventId, segment.lastEventId());
+        }
+    }
+
+    /**
+     * @param name
+     * @return The id of the player in the records
+     */
+    public int playerId(String name) {
+        return players.idOf(name);
+    }
+
+    /**
+     * @param playerId
+     * @return The name of the player
+     */
+    public String playerName(int playerId) {
+        return players.nameOf(playerId);
+    }
+
+    /**
+     * @param record A hand without an event id
+     * @return The hand as it was appended, with its event id
+     * @throws UncheckedIOException if a new segment could not be created
+     */
+    public synchronized HandRecord append(HandRecord record) {
+        HandRecord appended = record.withEventId(lastEventId + 1);
+        appendableSegment().append(appended);
+        lastEventId = appended.getEventId();
+        return appended;
+    }
+
+    /**
+     * Appends hands one after the other, without another hand in between.
+     *
+     * @param records Hands without an event id
+     * @return The hands as they were appended, with consecutive event ids
+     */
+    public synchronized List<HandRecord> appendAll(List<HandRecord> records) {
+        List<HandRecord> appended = new ArrayList<>(records.size());
+        for (HandRecord record : records) {
+            appended.add(append(record));
+        }
+        return appended;
+    }
+
+    /**
+     * @param eventId
+     * @return The hand with the event id, if there is one
+     */
+    public Optional<HandRecord> find(long eventId) {
+        int segmentIndex = segmentIndexOf(eventId);
+        if (segmentIndex < 0) {
+            return Optional.empty();
+        }
+        Segment segment = segments.get(segmentIndex);
+        int position = segment.positionAfter(eventId - 1);
+        if (position == segment.size() || segment.eventIdAt(position) != eventId) {
+            return Optional.empty();
+        }
+        return Optional.of(segment.read(position));
+    }
+
+    /**
+     * @param afterId Only hands with a greater event id are read, 0 to read from the first
+     * @param limit The most hands read
+     * @return The hands, in event id order
+     */
+    public List<HandRecord> readAfter(long afterId, int limit) {
+        List<HandRecord> records = new ArrayList<>(Math.min(limit, segmentCapacity));
+        int segmentIndex = Math.max(0, segmentIndexOf(afterId));
+        int position = segments.isEmpty() ? 0 : segments.get(segmentIndex).positionAfter(afterId);
+        for (; segmentIndex < segments.size() && records.size() < limit; segmentIndex++, position = 0) {
+            Segment segment = segments.get(segmentIndex);
+            int size = segment.size();
+            for (; position < size && records.size() < limit; position++) {
+                records.add(segment.read(position));
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Writes the hands appended since the last call to the disk.
+     */
+    public void force() {
+        for (Segment segment : segments) {
+            segment.force();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        for (Segment segment : segments) {
+            segment.close();
+        }
+        players.close();
+    }
+
+    /**
+     * @return The index of the last segment whose first hand is at or before the event id, or -1
+     */
+    private int segmentIndexOf(long eventId) {
+        int low = 0;
+        int high = segments.size() - 1;
+        int found = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (segments.get(middle).firstEventId() <= eventId) {
+                found = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        return found;
+    }
+
+    private Segment appendableSegment() {
+        if (!segments.isEmpty() && !segments.get(segments.size() - 1).isFull()) {
+            return segments.get(segments.size() - 1);
+        }
+        if (!segments.isEmpty()) {
+            // A full segment is written out at once rather than left to the next force
+            segments.get(segments.size() - 1).force();
+        }
+
+        Path file = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, lastEventId + 1, SEGMENT_SUFFIX));
+        try {
+            Segment segment = Segment.create(file, segmentCapacity);
+            segments.add(segment);
+            return segment;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create the segment " + file, e);
+        }
+    }
+
+}
@@ -0,0 +1,238 @@
+package com.entjava.poker.history;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * One completed hand as it is kept in the {@link HandHistoryLog}: who played, which cards were
+ * dealt and how strong each final hand was. Every record takes {@link #SIZE} bytes, laid out as:
+ *
+ * <ol>
+ * <li>The event id, a long, written last</li>
+ * <li>The seed the deck was shuffled from, a long</li>
+ * <li>The winner mask, a short with one bit per seat that won the pot</li>
+ * <li>The number of players, a byte</li>
+ * <li>The {@link #COMMUNITY_CARDS} community cards, a card code byte each</li>
+ * <li>The two cards of each of {@link #MAX_PLAYERS} seats, a card code byte each</li>
+ * <li>A CRC-32 of the event id and every byte below, an int</li>
+ * <li>The player id of each seat, an int each, see {@link PlayerDirectory}</li>
+ * <li>The {@link com.entjava.poker.hand.evaluator.HandStrength} of each seat's final hand, an int
+ * each</li>
+ * </ol>
+ *
+ * <p>Seats past the number of players are left as zeroes. The page cache may write the bytes of a
+ * record out in any order, so a record is only trusted when its checksum matches, see
+ * {@link #isIntact(ByteBuffer, int)}.</p>
+ */
+public class HandRecord {
+
+    public static final int SIZE = 128;
+    public static final int MAX_PLAYERS = 10;
+    public static final int COMMUNITY_CARDS = 5;
+
+    static final int PLAYER_CARDS = 2;
+
+    private static final int SEED_OFFSET = 8;
+    private static final int WINNER_MASK_OFFSET = 16;
+    private static final int PLAYER_COUNT_OFFSET = 18;
+    private static final int COMMUNITY_CARDS_OFFSET = 19;
+    private static final int PLAYER_CARDS_OFFSET = COMMUNITY_CARDS_OFFSET + COMMUNITY_CARDS;
+    private static final int CHECKSUM_OFFSET = PLAYER_CARDS_OFFSET + MAX_PLAYERS * PLAYER_CARDS;
+    private static final int PLAYER_IDS_OFFSET = CHECKSUM_OFFSET + Integer.BYTES;
+    private static final int STRENGTHS_OFFSET = PLAYER_IDS_OFFSET + MAX_PLAYERS * Integer.BYTES;
+
+    private final long eventId;
+    private final long seed;
+    private final int[] playerIds;
+    private final byte[] playerCards;
+    private final byte[] communityCards;
+    private final int[] strengths;
+    private final int winnerMask;
+
+    /**
+     * @param eventId The id of the hand, or 0 if the log has not given it one yet
+     * @param seed
+     * @param playerIds The id of each seat's player
+     * @param playerCards The codes of the two cards of each seat, seat after seat
+     * @param communityCards The codes of the community cards
+     * @param strengths The strength of each seat's final hand
+     * @param winnerMask One bit per seat that won the pot, the lowest for the first seat
+     * @throws IllegalArgumentException if the hand does not fit the layout
+     */
+    public HandRecord(long eventId, long seed, int[] playerIds, byte[] playerCards, byte[] communityCards,
+                      int[] strengths, int winnerMask) {
+        int players = playerIds.length;
+        if (players < 1 || players > MAX_PLAYERS) {
+            throw new IllegalArgumentException("A hand history record holds 1 to " + MAX_PLAYERS + " players, got " + players);
+        }
+        if (playerCards.length != players * PLAYER_CARDS || strengths.length != players
+                || communityCards.length != COMMUNITY_CARDS) {
+            throw new IllegalArgumentException("Every player needs two cards and a strength, and the board five cards");
+        }
+        if (winnerMask == 0 || winnerMask >>> players != 0) {
+            throw new IllegalArgumentException("The winners must be seated players, got the mask " + Integer.toBinaryString(winnerMask));
+        }
+        this.eventId = eventId;
+        this.seed = seed;
+        this.playerIds = playerIds.clone();
+        this.playerCards = playerCards.clone();
+        this.communityCards = communityCards.clone();
+        this.strengths = strengths.clone();
+        this.winnerMask = winnerMask;
+    }
+
+    /**
+     * @param eventId
+     * @return The same hand with the event id
+     */
+    HandRecord withEventId(long eventId) {
+        return new HandRecord(eventId, seed, playerIds, playerCards, communityCards, strengths, winnerMask);
+    }
+
+    /**
+     * Writes the record at an absolute offset, leaving the buffer's position as it was. The event
+     * id is written last, after the checksum.
+     */
+    void writeTo(ByteBuffer buffer, int offset) {
+        buffer.putLong(offset + SEED_OFFSET, seed);
+        buffer.putShort(offset + WINNER_MASK_OFFSET, (short) winnerMask);
+        buffer.put(offset + PLAYER_COUNT_OFFSET, (byte) playerIds.length);
+        for (int card = 0; card < COMMUNITY_CARDS; card++) {
+            buffer.put(offset + COMMUNITY_CARDS_OFFSET + card, communityCards[card]);
+        }
+        for (int card = 0; card < playerCards.length; card++) {
+            buffer.put(offset + PLAYER_CARDS_OFFSET + card, playerCards[card]);
+        }
+        for (int seat = 0; seat < playerIds.length; seat++) {
+            buffer.putInt(offset + PLAYER_IDS_OFFSET + seat * Integer.BYTES, playerIds[seat]);
+            buffer.putInt(offset + STRENGTHS_OFFSET + seat * Integer.BYTES, strengths[seat]);
+        }
+        buffer.putInt(offset + CHECKSUM_OFFSET, checksum(buffer, offset, eventId));
+        buffer.putLong(offset, eventId);
+    }
+
+    /**
+     * @return true if the record at an absolute offset has an event id and every byte of it was
+     * written, i.e. its checksum matches
+     */
+    static boolean isIntact(ByteBuffer buffer, int offset) {
+        long eventId = readEventId(buffer, offset);
+        return eventId != 0 && buffer.getInt(offset + CHECKSUM_OFFSET) == checksum(buffer, offset, eventId);
+    }
+
+    /**
+     * @return The CRC-32 of the event id and the bytes after it, but the checksum itself
+     */
+    private static int checksum(ByteBuffer buffer, int offset, long eventId) {
+        CRC32 crc = new CRC32();
+        for (int shift = Long.SIZE - Byte.SIZE; shift >= 0; shift -= Byte.SIZE) {
+            crc.update((int) (eventId >>> shift));
+        }
+        ByteBuffer bytes = buffer.duplicate();
+        bytes.limit(offset + CHECKSUM_OFFSET).position(offset + SEED_OFFSET);
+        crc.update(bytes);
+        bytes.limit(offset + SIZE).position(offset + PLAYER_IDS_OFFSET);
+        crc.update(bytes);
+        return (int) crc.getValue();
+    }
+
+    /**
+     * @return The record at an absolute offset, leaving the buffer's position as it was
+     */
+    static HandRecord readFrom(ByteBuffer buffer, int offset) {
+        int players = buffer.get(offset + PLAYER_COUNT_OFFSET);
+        byte[] communityCards = new byte[COMMUNITY_CARDS];
+        for (int card = 0; card < COMMUNITY_CARDS; card++) {
+            communityCards[card] = buffer.get(offset + COMMUNITY_CARDS_OFFSET + card);
+        }
+        byte[] playerCards = new byte[players * PLAYER_CARDS];
+        for (int card = 0; card < playerCards.length; card++) {
+            playerCards[card] = buffer.get(offset + PLAYER_CARDS_OFFSET + card);
+        }
+        int[] playerIds = new int[players];
+        int[] strengths = new int[players];
+        for (int seat = 0; seat < players; seat++) {
+            playerIds[seat] = buffer.getInt(offset + PLAYER_IDS_OFFSET + seat * Integer.BYTES);
+            strengths[seat] = buffer.getInt(offset + STRENGTHS_OFFSET + seat * Integer.BYTES);
+        }
+        return new HandRecord(readEventId(buffer, offset), buffer.getLong(offset + SEED_OFFSET), playerIds,
+                playerCards, communityCards, strengths, buffer.getShort(offset + WINNER_MASK_OFFSET) & 0xFFFF);
+    }
+
+    /**
+     * @return The event id of the record at an absolute offset, 0 if none was written there
+     */
+    static long readEventId(ByteBuffer buffer, int offset) {
+        return buffer.getLong(offset);
+    }
+
+    public long getEventId() {
+        return eventId;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getPlayerCount() {
+        return playerIds.length;
+    }
+
+    /**
+     * @param seat From 0 to the number of players - 1
+     * @return The id of the seat's player in the {@link PlayerDirectory}
+     */
+    public int getPlayerId(int seat) {
+        return playerIds[seat];
+    }
+
+    /**
+     * @param seat
+     * @param card 0 or 1
+     * @return The code of one of the seat's cards, see {@link com.entjava.poker.card.Card#fromCode(int)}
+     */
+    public int getPlayerCard(int seat, int card) {
+        return playerCards[seat * PLAYER_CARDS + card];
+    }
+
+    /**
+     * @param card From 0 to 4, in the order they were dealt
+     * @return The code of the community card
+     */
+    public int getCommunityCard(int card) {
+        return communityCards[card];
+    }
+
+    public int getStrength(int seat) {
+        return strengths[seat];
+    }
+
+    public boolean isWinner(int seat) {
+        return (winnerMask & 1 << seat) != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        HandRecord that = (HandRecord) o;
+        return eventId == that.eventId
+                && seed == that.seed
+                && winnerMask == that.winnerMask
+                && Arrays.equals(playerIds, that.playerIds)
+                && Arrays.equals(playerCards, that.playerCards)
+                && Arrays.equals(communityCards, that.communityCards)
+                && Arrays.equals(strengths, that.strengths);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(eventId) * 31 + Long.hashCode(seed);
+    }
+
+}
@@ -0,0 +1,109 @@
+package com.entjava.poker.history;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Numbers the players of the {@link HandHistoryLog}, so a record holds an int rather than a name.
+ *
+ * <p>The names are appended to a file in the order they were first seen, each written with
+ * {@link DataOutputStream#writeUTF(String)}. A name's id is its position in the file. A new name is
+ * forced to the disk before its id is used, so a record never refers to a name that was lost.</p>
+ */
+class PlayerDirectory implements AutoCloseable {
+
+    private final FileChannel channel;
+    private final List<String> names = new ArrayList<>();
+    private final Map<String, Integer> ids = new HashMap<>();
+
+    /**
+     * @param file The names file, created if it does not exist yet
+     * @throws IOException if the file could not be read
+     */
+    PlayerDirectory(Path file) throws IOException {
+        if (Files.exists(file)) {
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                while (true) {
+                    String name = in.readUTF();
+                    ids.put(name, names.size());
+                    names.add(name);
+                }
+            } catch (EOFException e) {
+                // Every name was read. A name cut short by a crash had no id in use yet.
+            }
+        }
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+        channel.truncate(encodedSize(names));
+        channel.position(channel.size());
+    }
+
+    /**
+     * @param name
+     * @return The id of the player, given the next one if the name is new
+     * @throws UncheckedIOException if a new name could not be written
+     */
+    synchronized int idOf(String name) {
+        Integer id = ids.get(name);
+        if (id != null) {
+            return id;
+        }
+
+        try {
+            channel.write(ByteBuffer.wrap(encode(name)));
+            channel.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to add the player " + name, e);
+        }
+        ids.put(name, names.size());
+        names.add(name);
+        return names.size() - 1;
+    }
+
+    /**
+     * @param id
+     * @return The name of the player
+     * @throws IllegalArgumentException if no player has the id
+     */
+    synchronized String nameOf(int id) {
+        if (id < 0 || id >= names.size()) {
+            throw new IllegalArgumentException("There is no player " + id);
+        }
+        return names.get(id);
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private static long encodedSize(List<String> names) throws IOException {
+        long size = 0;
+        for (String name : names) {
+            size += encode(name).length;
+        }
+        return size;
+    }
+
+    private static byte[] encode(String name) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(name);
+        }
+        return bytes.toByteArray();
+    }
+
+}
@@ -0,0 +1,231 @@
+package com.entjava.poker.history;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * One file of the {@link HandHistoryLog}: a header of {@link #HEADER_SIZE} bytes holding the
+ * {@link #MAGIC}, {@link #VERSION} and record size ints, then room for a fixed number of
+ * {@link HandRecord}s. The whole file is memory-mapped, so a record is appended by writing to
+ * memory, and the page cache writes it out. The header is as large as a record, so no record ever
+ * straddles a page.
+ *
+ * <p>The records are in the order of their event ids. The id of every {@link #INDEX_INTERVAL}th
+ * record is kept in a sparse index in memory, so finding a record binary searches the index and
+ * then reads at most one interval of the file, rather than reading pages all over it. The index is
+ * rebuilt from the file when a segment is opened.</p>
+ *
+ * <p>Only one thread appends at a time. Any number of threads may read at the same time, and only
+ * see records whose append has finished.</p>
+ */
+class Segment implements AutoCloseable {
+
+    static final int MAGIC = 0x50484853;
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = HandRecord.SIZE;
+    static final int INDEX_INTERVAL = 64;
+
+    /**
+     * The most records that fit in one mapping.
+     */
+    static final int MAX_CAPACITY = (Integer.MAX_VALUE - HEADER_SIZE) / HandRecord.SIZE;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final long[] indexedEventIds;
+    private final AtomicBoolean hasUnforcedRecords = new AtomicBoolean();
+
+    /**
+     * The number of records appended. Written after each record, so a reader that reads it sees
+     * every record up to it.
+     */
+    private volatile int size;
+
+    private Segment(Path file, FileChannel channel, int capacity) throws IOException {
+        this.file = file;
+        this.channel = channel;
+        this.capacity = capacity;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + (long) capacity * HandRecord.SIZE);
+        this.indexedEventIds = new long[(capacity + INDEX_INTERVAL - 1) / INDEX_INTERVAL];
+    }
+
+    /**
+     * @param file A file that does not exist yet
+     * @param capacity The number of records it holds
+     * @throws IOException if the file could not be created
+     */
+    static Segment create(Path file, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        Segment segment = new Segment(file, channel, capacity);
+        segment.buffer.putInt(0, MAGIC);
+        segment.buffer.putInt(Integer.BYTES, VERSION);
+        segment.buffer.putInt(2 * Integer.BYTES, HandRecord.SIZE);
+        segment.buffer.force();
+        return segment;
+    }
+
+    /**
+     * Opens a segment written before, and finds where its records end.
+     *
+     * @param file
+     * @throws IOException if the file could not be mapped
+     * @throws IllegalStateException if the file is not a segment of this version
+     */
+    static Segment open(Path file) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long fileSize = channel.size();
+        if (fileSize < HEADER_SIZE || (fileSize - HEADER_SIZE) % HandRecord.SIZE != 0) {
+            channel.close();
+            throw new IllegalStateException(file + " is not a hand history segment");
+        }
+        Segment segment = new Segment(file, channel, (int) ((fileSize - HEADER_SIZE) / HandRecord.SIZE));
+        if (segment.buffer.getInt(0) != MAGIC || segment.buffer.getInt(Integer.BYTES) != VERSION
+                || segment.buffer.getInt(2 * Integer.BYTES) != HandRecord.SIZE) {
+            segment.close();
+            throw new IllegalStateException(file + " is not a hand history segment of version " + VERSION);
+        }
+        segment.recover();
+        return segment;
+    }
+
+    /**
+     * The records fill the file from its start, but after a crash the page cache may have written
+     * some of their pages and not others. The records are checked one by one, and the segment ends
+     * before the first one that is missing, cut short or not after the one before it. The records
+     * found after that end, if any, are cleared, so a later crash cannot bring them back.
+     */
+    private void recover() {
+        int position = 0;
+        long previousEventId = 0;
+        while (position < capacity && HandRecord.isIntact(buffer, offsetOf(position))
+                && eventIdAt(position) > previousEventId) {
+            previousEventId = eventIdAt(position);
+            if (position % INDEX_INTERVAL == 0) {
+                indexedEventIds[position / INDEX_INTERVAL] = previousEventId;
+            }
+            position++;
+        }
+        size = position;
+
+        boolean cleared = false;
+        for (int dropped = position; dropped < capacity; dropped++) {
+            if (eventIdAt(dropped) != 0) {
+                buffer.putLong(offsetOf(dropped), 0L);
+                cleared = true;
+            }
+        }
+        if (cleared) {
+            buffer.force();
+        }
+    }
+
+    /**
+     * @param record A record with a greater event id than any in the segment
+     * @throws IllegalStateException if the segment is full
+     */
+    void append(HandRecord record) {
+        int position = size;
+        if (position == capacity) {
+            throw new IllegalStateException(file + " is full");
+        }
+        record.writeTo(buffer, offsetOf(position));
+        if (position % INDEX_INTERVAL == 0) {
+            indexedEventIds[position / INDEX_INTERVAL] = record.getEventId();
+        }
+        size = position + 1;
+        hasUnforcedRecords.set(true);
+    }
+
+    /**
+     * @param afterId
+     * @return The position of the first record with an event id greater than <code>afterId</code>,
+     * or the size of the segment if there is none
+     */
+    int positionAfter(long afterId) {
+        int size = this.size;
+        // The last indexed record at or before the id, the interval after it holds the position
+        int low = 0;
+        int high = (size + INDEX_INTERVAL - 1) / INDEX_INTERVAL - 1;
+        int interval = -1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            if (indexedEventIds[middle] <= afterId) {
+                interval = middle;
+                low = middle + 1;
+            } else {
+                high = middle - 1;
+            }
+        }
+        if (interval < 0) {
+            return 0;
+        }
+
+        int position = interval * INDEX_INTERVAL;
+        int end = Math.min(size, position + INDEX_INTERVAL);
+        while (position < end && eventIdAt(position) <= afterId) {
+            position++;
+        }
+        return position;
+    }
+
+    /**
+     * @param position From 0 to the size of the segment - 1
+     */
+    HandRecord read(int position) {
+        return HandRecord.readFrom(buffer, offsetOf(position));
+    }
+
+    long eventIdAt(int position) {
+        return HandRecord.readEventId(buffer, offsetOf(position));
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isFull() {
+        return size == capacity;
+    }
+
+    /**
+     * @return The event id of the first record, or {@link Long#MAX_VALUE} if there is none yet
+     */
+    long firstEventId() {
+        return size == 0 ? Long.MAX_VALUE : eventIdAt(0);
+    }
+
+    /**
+     * @return The event id of the last record, or 0 if there is none yet
+     */
+    long lastEventId() {
+        int size = this.size;
+        return size == 0 ? 0 : eventIdAt(size - 1);
+    }
+
+    /**
+     * Writes the records appended since the last call to the disk.
+     */
+    void force() {
+        if (hasUnforcedRecords.getAndSet(false)) {
+            buffer.force();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        force();
+        channel.close();
+    }
+
+    private static int offsetOf(int position) {
+        return HEADER_SIZE + position * HandRecord.SIZE;
+    }
+
+}
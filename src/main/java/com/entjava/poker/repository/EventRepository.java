@@ -1,3 +1,35 @@
+package com.entjava.poker.repository;
+
+import com.entjava.poker.entity.Event;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
 @Repository
-public interface EventRepository extends JpaRepository<Event, Long> {
+public interface EventRepository extends JpaRepository<Event, Long>, EventRepositoryCustom {
+
+    /**
+     * Pages through the games by id rather than by offset, so every page costs the same however far
+     * it is from the first.
+     *
+     * @param afterId Only ids greater than this are found
+     * @param pageable The number of ids to find, from its first page
+     * @return The ids, in order
+     */
+    @Query("select e.id from Event e where e.id > :afterId order by e.id")
+    List<Long> findIdsAfter(@Param("afterId") long afterId, Pageable pageable);
+
+    /**
+     * @param afterId
+     * @param lastId
+     * @return The games with an id greater than <code>afterId</code>, up to <code>lastId</code>, in
+     * order, with their players
+     */
+    @Query("select distinct e from Event e left join fetch e.players p"
+            + " where e.id > :afterId and e.id <= :lastId order by e.id, p.id")
+    List<Event> findWithPlayersBetween(@Param("afterId") long afterId, @Param("lastId") long lastId);
 }
@@ -0,0 +1,27 @@
+package com.entjava.poker.repository;
+
+import com.entjava.poker.entity.Event;
+
+import java.util.List;
+
+/**
+ * Saves games in two steps, so a game can be answered with its id before it is written.
+ */
+public interface EventRepositoryCustom {
+
+    /**
+     * Gives the game and its player results the ids they will be inserted with, from the same
+     * sequences as {@link EventRepository#save(Object)}. Most calls need no database round trip.
+     *
+     * @param event A game that is not saved yet
+     */
+    void allocateIds(Event event);
+
+    /**
+     * Inserts games whose ids were allocated with {@link #allocateIds(Event)}, without first
+     * checking whether they exist.
+     *
+     * @param events
+     */
+    void insertAll(List<Event> events);
+}
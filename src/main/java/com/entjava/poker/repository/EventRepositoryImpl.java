@@ -0,0 +1,82 @@
+package com.entjava.poker.repository;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import org.hibernate.ReplicationMode;
+import org.hibernate.Session;
+import org.hibernate.StatelessSession;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.id.IdentifierGenerator;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+
+public class EventRepositoryImpl implements EventRepositoryCustom {
+
+    private final EntityManager entityManager;
+    private final SessionFactoryImplementor sessionFactory;
+    private final IdentifierGenerator eventIds;
+    private final IdentifierGenerator playerResultIds;
+
+    public EventRepositoryImpl(EntityManagerFactory entityManagerFactory) {
+        this.entityManager = SharedEntityManagerCreator.createSharedEntityManager(entityManagerFactory);
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactoryImplementor.class);
+        this.eventIds = sessionFactory.getMetamodel().entityPersister(Event.class).getIdentifierGenerator();
+        this.playerResultIds = sessionFactory.getMetamodel().entityPersister(PlayerResult.class).getIdentifierGenerator();
+    }
+
+    /**
+     * Asks the entities' own generators, so the ids come from the same pools as those of
+     * {@link EventRepository#save(Object)}. A stateless session only takes a connection when a
+     * pool runs out.
+     */
+    @Override
+    public void allocateIds(Event event) {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            SharedSessionContractImplementor sessionImplementor = (SharedSessionContractImplementor) session;
+            event.setId((Long) eventIds.generate(sessionImplementor, event));
+            for (PlayerResult player : event.getPlayers()) {
+                player.setId((Long) playerResultIds.generate(sessionImplementor, player));
+            }
+        }
+    }
+
+    /**
+     * Replicates copies of the games, which inserts them with the ids they already have. The games
+     * themselves are left as they are, as they may still be read while they are saved.
+     *
+     * <p>A game's row refers to its winner's, which is only inserted after it. Hibernate sets such a
+     * reference with an update when it generates the ids, but not when they are assigned, so the
+     * copy is replicated without its winner, which is then set to be updated at the flush. The
+     * inserts and updates still go out in JDBC batches.</p>
+     */
+    @Override
+    @Transactional
+    public void insertAll(List<Event> events) {
+        Session session = entityManager.unwrap(Session.class);
+        for (Event event : events) {
+            Event copy = new Event();
+            copy.setId(event.getId());
+            PlayerResult winner = null;
+            for (PlayerResult player : event.getPlayers()) {
+                PlayerResult playerCopy = new PlayerResult();
+                playerCopy.setId(player.getId());
+                playerCopy.setName(player.getName());
+                playerCopy.setHand(player.getHand());
+                playerCopy.setWinner(player.isWinner());
+                playerCopy.setEvent(copy);
+                copy.getPlayers().add(playerCopy);
+                if (player == event.getWinner()) {
+                    winner = playerCopy;
+                }
+            }
+
+            session.replicate(copy, ReplicationMode.EXCEPTION);
+            copy.setWinner(winner);
+        }
+    }
+}
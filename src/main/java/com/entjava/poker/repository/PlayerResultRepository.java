@@ -1,3 +1,9 @@
+package com.entjava.poker.repository;
+
+import com.entjava.poker.entity.PlayerResult;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
 @Repository
 public interface PlayerResultRepository extends JpaRepository<PlayerResult, Long> {
 }
\ No newline at end of file
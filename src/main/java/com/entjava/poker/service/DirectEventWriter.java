@@ -0,0 +1,28 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.repository.EventRepository;
+
+import java.util.Optional;
+
+/**
+ * Saves each game in its own transaction before it is answered.
+ */
+public class DirectEventWriter implements EventWriter {
+
+    private final EventRepository eventRepository;
+
+    public DirectEventWriter(EventRepository eventRepository) {
+        this.eventRepository = eventRepository;
+    }
+
+    @Override
+    public Event write(Event event) {
+        return eventRepository.save(event);
+    }
+
+    @Override
+    public Optional<Event> findUnsaved(long eventId) {
+        return Optional.empty();
+    }
+}
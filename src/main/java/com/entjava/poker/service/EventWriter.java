@@ -0,0 +1,29 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+
+import java.util.Optional;
+
+/**
+ * Saves played games, chosen with the <code>poker.games.writer</code> property:
+ *
+ * <ul>
+ * <li><code>direct</code> (default): the {@link DirectEventWriter}, saving each game before it is
+ * answered</li>
+ * <li><code>write-behind</code>: the {@link WriteBehindEventWriter}, saving games in the background</li>
+ * </ul>
+ */
+public interface EventWriter {
+
+    /**
+     * @param event A played game that is not saved yet
+     * @return The game, with the ids it is or will be saved with
+     */
+    Event write(Event event);
+
+    /**
+     * @param eventId
+     * @return The game with the id, if it was written but is not saved yet
+     */
+    Optional<Event> findUnsaved(long eventId);
+}
@@ -0,0 +1,37 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+/**
+ * Chooses the {@link EventWriter} with the <code>poker.games.writer</code> property.
+ */
+@Configuration
+public class EventWriterConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.games.writer", havingValue = "direct", matchIfMissing = true)
+    public EventWriter directEventWriter(EventRepository eventRepository) {
+        return new DirectEventWriter(eventRepository);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.games.writer", havingValue = "write-behind")
+    public EventWriter writeBehindEventWriter(EventRepository eventRepository,
+                                              GameResultCache gameResultCache,
+                                              PlatformTransactionManager transactionManager,
+                                              MeterRegistry meterRegistry,
+                                              @Value("${poker.games.write-behind.capacity:10000}") int capacity,
+                                              @Value("${poker.games.write-behind.batch-size:500}") int batchSize,
+                                              @Value("${poker.games.write-behind.offer-timeout-ms:1000}") long offerTimeoutMillis,
+                                              @Value("${poker.games.write-behind.shutdown-timeout-ms:30000}") long shutdownTimeoutMillis) {
+        return new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry,
+                capacity, batchSize, offerTimeoutMillis, shutdownTimeoutMillis);
+    }
+
+}
@@ -0,0 +1,76 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.hand.HandType;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Games played by the {@link GameSimulator}, not saved yet, with the number of wins of each player
+ * and of each winning {@link HandType}. Every worker keeps its own batch, and the batches are added
+ * up at the end.
+ */
+public class GameBatch {
+
+    private final List<Event> events;
+    private final Map<String, Long> wins = new LinkedHashMap<>();
+    private final Map<HandType, Long> winningHands = new EnumMap<>(HandType.class);
+    private long splitPots;
+
+    GameBatch(int expectedGames) {
+        this.events = new ArrayList<>(expectedGames);
+    }
+
+    void record(Event event, HandType winningHand) {
+        events.add(event);
+        int winners = 0;
+        for (PlayerResult player : event.getPlayers()) {
+            if (player.isWinner()) {
+                wins.merge(player.getName(), 1L, Long::sum);
+                winners++;
+            }
+        }
+        if (winners > 1) {
+            splitPots++;
+        }
+        winningHands.merge(winningHand, 1L, Long::sum);
+    }
+
+    void add(GameBatch other) {
+        events.addAll(other.events);
+        other.wins.forEach((name, count) -> wins.merge(name, count, Long::sum));
+        other.winningHands.forEach((handType, count) -> winningHands.merge(handType, count, Long::sum));
+        splitPots += other.splitPots;
+    }
+
+    public List<Event> getEvents() {
+        return events;
+    }
+
+    /**
+     * @return The number of games each player won, counting a split pot as a win for every winner
+     */
+    public Map<String, Long> getWins() {
+        return wins;
+    }
+
+    /**
+     * @return The number of games won with each hand type
+     */
+    public Map<HandType, Long> getWinningHands() {
+        return winningHands;
+    }
+
+    /**
+     * @return The number of games won by more than one player
+     */
+    public long getSplitPots() {
+        return splitPots;
+    }
+
+}
@@ -0,0 +1,118 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.dto.GameResultResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.LongFunction;
+
+/**
+ * Keeps the responses of the games most recently played or read, so that polling a game does not
+ * read it from the database again.
+ *
+ * <p>At most <code>poker.games.cache-size</code> games are kept, evicting the least recently used.
+ * Metrics: <code>poker.games.cache.gets</code>, tagged with a <code>result</code> of
+ * <code>hit</code> or <code>miss</code>, and <code>poker.games.cache.size</code>.</p>
+ */
+@Component
+public class GameResultCache {
+
+    private final Map<Long, GameResultResponse> responses;
+    private final Map<Long, Boolean> unsavedEventIds;
+    private final Counter hits;
+    private final Counter misses;
+
+    /**
+     * @param meterRegistry
+     * @param maxSize The most games kept
+     */
+    public GameResultCache(MeterRegistry meterRegistry,
+                           @Value("${poker.games.cache-size:10000}") int maxSize) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("The cache must hold a game, got a size of " + maxSize);
+        }
+        // In access order, so the eldest entry is the least recently used
+        this.responses = new LinkedHashMap<Long, GameResultResponse>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, GameResultResponse> eldest) {
+                return size() > maxSize;
+            }
+        };
+        this.unsavedEventIds = new LinkedHashMap<Long, Boolean>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Boolean> eldest) {
+                return size() > maxSize;
+            }
+        };
+
+        this.hits = Counter.builder("poker.games.cache.gets")
+                .tag("result", "hit")
+                .description("Game results read from the cache")
+                .register(meterRegistry);
+        this.misses = Counter.builder("poker.games.cache.gets")
+                .tag("result", "miss")
+                .description("Game results not in the cache")
+                .register(meterRegistry);
+        Gauge.builder("poker.games.cache.size", this, GameResultCache::size)
+                .description("Game results in the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param eventId
+     * @param loader Builds the response of a game that is not cached. It is called without holding
+     *               the cache's lock, so another request may load the same game at the same time.
+     * @return The response of the game
+     */
+    public GameResultResponse get(long eventId, LongFunction<GameResultResponse> loader) {
+        GameResultResponse response;
+        synchronized (responses) {
+            response = responses.get(eventId);
+        }
+        if (response != null) {
+            hits.increment();
+            return response;
+        }
+
+        misses.increment();
+        response = loader.apply(eventId);
+        put(response);
+        return response;
+    }
+
+    /**
+     * @param response The response of a game that was just played
+     */
+    public void put(GameResultResponse response) {
+        synchronized (responses) {
+            if (unsavedEventIds.remove(response.getEventId()) == null) {
+                responses.put(response.getEventId(), response);
+            }
+        }
+    }
+
+    /**
+     * Drops a game that could not be saved. A game saved in the background may fail before its
+     * response is put, so the response is also refused if it is put later.
+     *
+     * @param eventId
+     */
+    public void evictUnsaved(long eventId) {
+        synchronized (responses) {
+            responses.remove(eventId);
+            unsavedEventIds.put(eventId, Boolean.TRUE);
+        }
+    }
+
+    public int size() {
+        synchronized (responses) {
+            return responses.size();
+        }
+    }
+
+}
@@ -1,80 +1,175 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.dto.BatchGameResultResponse;
+import com.entjava.poker.dto.EventIdRange;
+import com.entjava.poker.dto.GameResultResponse;
+import com.entjava.poker.dto.PlayerDTO;
+import com.entjava.poker.dto.StartGameRequest;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.exception.GameNotFoundException;
+import com.entjava.poker.exception.UnregisteredPlayersException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+
 @Service
-@Transactional
 public class GameService {
+
+    private static final Logger log = LoggerFactory.getLogger(GameService.class);
     
-    private final EventRepository eventRepository;
+    private final GameStore gameStore;
+    private final GameResultCache gameResultCache;
+    private final GameSimulator gameSimulator;
+    private final int exportPageSize;
     private final Set<String> registeredPlayers = new HashSet<>(Arrays.asList("Chance", "AliceGuo")); // Pre-registered players
     
-    public GameService(EventRepository eventRepository) {
-        this.eventRepository = eventRepository;
+    public GameService(GameStore gameStore, GameResultCache gameResultCache, GameSimulator gameSimulator,
+                       @Value("${poker.games.export.page-size:1000}") int exportPageSize) {
+        this.gameStore = gameStore;
+        this.gameResultCache = gameResultCache;
+        this.gameSimulator = gameSimulator;
+        this.exportPageSize = exportPageSize;
     }
 
+    /**
+     * Plays a game and saves it in the {@link GameStore}, which may answer before the game is
+     * saved. The response is cached, as the players usually poll the game next.
+     *
+     * @param request The players of the game
+     * @return The game and the id it is saved with
+     * @throws UnregisteredPlayersException if a player is not registered
+     * @throws IllegalArgumentException if there are not 2 to 22 players, or a player is seated twice
+     */
     public GameResultResponse startGame(StartGameRequest request) {
         // Validate players
-        List<String> unregisteredPlayers = request.getPlayers().stream()
-            .map(PlayerDTO::getName)
-            .filter(name -> !registeredPlayers.contains(name))
-            .collect(Collectors.toList());
-            
-        if (!unregisteredPlayers.isEmpty()) {
-            log.warn("Unregistered players attempting to join: {}", unregisteredPlayers);
-            throw new UnregisteredPlayersException("Some players are not registered: " + unregisteredPlayers);
-        }
+        List<String> playerNames = validatePlayers(request);
 
-        // Create new game event
-        Event event = new Event();
-        
         // Simulate game and determine winner
-        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
-        
-        // Add players to game
-        request.getPlayers().forEach(playerDTO -> {
-            PlayerResult result = new PlayerResult();
-            result.setName(playerDTO.getName());
-            result.setEvent(event);
-            
-            // Get player's final hand from game simulation
-            Hand playerHand = game.identifyPlayerHand(game.getPlayers().stream()
-                .filter(p -> p.getName().equals(playerDTO.getName()))
-                .findFirst()
-                .get());
-                
-            result.setHand(playerHand.toString());
-            event.getPlayers().add(result);
-        });
-
-        // Set winner
-        Optional<Player> winner = game.getWinner();
-        if (winner.isPresent()) {
-            PlayerResult winningResult = event.getPlayers().stream()
-                .filter(p -> p.getName().equals(winner.get().getName()))
-                .findFirst()
-                .get();
-            winningResult.setWinner(true);
-            event.setWinner(winningResult);
-        }
+        Event event = gameSimulator.playGame(playerNames);
 
-        // Save to database
-        eventRepository.save(event);
+        // Save, now or in the background
+        event = gameStore.save(event);
 
         // Return response
-        return createGameResultResponse(event);
+        GameResultResponse response = createGameResultResponse(event);
+        gameResultCache.put(response);
+        return response;
     }
 
+    /**
+     * Plays many games with the same players in parallel, then saves them all at once. Nothing is
+     * held in the store while the games are played.
+     *
+     * @param request The players of every game
+     * @param numberOfGames
+     * @return The summary of the games and the ids they were saved with
+     * @throws UnregisteredPlayersException if a player is not registered
+     * @throws IllegalArgumentException if there are not 2 to 22 players, or a player is seated twice
+     */
+    public BatchGameResultResponse startGames(StartGameRequest request, int numberOfGames) {
+        List<String> playerNames = validatePlayers(request);
+
+        GameBatch batch = gameSimulator.playGames(playerNames, numberOfGames, new SplittableRandom().nextLong());
+
+        gameStore.saveAll(batch.getEvents());
+
+        return createBatchGameResultResponse(batch);
+    }
+
+    /**
+     * @param eventId
+     * @return The game, from the cache when it was played or read recently
+     * @throws GameNotFoundException if there is no game with the id
+     */
     public GameResultResponse getGameResult(Long eventId) {
-        Event event = eventRepository.findById(eventId)
+        return gameResultCache.get(eventId, this::loadGameResult);
+    }
+
+    private GameResultResponse loadGameResult(long eventId) {
+        return gameStore.findById(eventId)
+            .map(this::createGameResultResponse)
             .orElseThrow(() -> new GameNotFoundException("Game not found with id: " + eventId));
+    }
+
+    /**
+     * Reads one page of an export. The page is not cached, so an export does not evict the games
+     * being polled.
+     *
+     * @param afterId The last id of the previous page, or 0 for the first page
+     * @return Up to a page of saved games, by id, or none after the last game
+     */
+    public List<GameResultResponse> getGameResultsAfter(long afterId) {
+        return gameStore.findAfter(afterId, exportPageSize).stream()
+            .map(this::createGameResultResponse)
+            .collect(Collectors.toList());
+    }
+
+    private List<String> validatePlayers(StartGameRequest request) {
+        List<String> playerNames = request.getPlayers().stream()
+            .map(PlayerDTO::getName)
+            .collect(Collectors.toList());
+        List<String> unregisteredPlayers = playerNames.stream()
+            .filter(name -> !registeredPlayers.contains(name))
+            .collect(Collectors.toList());
             
-        return createGameResultResponse(event);
+        if (!unregisteredPlayers.isEmpty()) {
+            log.warn("Unregistered players attempting to join: {}", unregisteredPlayers);
+            throw new UnregisteredPlayersException("Some players are not registered: " + unregisteredPlayers);
+        }
+        return playerNames;
     }
 
     private GameResultResponse createGameResultResponse(Event event) {
-        GameResultResponse response = new GameResultResponse();
-        response.setEventId(event.getId());
-        response.setPlayers(event.getPlayers().stream()
+        List<PlayerDTO> players = event.getPlayers().stream()
             .map(this::convertToDTO)
-            .collect(Collectors.toList()));
-        response.setWinner(event.getWinner().getName());
+            .collect(Collectors.toList());
+        return new GameResultResponse(event.getId(), players, event.getWinner().getName());
+    }
+
+    private BatchGameResultResponse createBatchGameResultResponse(GameBatch batch) {
+        BatchGameResultResponse response = new BatchGameResultResponse();
+        response.setGames(batch.getEvents().size());
+        response.setWins(batch.getWins());
+        response.setSplitPots(batch.getSplitPots());
+        Map<String, Long> winningHands = new LinkedHashMap<>();
+        batch.getWinningHands().forEach((handType, count) -> winningHands.put(handType.name(), count));
+        response.setWinningHands(winningHands);
+        response.setEventIds(toIdRanges(batch.getEvents()));
         return response;
     }
-}
\ No newline at end of file
+
+    /**
+     * @return The ids of the events as ranges of consecutive ids, in the order the events were saved
+     */
+    private List<EventIdRange> toIdRanges(List<Event> events) {
+        List<EventIdRange> ranges = new ArrayList<>();
+        int start = 0;
+        for (int i = 1; i <= events.size(); i++) {
+            if (i == events.size() || events.get(i).getId() != events.get(i - 1).getId() + 1) {
+                ranges.add(new EventIdRange(events.get(start).getId(), events.get(i - 1).getId()));
+                start = i;
+            }
+        }
+        return ranges;
+    }
+
+    private PlayerDTO convertToDTO(PlayerResult playerResult) {
+        PlayerDTO player = new PlayerDTO();
+        player.setName(playerResult.getName());
+        player.setHand(playerResult.getHand());
+        player.setWinner(playerResult.isWinner());
+        return player;
+    }
+}
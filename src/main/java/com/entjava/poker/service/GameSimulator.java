@@ -0,0 +1,174 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.concurrent.WorkerPools;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.deck.SeededShuffleSource;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.game.Dealer;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.hand.evaluator.HandStrength;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Plays games from the deal to the river and records them as {@link Event}s, ready to be saved.
+ *
+ * <p>Every game is dealt and ranked by a {@link Dealer}, from a seed of its own, so it can be
+ * replayed. The players' hands are described from their strengths rather than built as
+ * {@link com.entjava.poker.hand.Hand}s.</p>
+ *
+ * <p>Many games are split across a pool of worker threads. Each worker deals its games with its own
+ * dealer and keeps its own {@link GameBatch}.</p>
+ */
+@Component
+public class GameSimulator {
+
+    /**
+     * Each game also builds its {@link Event} and the text of every hand, so a few dozen games in a
+     * task already outweigh submitting it and merging its batch.
+     */
+    private static final int MIN_GAMES_PER_TASK = 64;
+
+    private final DeckBuilder deckBuilder;
+    private final HandIdentifier handIdentifier;
+    private final WinningHandCalculator winningHandCalculator;
+    private final ForkJoinPool workers;
+    private final int parallelism;
+
+    /**
+     * @param deckBuilder
+     * @param handIdentifier
+     * @param winningHandCalculator
+     * @param threads The number of worker threads, or 0 for one per processor
+     */
+    public GameSimulator(DeckBuilder deckBuilder,
+                         HandIdentifier handIdentifier,
+                         WinningHandCalculator winningHandCalculator,
+                         @Value("${poker.games.threads:0}") int threads) {
+        this.deckBuilder = deckBuilder;
+        this.handIdentifier = handIdentifier;
+        this.winningHandCalculator = winningHandCalculator;
+        this.workers = WorkerPools.namedPool("game", threads, false);
+        this.parallelism = workers.getParallelism();
+    }
+
+    /**
+     * @param playerNames The players, seated in order
+     * @return The played game
+     * @throws IllegalArgumentException if there are not 2 to 22 players, or a player is seated twice
+     */
+    public Event playGame(List<String> playerNames) {
+        checkPlayers(playerNames);
+        Dealer dealer = new Dealer(deckBuilder.buildDeck(), winningHandCalculator, playerNames.size());
+        return playGame(dealer, playerNames, ThreadLocalRandom.current().nextLong());
+    }
+
+    /**
+     * @param playerNames The players of every game, seated in order
+     * @param games The number of games to play
+     * @param seed The same seed, games and thread count always deal the same games
+     * @return The played games and their summary
+     * @throws IllegalArgumentException if there are not 2 to 22 players, or a player is seated twice
+     */
+    public GameBatch playGames(List<String> playerNames, int games, long seed) {
+        checkPlayers(playerNames);
+        int tasks = Math.max(1, Math.min(parallelism, games / MIN_GAMES_PER_TASK));
+        SplittableRandom seeds = new SplittableRandom(seed);
+        List<Callable<GameBatch>> gameTasks = new ArrayList<>(tasks);
+        for (int task = 0; task < tasks; task++) {
+            int taskGames = games / tasks + (task < games % tasks ? 1 : 0);
+            SplittableRandom random = seeds.split();
+            gameTasks.add(() -> playGames(playerNames, taskGames, random));
+        }
+
+        GameBatch batch = new GameBatch(games);
+        try {
+            // The tasks are added up in order, so the events keep the order of their seeds
+            for (Future<GameBatch> taskBatch : workers.invokeAll(gameTasks)) {
+                batch.add(taskBatch.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while playing games", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to play games", e.getCause());
+        }
+        return batch;
+    }
+
+    private GameBatch playGames(List<String> playerNames, int games, SplittableRandom random) {
+        GameBatch batch = new GameBatch(games);
+        Dealer dealer = new Dealer(deckBuilder.buildDeck(), winningHandCalculator, playerNames.size());
+        for (int i = 0; i < games; i++) {
+            Event event = playGame(dealer, playerNames, random.nextLong());
+            batch.record(event, HandStrength.handType(dealer.getWinningStrength()));
+        }
+        return batch;
+    }
+
+    /**
+     * A deck has cards for 22 players, and a player seated twice would be counted as one.
+     */
+    private static void checkPlayers(List<String> playerNames) {
+        if (playerNames.size() < Dealer.MIN_PLAYERS || playerNames.size() > Dealer.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A game seats " + Dealer.MIN_PLAYERS + " to " + Dealer.MAX_PLAYERS
+                    + " players, got " + playerNames.size());
+        }
+        if (new HashSet<>(playerNames).size() != playerNames.size()) {
+            throw new IllegalArgumentException("A player can only be seated once, got " + playerNames);
+        }
+    }
+
+    private Event playGame(Dealer dealer, List<String> playerNames, long seed) {
+        dealer.dealHand(new SeededShuffleSource(seed));
+
+        Event event = new Event();
+        event.setSeed(seed);
+        List<Card> communityCards = new ArrayList<>(Dealer.COMMUNITY_CARDS);
+        for (int card = 0; card < Dealer.COMMUNITY_CARDS; card++) {
+            communityCards.add(dealer.getCommunityCard(card));
+        }
+        event.setCommunityCards(communityCards);
+
+        for (int seat = 0; seat < playerNames.size(); seat++) {
+            List<Card> cards = new ArrayList<>(Dealer.PLAYER_CARDS);
+            cards.add(dealer.getPlayerCard(seat, 0));
+            cards.add(dealer.getPlayerCard(seat, 1));
+
+            PlayerResult result = new PlayerResult();
+            result.setName(playerNames.get(seat));
+            result.setHand(handIdentifier.describe(dealer.getStrength(seat), dealer.getCards(seat)));
+            result.setWinner(dealer.isWinner(seat));
+            result.setCards(cards);
+            result.setStrength(dealer.getStrength(seat));
+            result.setEvent(event);
+            event.getPlayers().add(result);
+
+            // The first winner seated
+            if (result.isWinner() && event.getWinner() == null) {
+                event.setWinner(result);
+            }
+        }
+        return event;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        workers.shutdownNow();
+    }
+
+}
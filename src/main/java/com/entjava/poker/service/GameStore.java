@@ -0,0 +1,44 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Where played games are kept, chosen with the <code>poker.games.store</code> property:
+ *
+ * <ul>
+ * <li><code>jpa</code> (default): the {@link JpaGameStore}, rows in the database</li>
+ * <li><code>hand-history</code>: the {@link HandHistoryGameStore}, binary records in an append-only
+ * log on the disk</li>
+ * </ul>
+ */
+public interface GameStore {
+
+    /**
+     * @param event A game played by the {@link GameSimulator}
+     * @return The game, with the id it is or will be saved with
+     */
+    Event save(Event event);
+
+    /**
+     * Saves the games together, giving each its id.
+     *
+     * @param events Games played by the {@link GameSimulator}
+     */
+    void saveAll(List<Event> events);
+
+    /**
+     * @param eventId
+     * @return The game with its players, if there is one with the id
+     */
+    Optional<Event> findById(long eventId);
+
+    /**
+     * @param afterId Only games with a greater id are found, 0 to find from the first
+     * @param limit The most games found
+     * @return The games with their players, by id
+     */
+    List<Event> findAfter(long afterId, int limit);
+}
@@ -0,0 +1,36 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.history.HandHistoryLog;
+import com.entjava.poker.repository.EventRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * Chooses the {@link GameStore} with the <code>poker.games.store</code> property.
+ */
+@Configuration
+public class GameStoreConfiguration {
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.games.store", havingValue = "jpa", matchIfMissing = true)
+    public GameStore jpaGameStore(EventRepository eventRepository, EventWriter eventWriter,
+                                  PlatformTransactionManager transactionManager) {
+        return new JpaGameStore(eventRepository, eventWriter, transactionManager);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "poker.games.store", havingValue = "hand-history")
+    public GameStore handHistoryGameStore(HandIdentifier handIdentifier,
+                                          @Value("${poker.history.directory}") String directory,
+                                          @Value("${poker.history.segment-records:262144}") int segmentRecords) throws IOException {
+        return new HandHistoryGameStore(new HandHistoryLog(Paths.get(directory), segmentRecords), handIdentifier);
+    }
+
+}
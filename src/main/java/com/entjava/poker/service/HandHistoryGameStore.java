@@ -0,0 +1,140 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.history.HandHistoryLog;
+import com.entjava.poker.history.HandRecord;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the games in a {@link HandHistoryLog} instead of the database, as one fixed-size binary
+ * record each. A record holds the players' ids, cards and hand strengths rather than the text of
+ * their hands, which is worked out again from the cards when a game is read. The text is described
+ * from the strength kept in the record, so reading a game never builds a
+ * {@link com.entjava.poker.hand.Hand}.
+ *
+ * <p>A game is given its id when it is appended, and is forced to the disk within
+ * <code>poker.history.fsync-interval-ms</code>.</p>
+ */
+public class HandHistoryGameStore implements GameStore {
+
+    private final HandHistoryLog handHistoryLog;
+    private final HandIdentifier handIdentifier;
+
+    public HandHistoryGameStore(HandHistoryLog handHistoryLog, HandIdentifier handIdentifier) {
+        this.handHistoryLog = handHistoryLog;
+        this.handIdentifier = handIdentifier;
+    }
+
+    /**
+     * @throws IllegalArgumentException if the game has more players than a record holds
+     */
+    @Override
+    public Event save(Event event) {
+        event.setId(handHistoryLog.append(toRecord(event)).getEventId());
+        return event;
+    }
+
+    @Override
+    public void saveAll(List<Event> events) {
+        List<HandRecord> records = handHistoryLog.appendAll(events.stream()
+                .map(this::toRecord)
+                .collect(Collectors.toList()));
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId(records.get(i).getEventId());
+        }
+    }
+
+    @Override
+    public Optional<Event> findById(long eventId) {
+        return handHistoryLog.find(eventId).map(this::toEvent);
+    }
+
+    @Override
+    public List<Event> findAfter(long afterId, int limit) {
+        return handHistoryLog.readAfter(afterId, limit).stream()
+                .map(this::toEvent)
+                .collect(Collectors.toList());
+    }
+
+    @Scheduled(fixedDelayString = "${poker.history.fsync-interval-ms:1000}")
+    public void force() {
+        handHistoryLog.force();
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        handHistoryLog.close();
+    }
+
+    private HandRecord toRecord(Event event) {
+        if (event.getCommunityCards() == null) {
+            throw new IllegalArgumentException("Only games dealt by the GameSimulator have their cards to keep");
+        }
+        List<PlayerResult> players = event.getPlayers();
+        int[] playerIds = new int[players.size()];
+        byte[] playerCards = new byte[players.size() * 2];
+        int[] strengths = new int[players.size()];
+        int winnerMask = 0;
+        for (int seat = 0; seat < players.size(); seat++) {
+            PlayerResult player = players.get(seat);
+            playerIds[seat] = handHistoryLog.playerId(player.getName());
+            playerCards[seat * 2] = (byte) player.getCards().get(0).getCode();
+            playerCards[seat * 2 + 1] = (byte) player.getCards().get(1).getCode();
+            strengths[seat] = player.getStrength();
+            if (player.isWinner()) {
+                winnerMask |= 1 << seat;
+            }
+        }
+
+        byte[] communityCards = new byte[HandRecord.COMMUNITY_CARDS];
+        for (int card = 0; card < communityCards.length; card++) {
+            communityCards[card] = (byte) event.getCommunityCards().get(card).getCode();
+        }
+        return new HandRecord(0, event.getSeed(), playerIds, playerCards, communityCards, strengths, winnerMask);
+    }
+
+    private Event toEvent(HandRecord record) {
+        Event event = new Event();
+        event.setId(record.getEventId());
+        event.setSeed(record.getSeed());
+        List<Card> communityCards = new ArrayList<>(HandRecord.COMMUNITY_CARDS);
+        for (int card = 0; card < HandRecord.COMMUNITY_CARDS; card++) {
+            communityCards.add(Card.fromCode(record.getCommunityCard(card)));
+        }
+        event.setCommunityCards(communityCards);
+        long board = CardMasks.of(communityCards);
+
+        for (int seat = 0; seat < record.getPlayerCount(); seat++) {
+            List<Card> cards = new ArrayList<>(2);
+            cards.add(Card.fromCode(record.getPlayerCard(seat, 0)));
+            cards.add(Card.fromCode(record.getPlayerCard(seat, 1)));
+
+            PlayerResult player = new PlayerResult();
+            player.setName(handHistoryLog.playerName(record.getPlayerId(seat)));
+            player.setCards(cards);
+            player.setStrength(record.getStrength(seat));
+            player.setHand(handIdentifier.describe(record.getStrength(seat), board | CardMasks.of(cards)));
+            player.setWinner(record.isWinner(seat));
+            player.setEvent(event);
+            event.getPlayers().add(player);
+
+            // The first winner seated, like a game that was just played
+            if (player.isWinner() && event.getWinner() == null) {
+                event.setWinner(player);
+            }
+        }
+        return event;
+    }
+
+}
@@ -0,0 +1,70 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.repository.EventRepository;
+import org.hibernate.Hibernate;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Keeps the games as rows in the database. Single games are saved by the {@link EventWriter}, and
+ * every other call runs in a short transaction of its own, so no transaction is held while a game
+ * is played or a response is written.
+ */
+public class JpaGameStore implements GameStore {
+
+    private final EventRepository eventRepository;
+    private final EventWriter eventWriter;
+    private final TransactionTemplate transactionTemplate;
+
+    public JpaGameStore(EventRepository eventRepository, EventWriter eventWriter,
+                        PlatformTransactionManager transactionManager) {
+        this.eventRepository = eventRepository;
+        this.eventWriter = eventWriter;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Event save(Event event) {
+        return eventWriter.write(event);
+    }
+
+    @Override
+    public void saveAll(List<Event> events) {
+        transactionTemplate.execute(status -> eventRepository.saveAll(events));
+    }
+
+    @Override
+    public Optional<Event> findById(long eventId) {
+        // With write-behind, a game is answered before it is in the database
+        Optional<Event> unsavedEvent = eventWriter.findUnsaved(eventId);
+        if (unsavedEvent.isPresent()) {
+            return unsavedEvent;
+        }
+        return transactionTemplate.execute(status -> eventRepository.findById(eventId)
+                .map(event -> {
+                    Hibernate.initialize(event.getPlayers());
+                    return event;
+                }));
+    }
+
+    /**
+     * Finds the ids first and then the games up to the last of them, as a fetch join cannot be
+     * limited by the database.
+     */
+    @Override
+    public List<Event> findAfter(long afterId, int limit) {
+        return transactionTemplate.execute(status -> {
+            List<Long> ids = eventRepository.findIdsAfter(afterId, PageRequest.of(0, limit));
+            if (ids.isEmpty()) {
+                return Collections.<Event>emptyList();
+            }
+            return eventRepository.findWithPlayersBetween(afterId, ids.get(ids.size() - 1));
+        });
+    }
+}
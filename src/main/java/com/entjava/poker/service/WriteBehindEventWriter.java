@@ -0,0 +1,249 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.exception.WriteBehindQueueFullException;
+import com.entjava.poker.repository.EventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Collectors;
+
+/**
+ * Answers with a game as soon as it has its ids, and saves it later on a background writer thread.
+ *
+ * <p>Games wait in a bounded queue. The writer takes up to a batch of them at a time and inserts
+ * them in one transaction. When the queue is full, a game waits for room for a while and then fails
+ * with a {@link WriteBehindQueueFullException}, so a slow database slows the requests down rather
+ * than filling the memory with games. Until it is saved, a game is still found with
+ * {@link #findUnsaved(long)}.</p>
+ *
+ * <p>When a batch fails, its games are retried one at a time so that one bad game does not lose the
+ * others. A game that still fails is dropped from the {@link GameResultCache}, so it is no longer
+ * answered as if it were saved. On shutdown, the games still in the queue are saved before the
+ * writer stops.</p>
+ *
+ * <p>Metrics: <code>poker.games.write.queue</code> (games waiting for the writer),
+ * <code>poker.games.write.lag</code> (from the game being written to it being saved) and
+ * <code>poker.games.write.failures</code> (games that could not be saved).</p>
+ */
+public class WriteBehindEventWriter implements EventWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(WriteBehindEventWriter.class);
+
+    /**
+     * How often an idle writer checks for shutdown.
+     */
+    private static final long POLL_MILLIS = 100;
+
+    private final EventRepository eventRepository;
+    private final GameResultCache gameResultCache;
+    private final TransactionTemplate transactionTemplate;
+    private final BlockingQueue<QueuedEvent> queue;
+    private final Map<Long, Event> unsavedEvents = new ConcurrentHashMap<>();
+    private final int batchSize;
+    private final long offerTimeoutMillis;
+    private final long shutdownTimeoutMillis;
+    private final Timer writeLag;
+    private final Counter writeFailures;
+    private final Thread writer;
+
+    /**
+     * Games are written under the read lock, and the writer is shut down under the write lock, so
+     * a game is never queued after the writer has saved the queue for the last time.
+     */
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private volatile boolean isShutDown;
+
+    /**
+     * @param eventRepository
+     * @param gameResultCache
+     * @param transactionManager
+     * @param meterRegistry
+     * @param capacity The most games waiting for the writer
+     * @param batchSize The most games saved in one transaction
+     * @param offerTimeoutMillis How long a game waits for room in a full queue
+     * @param shutdownTimeoutMillis How long shutting down waits for the queue to be saved
+     */
+    public WriteBehindEventWriter(EventRepository eventRepository,
+                                  GameResultCache gameResultCache,
+                                  PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  int capacity,
+                                  int batchSize,
+                                  long offerTimeoutMillis,
+                                  long shutdownTimeoutMillis) {
+        if (capacity < 1 || batchSize < 1) {
+            throw new IllegalArgumentException("The queue and its batches must hold a game, got " + capacity + " and " + batchSize);
+        }
+        this.eventRepository = eventRepository;
+        this.gameResultCache = gameResultCache;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.offerTimeoutMillis = offerTimeoutMillis;
+        this.shutdownTimeoutMillis = shutdownTimeoutMillis;
+
+        Gauge.builder("poker.games.write.queue", queue, Collection::size)
+                .description("Games waiting to be saved")
+                .register(meterRegistry);
+        this.writeLag = Timer.builder("poker.games.write.lag")
+                .description("Time from a game being written to it being saved")
+                .register(meterRegistry);
+        this.writeFailures = Counter.builder("poker.games.write.failures")
+                .description("Games that could not be saved")
+                .register(meterRegistry);
+
+        this.writer = new Thread(this::saveUntilShutDown, "game-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    /**
+     * @throws WriteBehindQueueFullException if the queue stayed full for the offer timeout
+     * @throws IllegalStateException if the writer is shut down
+     */
+    @Override
+    public Event write(Event event) {
+        boolean isQueued;
+        shutdownLock.readLock().lock();
+        try {
+            if (isShutDown) {
+                throw new IllegalStateException("Games are no longer saved, the writer is shut down");
+            }
+            eventRepository.allocateIds(event);
+            unsavedEvents.put(event.getId(), event);
+            isQueued = queue.offer(new QueuedEvent(event), offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            isQueued = false;
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        if (!isQueued) {
+            unsavedEvents.remove(event.getId());
+            throw new WriteBehindQueueFullException("Too many games are waiting to be saved, try again later");
+        }
+        return event;
+    }
+
+    @Override
+    public Optional<Event> findUnsaved(long eventId) {
+        return Optional.ofNullable(unsavedEvents.get(eventId));
+    }
+
+    /**
+     * Stops taking games and saves those still in the queue.
+     */
+    @PreDestroy
+    public void shutdown() {
+        // Waits for the games being queued, for at most the offer timeout
+        shutdownLock.writeLock().lock();
+        try {
+            if (isShutDown) {
+                return;
+            }
+            isShutDown = true;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        try {
+            writer.join(shutdownTimeoutMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+            log.error("{} games were not saved within {} ms of shutting down", unsavedEvents.size(), shutdownTimeoutMillis);
+            return;
+        }
+
+        // Games the writer did not take before it saw the shutdown
+        List<QueuedEvent> lateEvents = new ArrayList<>();
+        queue.drainTo(lateEvents);
+        if (!lateEvents.isEmpty()) {
+            save(lateEvents);
+        }
+    }
+
+    private void saveUntilShutDown() {
+        List<QueuedEvent> batch = new ArrayList<>(batchSize);
+        while (!isShutDown || !queue.isEmpty()) {
+            try {
+                QueuedEvent first = queue.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+            } catch (InterruptedException e) {
+                return;
+            }
+            queue.drainTo(batch, batchSize - 1);
+            save(batch);
+            batch.clear();
+        }
+    }
+
+    private void save(List<QueuedEvent> batch) {
+        try {
+            insert(batch);
+        } catch (RuntimeException e) {
+            log.warn("Failed to save {} games at once, saving them one at a time", batch.size(), e);
+            for (QueuedEvent queuedEvent : batch) {
+                try {
+                    insert(Collections.singletonList(queuedEvent));
+                } catch (RuntimeException gameException) {
+                    writeFailures.increment();
+                    unsavedEvents.remove(queuedEvent.event.getId());
+                    gameResultCache.evictUnsaved(queuedEvent.event.getId());
+                    log.error("Failed to save game {}", queuedEvent.event.getId(), gameException);
+                }
+            }
+        }
+    }
+
+    private void insert(List<QueuedEvent> batch) {
+        List<Event> events = batch.stream()
+                .map(queuedEvent -> queuedEvent.event)
+                .collect(Collectors.toList());
+        transactionTemplate.execute(status -> {
+            eventRepository.insertAll(events);
+            return null;
+        });
+
+        long savedNanos = System.nanoTime();
+        for (QueuedEvent queuedEvent : batch) {
+            writeLag.record(savedNanos - queuedEvent.writtenNanos, TimeUnit.NANOSECONDS);
+            unsavedEvents.remove(queuedEvent.event.getId());
+        }
+    }
+
+    private static class QueuedEvent {
+
+        private final Event event;
+        private final long writtenNanos = System.nanoTime();
+
+        QueuedEvent(Event event) {
+            this.event = event;
+        }
+    }
+
+}
@@ -0,0 +1,136 @@
+package com.entjava.poker.simulation;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.deck.SeededShuffleSource;
+import com.entjava.poker.game.Dealer;
+import com.entjava.poker.hand.HandType;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.hand.evaluator.HandStrength;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Plays complete hands of Texas Hold'em as fast as it can, without Spring, a page or the console.
+ *
+ * <p>Every hand is dealt and ranked by a {@link Dealer}, so no {@link com.entjava.poker.hand.Hand}
+ * is ever built.</p>
+ *
+ * <p>The hands are split across worker threads. Each worker has its own dealer, shuffle source and
+ * {@link SimulationReport}, so a run is reproducible from its seed and thread count.</p>
+ */
+public class SimulationEngine {
+
+    private final DeckBuilder deckBuilder;
+    private final WinningHandCalculator winningHandCalculator;
+
+    public SimulationEngine(DeckBuilder deckBuilder,
+                            WinningHandCalculator winningHandCalculator) {
+        this.deckBuilder = deckBuilder;
+        this.winningHandCalculator = winningHandCalculator;
+    }
+
+    /**
+     * @param players The number of players at the table, from 2 to 22
+     * @param hands The number of hands to play
+     * @param threads The number of worker threads
+     * @param seed The same seed, hands and threads always give the same outcome
+     * @return The speed of the run and the outcome of the hands
+     * @throws IllegalArgumentException if the players do not fit a deck, or if there are no threads
+     */
+    public SimulationReport run(int players, long hands, int threads, long seed) {
+        if (players < Dealer.MIN_PLAYERS || players > Dealer.MAX_PLAYERS) {
+            throw new IllegalArgumentException("A table seats " + Dealer.MIN_PLAYERS + " to " + Dealer.MAX_PLAYERS + " players, got " + players);
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("A simulation needs at least one thread, got " + threads);
+        }
+
+        SeededShuffleSource seeds = new SeededShuffleSource(seed);
+        List<SimulationWorker> workers = new ArrayList<>(threads);
+        for (int worker = 0; worker < threads; worker++) {
+            long workerHands = hands / threads + (worker < hands % threads ? 1 : 0);
+            workers.add(new SimulationWorker(players, workerHands, seeds.split()));
+        }
+
+        SimulationReport report = new SimulationReport(players);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        long start = System.nanoTime();
+        try {
+            for (Future<SimulationReport> workerReport : executor.invokeAll(workers)) {
+                report.add(workerReport.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while simulating", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to simulate", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        report.setElapsedNanos(System.nanoTime() - start);
+        return report;
+    }
+
+    private class SimulationWorker implements Callable<SimulationReport> {
+
+        private final int players;
+        private final long hands;
+        private final SeededShuffleSource shuffleSource;
+
+        private final Dealer dealer;
+        private final HandType[] handTypes;
+
+        SimulationWorker(int players, long hands, SeededShuffleSource shuffleSource) {
+            this.players = players;
+            this.hands = hands;
+            this.shuffleSource = shuffleSource;
+            this.dealer = new Dealer(deckBuilder.buildDeck(), winningHandCalculator, players);
+            this.handTypes = new HandType[players];
+        }
+
+        @Override
+        public SimulationReport call() {
+            SimulationReport report = new SimulationReport(players);
+            for (long hand = 0; hand < hands; hand++) {
+                playHand(report);
+            }
+            return report;
+        }
+
+        private void playHand(SimulationReport report) {
+            dealer.dealHand(shuffleSource);
+
+            for (int seat = 0; seat < players; seat++) {
+                handTypes[seat] = HandStrength.handType(dealer.getStrength(seat));
+            }
+            int winningStrength = dealer.getWinningStrength();
+            report.record(dealer.getStrengths(), winningStrength, HandStrength.handType(winningStrength), handTypes);
+        }
+    }
+
+    /**
+     * Runs a simulation from the command line and prints its report.
+     *
+     * @param args The number of players (default 3), hands (default 1,000,000), threads (default
+     *             one per processor) and the seed (default random)
+     */
+    public static void main(String[] args) {
+        int players = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        long hands = args.length > 1 ? Long.parseLong(args[1]) : 1_000_000L;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : System.nanoTime();
+
+        SimulationEngine engine = new SimulationEngine(new DeckBuilder(), new WinningHandCalculator());
+        SimulationReport report = engine.run(players, hands, threads, seed);
+
+        System.out.println("Seed " + seed);
+        System.out.print(report);
+    }
+
+}
@@ -0,0 +1,164 @@
+package com.entjava.poker.simulation;
+
+import com.entjava.poker.hand.HandType;
+
+import java.util.Locale;
+
+/**
+ * The outcome of a {@link SimulationEngine} run: how fast the hands were played and how they ended.
+ *
+ * <p>Every worker fills its own report, and the reports are added up at the end.</p>
+ */
+public class SimulationReport {
+
+    private static final HandType[] HAND_TYPES = HandType.values();
+
+    private final int players;
+    private long hands;
+    private long elapsedNanos;
+
+    private final long[] winsBySeat;
+    private final long[] splitsBySeat;
+    private long splitPots;
+
+    private final long[] winningHandTypes = new long[HAND_TYPES.length];
+    private final long[] handTypes = new long[HAND_TYPES.length];
+
+    SimulationReport(int players) {
+        this.players = players;
+        this.winsBySeat = new long[players];
+        this.splitsBySeat = new long[players];
+    }
+
+    /**
+     * Records one hand.
+     *
+     * @param strengths The strength of every player's hand
+     * @param winningStrength The strength of the best hand
+     * @param winningHandType The type of the best hand
+     * @param playerHandTypes The type of every player's hand
+     */
+    void record(int[] strengths, int winningStrength, HandType winningHandType, HandType[] playerHandTypes) {
+        hands++;
+        winningHandTypes[winningHandType.ordinal()]++;
+
+        int winners = 0;
+        for (int seat = 0; seat < players; seat++) {
+            handTypes[playerHandTypes[seat].ordinal()]++;
+            if (strengths[seat] == winningStrength) {
+                winners++;
+            }
+        }
+        for (int seat = 0; seat < players; seat++) {
+            if (strengths[seat] == winningStrength) {
+                if (winners == 1) {
+                    winsBySeat[seat]++;
+                } else {
+                    splitsBySeat[seat]++;
+                }
+            }
+        }
+        if (winners > 1) {
+            splitPots++;
+        }
+    }
+
+    void add(SimulationReport other) {
+        hands += other.hands;
+        splitPots += other.splitPots;
+        for (int seat = 0; seat < players; seat++) {
+            winsBySeat[seat] += other.winsBySeat[seat];
+            splitsBySeat[seat] += other.splitsBySeat[seat];
+        }
+        for (int handType = 0; handType < HAND_TYPES.length; handType++) {
+            winningHandTypes[handType] += other.winningHandTypes[handType];
+            handTypes[handType] += other.handTypes[handType];
+        }
+    }
+
+    void setElapsedNanos(long elapsedNanos) {
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    public int getPlayers() {
+        return players;
+    }
+
+    public long getHands() {
+        return hands;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    public double getHandsPerSecond() {
+        return elapsedNanos == 0 ? 0 : hands * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @param seat
+     * @return The hands won alone by the player in that seat, counting from 0
+     */
+    public long getWins(int seat) {
+        return winsBySeat[seat];
+    }
+
+    /**
+     * @param seat
+     * @return The hands whose pot the player in that seat split with others
+     */
+    public long getSplits(int seat) {
+        return splitsBySeat[seat];
+    }
+
+    /**
+     * @return The hands won by more than one player
+     */
+    public long getSplitPots() {
+        return splitPots;
+    }
+
+    /**
+     * @param handType
+     * @return The hands won with that type of hand
+     */
+    public long getWinningHandTypeCount(HandType handType) {
+        return winningHandTypes[handType.ordinal()];
+    }
+
+    /**
+     * @param handType
+     * @return How often a player ended a hand with that type of hand, over all players
+     */
+    public long getHandTypeCount(HandType handType) {
+        return handTypes[handType.ordinal()];
+    }
+
+    /**
+     * @return A summary for the console, e.g. for {@link SimulationEngine#main(String[])}
+     */
+    @Override
+    public String toString() {
+        StringBuilder report = new StringBuilder();
+        report.append(String.format(Locale.ROOT, "%,d hands of %d players in %.2f s: %,.0f hands/s%n",
+                hands, players, elapsedNanos / 1e9, getHandsPerSecond()));
+        for (int seat = 0; seat < players; seat++) {
+            report.append(String.format(Locale.ROOT, "Seat %d: won %.2f%%, split %.2f%%%n",
+                    seat + 1, percent(winsBySeat[seat], hands), percent(splitsBySeat[seat], hands)));
+        }
+        report.append(String.format(Locale.ROOT, "Split pots: %.2f%%%n", percent(splitPots, hands)));
+        report.append(String.format(Locale.ROOT, "%-16s %10s %10s%n", "", "Winning", "All hands"));
+        for (HandType handType : HAND_TYPES) {
+            report.append(String.format(Locale.ROOT, "%-16s %9.4f%% %9.4f%%%n", handType,
+                    percent(winningHandTypes[handType.ordinal()], hands),
+                    percent(handTypes[handType.ordinal()], hands * players)));
+        }
+        return report.toString();
+    }
+
+    private static double percent(long count, long total) {
+        return total == 0 ? 0 : count * 100.0 / total;
+    }
+
+}
@@ -26,6 +26,43 @@ public class CardTest {
 		assertNotEquals(card1, card2);
 	}
 
+	@Test
+	public void of_returnsSharedInstance() {
+		assertSame(Card.of(CardRank.QUEEN, CardSuit.CLUBS), Card.of(CardRank.QUEEN, CardSuit.CLUBS));
+	}
+
+	@Test
+	public void fromCode_returnsCardWithThatCode() {
+		for (int code = 0; code < Card.DECK_SIZE; code++) {
+			Card card = Card.fromCode(code);
+
+			assertEquals(code, card.getCode());
+			assertSame(card, Card.of(card.getRank(), card.getSuit()));
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void fromCode_whenOutOfRange_throwsException() {
+		Card.fromCode(Card.DECK_SIZE);
+	}
+
+	@Test
+	public void getMask_isUniquePerCard() {
+		long allMasks = 0L;
+		for (int code = 0; code < Card.DECK_SIZE; code++) {
+			allMasks |= Card.fromCode(code).getMask();
+		}
+
+		assertEquals(Card.DECK_SIZE, Long.bitCount(allMasks));
+	}
+
+	@Test
+	public void hashCode_matchesSharedInstance() {
+		Card card = new Card(CardRank.TWO, CardSuit.HEARTS);
+
+		assertEquals(Card.of(CardRank.TWO, CardSuit.HEARTS).hashCode(), card.hashCode());
+	}
+
 	@Test
 	public void styleClass_whenDiamondsOrHearts_returnsRedClass() {
 		Card card1 = new Card(CardRank.ACE, CardSuit.DIAMONDS);
@@ -68,4 +105,17 @@ public class CardTest {
 		cards.stream().forEach(c -> System.out.print(c.getRank() + " " + c.getSuit()+ " "));
 	}
 
+	@Test
+	public void parse_readsRankAndSuitLetter() {
+		assertSame(Card.of(CardRank.ACE, CardSuit.SPADES), Card.parse("As"));
+		assertSame(Card.of(CardRank.TEN, CardSuit.HEARTS), Card.parse("10h"));
+		assertSame(Card.of(CardRank.TEN, CardSuit.DIAMONDS), Card.parse("td"));
+		assertSame(Card.of(CardRank.TWO, CardSuit.CLUBS), Card.parse(" 2C "));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parse_rejectsUnknownSuit() {
+		Card.parse("Ax");
+	}
+
 }
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.entjava.poker.concurrent;
+
+import org.junit.Test;
+
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class WorkerPoolsTest {
+
+    @Test
+    public void namedPool_namesItsThreadsAfterThePrefix() {
+        ForkJoinPool pool = WorkerPools.namedPool("worker", 2, false);
+        try {
+            String name = pool.submit(() -> Thread.currentThread().getName()).join();
+
+            assertTrue(name, name.matches("worker-[12]"));
+            assertEquals(2, pool.getParallelism());
+            assertFalse(pool.getAsyncMode());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void namedPool_withNoThreads_hasOnePerProcessor() {
+        ForkJoinPool pool = WorkerPools.namedPool("worker", 0, true);
+        try {
+            assertEquals(Runtime.getRuntime().availableProcessors(), pool.getParallelism());
+            assertTrue(pool.getAsyncMode());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+}
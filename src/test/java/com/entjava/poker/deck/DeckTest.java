@@ -6,9 +6,15 @@ import com.entjava.poker.card.CardSuit;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 public class DeckTest {
 
@@ -33,6 +39,15 @@ public class DeckTest {
 		assertEquals(1, deck.size());
 	}
 
+	@Test
+	public void addCard_ignoresCardAlreadyInDeck() {
+		deck.addCard(Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+		deck.addCard(Card.of(CardRank.ACE, CardSuit.HEARTS));
+
+		assertEquals(1, deck.size());
+	}
+
 	@Test
 	public void shuffle_returnsShuffledDeckOfEqualSize() {
 		Card aceHearts = new Card(CardRank.ACE, CardSuit.HEARTS);
@@ -55,6 +70,90 @@ public class DeckTest {
 		Card actualRemovedTopCard = deck.removeFromTop();
 
 		assertEquals(expectedTopCard, actualRemovedTopCard);
+		assertEquals(1, deck.size());
+	}
+
+	@Test(expected = RuntimeException.class)
+	public void removeFromTop_throwsWhenEmpty() {
+		deck.removeFromTop();
+	}
+
+	@Test
+	public void shuffle_onlyShufflesRemainingCards() {
+		Deck fullDeck = new DeckBuilder().buildDeck();
+		Card topCard = fullDeck.removeFromTop();
+
+		fullDeck.shuffle();
+
+		Set<Card> remainingCards = new HashSet<>();
+		while (fullDeck.size() > 0) {
+			remainingCards.add(fullDeck.removeFromTop());
+		}
+		assertEquals(51, remainingCards.size());
+		assertFalse(remainingCards.contains(topCard));
+	}
+
+	@Test
+	public void shuffle_sameSeedGivesSameOrder() {
+		assertEquals(dealAll(shuffled(42L)), dealAll(shuffled(42L)));
+	}
+
+	@Test
+	public void shuffleLazily_dealsSameCardsAsFullShuffle() {
+		Deck lazyDeck = new DeckBuilder().buildDeck();
+		lazyDeck.shuffleLazily(new SeededShuffleSource(42L));
+
+		assertEquals(dealAll(shuffled(42L)), dealAll(lazyDeck));
+	}
+
+	@Test
+	public void shuffleLazily_onlyDrawsForDealtCards() {
+		Deck lazyDeck = new DeckBuilder().buildDeck();
+		int[] draws = new int[1];
+		lazyDeck.shuffleLazily(bound -> {
+			draws[0]++;
+			return 0;
+		});
+
+		for (int i = 0; i < 9; i++) {
+			lazyDeck.removeFromTop();
+		}
+
+		assertEquals(9, draws[0]);
+	}
+
+	@Test
+	public void reset_putsDealtCardsBack() {
+		Deck fullDeck = new DeckBuilder().buildDeck();
+		fullDeck.shuffle();
+		Set<Card> dealtCards = new HashSet<>();
+		for (int i = 0; i < 10; i++) {
+			dealtCards.add(fullDeck.removeFromTop());
+		}
+
+		fullDeck.reset();
+		fullDeck.shuffle();
+
+		Set<Card> allCards = new HashSet<>();
+		while (fullDeck.size() > 0) {
+			allCards.add(fullDeck.removeFromTop());
+		}
+		assertEquals(52, allCards.size());
+		assertTrue(allCards.containsAll(dealtCards));
+	}
+
+	private Deck shuffled(long seed) {
+		Deck shuffledDeck = new DeckBuilder().buildDeck();
+		shuffledDeck.shuffle(new SeededShuffleSource(seed));
+		return shuffledDeck;
+	}
+
+	private List<Card> dealAll(Deck deckToDeal) {
+		List<Card> dealtCards = new ArrayList<>();
+		while (deckToDeal.size() > 0) {
+			dealtCards.add(deckToDeal.removeFromTop());
+		}
+		return dealtCards;
 	}
 
 }
\ No newline at end of file
@@ -0,0 +1,195 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.game.Game;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+
+public class EquityCalculatorTest {
+
+    private EquityCalculator equityCalculator = new EquityCalculator(new WinningHandCalculator(), 2);
+
+    @After
+    public void tearDown() {
+        equityCalculator.shutdown();
+    }
+
+    @Test
+    public void calculate_acesAgainstKingsPreflop() {
+        EquityResult result = equityCalculator.calculateForHoleCards(
+                Arrays.asList(cards("As", "Ah"), cards("Kd", "Kc")), cards(), cards(), 200_000, 42L);
+
+        assertEquals(200_000, result.getTrials());
+        assertEquals(0.81, result.getPlayers().get(0).getEquity(), 0.01);
+        assertEquals(0.19, result.getPlayers().get(1).getEquity(), 0.01);
+    }
+
+    @Test
+    public void calculate_onTheRiverTheWinnerAlwaysWins() {
+        EquityResult result = equityCalculator.calculateForHoleCards(
+                Arrays.asList(cards("As", "Ah"), cards("Kd", "Kc")), cards("Ks", "7h", "5c", "3d", "2s"), cards(), 100, 42L);
+
+        assertEquals(100, result.getPlayers().get(1).getWins());
+        assertEquals(100, result.getPlayers().get(0).getLosses());
+        assertEquals(1.0, result.getPlayers().get(1).getEquity(), 0.0);
+    }
+
+    @Test
+    public void calculate_splitPotCountsAsHalfAWin() {
+        EquityResult result = equityCalculator.calculateForHoleCards(
+                Arrays.asList(cards("2s", "3h"), cards("2d", "3c")), cards("As", "Kh", "Qc", "Jd", "10s"), cards(), 10, 42L);
+
+        assertEquals(10, result.getPlayers().get(0).getTies());
+        assertEquals(0.5, result.getPlayers().get(0).getEquity(), 0.0);
+        assertEquals(0.5, result.getPlayers().get(1).getEquity(), 0.0);
+    }
+
+    @Test
+    public void calculate_sameSeedGivesSameResult() {
+        List<List<Card>> holeCards = Arrays.asList(cards("As", "Kh"), cards("Qd", "Qc"), cards("7h", "8h"));
+
+        EquityResult first = equityCalculator.calculateForHoleCards(holeCards, cards("2h", "9h", "Qs"), cards(), 50_000, 7L);
+        EquityResult second = equityCalculator.calculateForHoleCards(holeCards, cards("2h", "9h", "Qs"), cards(), 50_000, 7L);
+
+        for (int player = 0; player < holeCards.size(); player++) {
+            PlayerEquity firstEquity = first.getPlayers().get(player);
+            PlayerEquity secondEquity = second.getPlayers().get(player);
+            assertEquals(firstEquity.getWins(), secondEquity.getWins());
+            assertEquals(firstEquity.getTies(), secondEquity.getTies());
+            assertEquals(50_000, firstEquity.getWins() + firstEquity.getTies() + firstEquity.getLosses());
+        }
+    }
+
+    @Test
+    public void calculate_forGamePlayers_sumsToOne() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        game.nextAction();
+
+        EquityResult result = equityCalculator.calculate(game.getPlayers(), game.getCommunityCards(), cards(), 20_000);
+
+        double totalEquity = result.getPlayers().stream().mapToDouble(PlayerEquity::getEquity).sum();
+        assertEquals(game.getPlayers().size(), result.getPlayers().size());
+        assertEquals(1.0, totalEquity, 1e-9);
+    }
+
+    @Test
+    public void calculateExactly_acesAgainstKingsPreflop() {
+        EquityResult result = equityCalculator.calculateExactlyForHoleCards(
+                Arrays.asList(cards("As", "Ah"), cards("Kd", "Kc")), cards(), cards());
+
+        PlayerEquity aces = result.getPlayers().get(0);
+        PlayerEquity kings = result.getPlayers().get(1);
+        assertEquals(1_712_304, result.getTrials());
+        assertEquals(aces.getWins(), kings.getLosses());
+        assertEquals(aces.getTies(), kings.getTies());
+        assertEquals(1_388_072, aces.getWins());
+        assertEquals(6_538, aces.getTies());
+    }
+
+    @Test
+    public void calculateExactly_countsEveryRiverCard() {
+        EquityResult result = equityCalculator.calculateExactlyForHoleCards(
+                Arrays.asList(cards("As", "Ah"), cards("Kd", "Kc")), cards("Ks", "7h", "5c", "3d"), cards("2c"));
+
+        // 43 river cards are left. Only the two other Aces save the aces.
+        assertEquals(43, result.getTrials());
+        assertEquals(2, result.getPlayers().get(0).getWins());
+        assertEquals(41, result.getPlayers().get(1).getWins());
+    }
+
+    @Test
+    public void calculateExactly_isDeterministic() {
+        List<List<Card>> holeCards = Arrays.asList(cards("As", "Kh"), cards("Qd", "Qc"), cards("7h", "8h"));
+
+        EquityResult first = equityCalculator.calculateExactlyForHoleCards(holeCards, cards("2h", "9h", "Qs"), cards());
+        EquityResult second = equityCalculator.calculateExactlyForHoleCards(holeCards, cards("2h", "9h", "Qs"), cards());
+
+        assertEquals(903, first.getTrials());
+        for (int player = 0; player < holeCards.size(); player++) {
+            assertEquals(first.getPlayers().get(player).getWins(), second.getPlayers().get(player).getWins());
+            assertEquals(first.getPlayers().get(player).getEquity(), second.getPlayers().get(player).getEquity(), 0.0);
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculate_rejectsCardsUsedTwice() {
+        equityCalculator.calculateForHoleCards(
+                Arrays.asList(cards("As", "Ah"), cards("As", "Kc")), cards(), cards(), 1000, 42L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculate_rejectsDeadCardOnTheBoard() {
+        equityCalculator.calculateForHoleCards(
+                Collections.singletonList(cards("As", "Ah")), cards("2c", "3c", "4c"), cards("2c"), 1000, 42L);
+    }
+
+    @Test
+    public void calculateAgainstRandomHands_acesAgainstOneRandomHand() {
+        EquityResult result = equityCalculator.calculateAgainstRandomHands(cards("As", "Ah"), 1, 200_000, 42L);
+
+        assertEquals(2, result.getPlayers().size());
+        assertEquals(0.85, result.getPlayers().get(0).getEquity(), 0.01);
+        assertEquals(0.15, result.getPlayers().get(1).getEquity(), 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateAgainstRandomHands_tooManyOpponents() {
+        equityCalculator.calculateAgainstRandomHands(cards("As", "Ah"), 23, 10, 42L);
+    }
+
+    @Test
+    public void calculateForRanges_acesAgainstKings() {
+        EquityResult result = equityCalculator.calculateForRanges(
+                Arrays.asList(HandRange.parse("AA"), HandRange.parse("KK")), cards(), cards(), 200_000, 42L);
+
+        assertEquals(200_000, result.getTrials());
+        assertEquals(0.82, result.getPlayers().get(0).getEquity(), 0.01);
+    }
+
+    @Test
+    public void calculateForRanges_oneComboEachMatchesTheHoleCards() {
+        EquityResult ranges = equityCalculator.calculateForRanges(
+                Arrays.asList(HandRange.parse("AsKs"), HandRange.parse("QdQc")), cards("Qs", "7h", "2s"), cards(), 1_000, 42L);
+        EquityResult exact = equityCalculator.calculateExactlyForHoleCards(
+                Arrays.asList(cards("As", "Ks"), cards("Qd", "Qc")), cards("Qs", "7h", "2s"), cards());
+
+        assertEquals(exact.getPlayers().get(0).getEquity(), ranges.getPlayers().get(0).getEquity(), 0.05);
+    }
+
+    @Test
+    public void calculateForRanges_cardRemoval() {
+        // With the Ace of spades dead and AhAd held, only AcKs, AcKd and AcKh are left of AKo
+        EquityResult result = equityCalculator.calculateForRanges(
+                Arrays.asList(HandRange.parse("AKo"), HandRange.parse("AhAd")), cards(), cards("As"), 10_000, 42L);
+
+        // The exact equity of those three against AhAd is 7.8%, 7.1% and 7.1%
+        assertEquals(0.0733, result.getPlayers().get(0).getEquity(), 0.01);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateForRanges_rangesThatNeverFit() {
+        equityCalculator.calculateForRanges(
+                Arrays.asList(HandRange.parse("AsAh"), HandRange.parse("AsKd")), cards(), cards(), 100, 42L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateForRanges_rangeBlockedByTheBoard() {
+        equityCalculator.calculateForRanges(
+                Arrays.asList(HandRange.parse("AA"), HandRange.parse("KK")), cards("As", "Ah", "Ad"), cards(), 100, 42L);
+    }
+
+    private List<Card> cards(String... cards) {
+        return Arrays.stream(cards).map(Card::parse).collect(Collectors.toList());
+    }
+
+}
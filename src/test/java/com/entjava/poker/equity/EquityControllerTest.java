@@ -0,0 +1,62 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.game.TableRegistry;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+public class EquityControllerTest {
+
+    private EquityCalculator equityCalculator = mock(EquityCalculator.class);
+    private EquityController equityController = new EquityController(equityCalculator, mock(LiveOddsTracker.class),
+            mock(PreflopEquityTable.class), mock(TableRegistry.class), 1000, 5000);
+
+    @Test
+    public void equity_withoutTrials_playsTheDefault() {
+        equityController.equity(request(null));
+
+        verify(equityCalculator).calculateForHoleCards(anyList(), anyList(), anyList(), eq(1000), anyLong());
+    }
+
+    @Test
+    public void equity_withTheMaximumTrials_playsThemAll() {
+        equityController.equity(request(5000));
+
+        verify(equityCalculator).calculateForHoleCards(anyList(), anyList(), anyList(), eq(5000), anyLong());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void equity_withMoreThanTheMaximumTrials_isRefused() {
+        equityController.equity(request(5001));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void equity_withNoTrials_isRefused() {
+        equityController.equity(request(0));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rangeEquity_withMoreThanTheMaximumTrials_isRefused() {
+        RangeEquityRequest request = new RangeEquityRequest();
+        request.setRanges(Arrays.asList("AA", "KK"));
+        request.setTrials(Integer.MAX_VALUE);
+
+        equityController.rangeEquity(request);
+    }
+
+    private EquityRequest request(Integer trials) {
+        List<List<String>> players = Arrays.asList(Arrays.asList("As", "Ad"), Arrays.asList("Kh", "Kc"));
+        EquityRequest request = new EquityRequest();
+        request.setPlayers(players);
+        request.setTrials(trials);
+        return request;
+    }
+
+}
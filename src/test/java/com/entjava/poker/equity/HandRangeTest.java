@@ -0,0 +1,99 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class HandRangeTest {
+
+    @Test
+    public void parse_pairsAndAbove() {
+        HandRange range = HandRange.parse("QQ+");
+
+        assertEquals(18, range.comboCount());
+        assertEquals(1.0, weightOf(range, "Qs", "Qh"), 0.0);
+        assertEquals(1.0, weightOf(range, "Ad", "Ac"), 0.0);
+        assertEquals(0.0, weightOf(range, "Js", "Jh"), 0.0);
+    }
+
+    @Test
+    public void parse_suitedOffsuitAndBoth() {
+        assertEquals(4, HandRange.parse("AKs").comboCount());
+        assertEquals(12, HandRange.parse("AKo").comboCount());
+        assertEquals(16, HandRange.parse("AK").comboCount());
+        assertEquals(0.0, weightOf(HandRange.parse("AKs"), "As", "Kd"), 0.0);
+        assertEquals(1.0, weightOf(HandRange.parse("AKs"), "Kd", "Ad"), 0.0);
+    }
+
+    @Test
+    public void parse_kickersAndAbove() {
+        // KTs, KJs and KQs
+        assertEquals(12, HandRange.parse("KTs+").comboCount());
+    }
+
+    @Test
+    public void parse_between() {
+        assertEquals(16, HandRange.parse("A2s-A5s").comboCount());
+        assertEquals(18, HandRange.parse("22-44").comboCount());
+    }
+
+    @Test
+    public void parse_oneCombo() {
+        HandRange range = HandRange.parse("AsKd, 10h9h");
+
+        assertEquals(2, range.comboCount());
+        assertEquals(1.0, weightOf(range, "Kd", "As"), 0.0);
+        assertEquals(1.0, weightOf(range, "Th", "9h"), 0.0);
+    }
+
+    @Test
+    public void parse_weights() {
+        HandRange range = HandRange.parse("QQ+, AKs, 50% AQo");
+
+        assertEquals(18 + 4 + 12, range.comboCount());
+        assertEquals(0.5, weightOf(range, "Ad", "Qc"), 0.0);
+        assertEquals(1.0, weightOf(range, "Ad", "Kd"), 0.0);
+    }
+
+    @Test
+    public void parse_laterEntryReplacesTheWeight() {
+        HandRange range = HandRange.parse("AK, 25% AKo");
+
+        assertEquals(1.0, weightOf(range, "As", "Ks"), 0.0);
+        assertEquals(0.25, weightOf(range, "As", "Kh"), 0.0);
+    }
+
+    @Test
+    public void comboIndex_everyComboHasItsOwnIndex() {
+        boolean[] isUsed = new boolean[HandRange.COMBOS];
+        for (int first = 0; first < Card.DECK_SIZE; first++) {
+            for (int second = first + 1; second < Card.DECK_SIZE; second++) {
+                int combo = HandRange.comboIndex(Card.fromCode(first), Card.fromCode(second));
+                assertEquals(false, isUsed[combo]);
+                isUsed[combo] = true;
+                assertEquals(Card.fromCode(first).getMask() | Card.fromCode(second).getMask(), HandRange.comboCards(combo));
+            }
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_notAHand() {
+        HandRange.parse("QQ+, AXs");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_suitedPair() {
+        HandRange.parse("QQs");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void parse_noWeight() {
+        HandRange.parse("0% AA");
+    }
+
+    private double weightOf(HandRange range, String first, String second) {
+        return range.getWeight(HandRange.comboIndex(Card.parse(first), Card.parse(second)));
+    }
+
+}
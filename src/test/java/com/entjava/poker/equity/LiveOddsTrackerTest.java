@@ -0,0 +1,132 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.game.Game;
+import com.entjava.poker.game.PlayerSnapshot;
+import com.entjava.poker.game.Table;
+import com.entjava.poker.game.TableRegistry;
+import com.entjava.poker.game.TableSnapshot;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class LiveOddsTrackerTest {
+
+    private EquityCalculator equityCalculator = new EquityCalculator(new WinningHandCalculator(), 1);
+    private TableRegistry tableRegistry = new TableRegistry(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 1800000, 1, 10);
+    private PreflopEquityTable preflopEquityTable;
+    private LiveOddsTracker liveOddsTracker;
+
+    @Before
+    public void setUp() throws IOException {
+        preflopEquityTable = new PreflopEquityTable();
+        liveOddsTracker = new LiveOddsTracker(equityCalculator, preflopEquityTable, tableRegistry);
+    }
+
+    @After
+    public void tearDown() {
+        equityCalculator.shutdown();
+        tableRegistry.shutdown();
+    }
+
+    @Test
+    public void getOdds_beforeAnyStreet_isEmpty() {
+        assertFalse(liveOddsTracker.getOdds("table").isPresent());
+    }
+
+    @Test
+    public void update_worksOutOddsOfTheCurrentStreet() throws InterruptedException {
+        Table table = tableRegistry.open();
+        TableSnapshot snapshot = table.send(Game::nextAction).join();
+
+        liveOddsTracker.update(snapshot);
+        LiveOdds odds = awaitOdds(table);
+
+        assertEquals(Long.toString(snapshot.getSeed()), odds.getSeed());
+        assertEquals(3, odds.getCommunityCardCount());
+        assertEquals(snapshot.getPlayers().stream().map(PlayerSnapshot::getName).collect(Collectors.toList()), odds.getPlayers());
+        double totalEquity = odds.getEquity().getPlayers().stream().mapToDouble(PlayerEquity::getEquity).sum();
+        assertEquals(1.0, totalEquity, 1e-9);
+    }
+
+    @Test
+    public void update_preflop_looksTheOddsUp() {
+        Table table = tableRegistry.open();
+        TableSnapshot snapshot = table.getSnapshot();
+
+        liveOddsTracker.update(snapshot);
+
+        // Ready at once, without waiting for the workers
+        Optional<LiveOdds> odds = liveOddsTracker.getOdds(table.getId());
+        assertTrue(odds.isPresent());
+        assertEquals(0, odds.get().getCommunityCardCount());
+        for (int player = 0; player < snapshot.getPlayers().size(); player++) {
+            List<Card> hand = snapshot.getPlayers().get(player).getHand();
+            assertSame(preflopEquityTable.lookup(hand.get(0), hand.get(1), snapshot.getPlayers().size() - 1),
+                    odds.get().getEquity().getPlayers().get(player));
+        }
+    }
+
+    @Test
+    public void update_startsAgainOnTheNextStreet() throws InterruptedException {
+        Table table = tableRegistry.open();
+        liveOddsTracker.update(table.send(Game::nextAction).join());
+        awaitOdds(table);
+
+        liveOddsTracker.update(table.send(Game::nextAction).join());
+
+        // On the turn, 42 cards are unseen: 52 less six hole cards and four on the board
+        assertEquals(42, awaitOdds(table, 4).getEquity().getTrials());
+    }
+
+    @Test
+    public void update_olderSnapshot_isIgnored() throws InterruptedException {
+        Table table = tableRegistry.open();
+        TableSnapshot flop = table.send(Game::nextAction).join();
+        TableSnapshot turn = table.send(Game::nextAction).join();
+
+        liveOddsTracker.update(turn);
+        liveOddsTracker.update(flop);
+
+        assertEquals(4, awaitOdds(table).getCommunityCardCount());
+    }
+
+    @Test
+    public void update_keepsTheOddsOfEachTableApart() throws InterruptedException {
+        Table table = tableRegistry.open();
+        Table otherTable = tableRegistry.open();
+        liveOddsTracker.update(table.send(Game::nextAction).join());
+        awaitOdds(table);
+
+        assertFalse(liveOddsTracker.getOdds(otherTable.getId()).isPresent());
+    }
+
+    private LiveOdds awaitOdds(Table table) throws InterruptedException {
+        return awaitOdds(table, -1);
+    }
+
+    private LiveOdds awaitOdds(Table table, int communityCardCount) throws InterruptedException {
+        for (int attempt = 0; attempt < 500; attempt++) {
+            Optional<LiveOdds> odds = liveOddsTracker.getOdds(table.getId());
+            if (odds.isPresent() && (communityCardCount < 0 || odds.get().getCommunityCardCount() == communityCardCount)) {
+                return odds.get();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("The odds were not worked out in time");
+    }
+
+}
@@ -0,0 +1,62 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.junit.Assert.assertEquals;
+
+public class PreflopEquityTableTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void lookup_generatedTable_matchesTheCalculator() throws IOException {
+        EquityCalculator equityCalculator = new EquityCalculator(new WinningHandCalculator(), 1);
+        Path tableFile = temporaryFolder.getRoot().toPath().resolve("preflop-equity.bin");
+        try {
+            new PreflopEquityTableGenerator(equityCalculator, 100, 42L).generate(tableFile);
+        } finally {
+            equityCalculator.shutdown();
+        }
+
+        PreflopEquityTable table = new PreflopEquityTable(Files.newInputStream(tableFile));
+
+        assertEquals(PreflopEquityTableGenerator.MAX_OPPONENTS, table.getMaxOpponents());
+        assertEquals(100, table.getTrials());
+        // 16 bytes of header, then a win, tie and equity short for every hand and number of opponents
+        assertEquals(16 + StartingHand.COUNT * PreflopEquityTableGenerator.MAX_OPPONENTS * 3 * 2, Files.size(tableFile));
+        for (int opponents = 1; opponents <= table.getMaxOpponents(); opponents++) {
+            PlayerEquity equity = table.lookup(Card.parse("Qs"), Card.parse("Jh"), opponents);
+            assertEquals(100, equity.getWins() + equity.getTies() + equity.getLosses());
+        }
+    }
+
+    @Test
+    public void lookup_shippedTable() throws IOException {
+        PreflopEquityTable table = new PreflopEquityTable();
+
+        assertEquals(0.852, table.lookup(Card.parse("As"), Card.parse("Ah"), 1).getEquity(), 0.005);
+        assertEquals(0.346, table.lookup(Card.parse("7c"), Card.parse("2d"), 1).getEquity(), 0.005);
+        assertEquals(0.670, table.lookup(Card.parse("As"), Card.parse("Ks"), 1).getEquity(), 0.005);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void lookup_tooManyOpponents() throws IOException {
+        new PreflopEquityTable().lookup(Card.parse("As"), Card.parse("Ah"), 10);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void load_notATable() throws IOException {
+        new PreflopEquityTable(new ByteArrayInputStream(new byte[16]));
+    }
+
+}
@@ -0,0 +1,59 @@
+package com.entjava.poker.equity;
+
+import com.entjava.poker.card.Card;
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+
+public class StartingHandTest {
+
+    @Test
+    public void indexOf_everyTwoCardsFallIntoOneOf169Classes() {
+        int[] combinations = new int[StartingHand.COUNT];
+        for (int first = 0; first < Card.DECK_SIZE; first++) {
+            for (int second = first + 1; second < Card.DECK_SIZE; second++) {
+                combinations[StartingHand.indexOf(Card.fromCode(first), Card.fromCode(second))]++;
+            }
+        }
+
+        for (int index = 0; index < StartingHand.COUNT; index++) {
+            String name = StartingHand.nameOf(index);
+            // 6 ways to hold a pair, 4 to hold a suited hand and 12 to hold an offsuit hand
+            int expected = name.length() == 2 ? 6 : name.endsWith("s") ? 4 : 12;
+            assertEquals(name, expected, combinations[index]);
+        }
+    }
+
+    @Test
+    public void indexOf_ignoresTheOrderAndTheSuits() {
+        assertEquals(StartingHand.indexOf(Card.parse("As"), Card.parse("Ks")),
+                StartingHand.indexOf(Card.parse("Kh"), Card.parse("Ah")));
+        assertEquals(StartingHand.indexOf(Card.parse("7c"), Card.parse("2d")),
+                StartingHand.indexOf(Card.parse("2s"), Card.parse("7h")));
+    }
+
+    @Test
+    public void nameOf() {
+        assertEquals("AA", StartingHand.nameOf(StartingHand.indexOf(Card.parse("As"), Card.parse("Ah"))));
+        assertEquals("AKs", StartingHand.nameOf(StartingHand.indexOf(Card.parse("Kd"), Card.parse("Ad"))));
+        assertEquals("T9o", StartingHand.nameOf(StartingHand.indexOf(Card.parse("10s"), Card.parse("9c"))));
+        assertEquals("72o", StartingHand.nameOf(StartingHand.indexOf(Card.parse("7c"), Card.parse("2d"))));
+    }
+
+    @Test
+    public void cardsOf_areOfTheSameClass() {
+        for (int index = 0; index < StartingHand.COUNT; index++) {
+            List<Card> cards = StartingHand.cardsOf(index);
+
+            assertEquals(index, StartingHand.indexOf(cards.get(0), cards.get(1)));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void indexOf_sameCardTwice() {
+        StartingHand.indexOf(Card.parse("As"), Card.parse("As"));
+    }
+
+}
@@ -0,0 +1,82 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.deck.SeededShuffleSource;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class DealerTest {
+
+    private HandIdentifier handIdentifier = new HandIdentifier();
+
+    @Test
+    public void dealHand_dealsEveryCardOnceToAFullTable() {
+        Dealer dealer = new Dealer(new DeckBuilder().buildDeck(), new WinningHandCalculator(), Dealer.MAX_PLAYERS);
+
+        dealer.dealHand(new SeededShuffleSource(42L));
+
+        Set<Card> dealt = new HashSet<>();
+        for (int seat = 0; seat < Dealer.MAX_PLAYERS; seat++) {
+            dealt.add(dealer.getPlayerCard(seat, 0));
+            dealt.add(dealer.getPlayerCard(seat, 1));
+        }
+        for (int card = 0; card < Dealer.COMMUNITY_CARDS; card++) {
+            dealt.add(dealer.getCommunityCard(card));
+        }
+        assertEquals(Dealer.MAX_PLAYERS * 2 + Dealer.COMMUNITY_CARDS, dealt.size());
+    }
+
+    @Test
+    public void dealHand_ranksEveryPlayerLikeTheHandIdentifier() {
+        Dealer dealer = new Dealer(new DeckBuilder().buildDeck(), new WinningHandCalculator(), 6);
+        SeededShuffleSource shuffleSource = new SeededShuffleSource(7L);
+
+        for (int hand = 0; hand < 1000; hand++) {
+            dealer.dealHand(shuffleSource);
+
+            List<Card> communityCards = new ArrayList<>();
+            for (int card = 0; card < Dealer.COMMUNITY_CARDS; card++) {
+                communityCards.add(dealer.getCommunityCard(card));
+            }
+            int best = Integer.MIN_VALUE;
+            for (int seat = 0; seat < 6; seat++) {
+                List<Card> playerCards = Arrays.asList(dealer.getPlayerCard(seat, 0), dealer.getPlayerCard(seat, 1));
+                assertEquals(handIdentifier.evaluate(playerCards, communityCards), dealer.getStrength(seat));
+                best = Math.max(best, dealer.getStrength(seat));
+            }
+            assertEquals(best, dealer.getWinningStrength());
+            for (int seat = 0; seat < 6; seat++) {
+                assertEquals(dealer.getStrength(seat) == best, dealer.isWinner(seat));
+            }
+        }
+    }
+
+    @Test
+    public void dealHand_sameSeedDealsTheSameHand() {
+        Dealer first = new Dealer(new DeckBuilder().buildDeck(), new WinningHandCalculator(), 3);
+        Dealer second = new Dealer(new DeckBuilder().buildDeck(), new WinningHandCalculator(), 3);
+
+        assertEquals(first.dealHand(new SeededShuffleSource(5L)), second.dealHand(new SeededShuffleSource(5L)));
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(first.getCards(seat), second.getCards(seat));
+        }
+        assertTrue(first.getWinningStrength() > 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsMorePlayersThanTheDeckCanDealTo() {
+        new Dealer(new DeckBuilder().buildDeck(), new WinningHandCalculator(), Dealer.MAX_PLAYERS + 1);
+    }
+
+}
@@ -1,12 +1,27 @@
 package com.entjava.poker.game;
 
+import com.entjava.poker.card.Card;
 import com.entjava.poker.deck.DeckBuilder;
 import com.entjava.poker.hand.HandIdentifier;
 import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.hand.evaluator.BitmaskHandEvaluator;
+import com.entjava.poker.hand.evaluator.CardMasks;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 public class GameTest {
 
@@ -32,6 +47,52 @@ public class GameTest {
         assertPlayersHaveTwoCardsEach(game);
     }
 
+    @Test
+    public void startNewGame_reusesTheDeck() {
+        DeckBuilder deckBuilder = spy(new DeckBuilder());
+        Game game = new Game(deckBuilder, new HandIdentifier(), new WinningHandCalculator());
+        game.nextAction();
+        game.nextAction();
+        game.nextAction();
+
+        game.startNewGame();
+
+        verify(deckBuilder, times(1)).buildDeck();
+        assertPlayersHaveTwoCardsEach(game);
+        assertTrue(game.getCommunityCards().isEmpty());
+    }
+
+    @Test
+    public void startNewGame_sameSeedDealsSameCards() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        long seed = game.getSeed();
+        game.nextAction();
+        List<List<Card>> playerCards = game.getPlayers().stream()
+                .map(player -> new ArrayList<>(player.getHand()))
+                .collect(Collectors.toList());
+        List<Card> communityCards = new ArrayList<>(game.getCommunityCards());
+
+        game.startNewGame();
+        game.startNewGame(seed);
+        game.nextAction();
+
+        assertEquals(seed, game.getSeed());
+        for (int i = 0; i < playerCards.size(); i++) {
+            assertEquals(playerCards.get(i), game.getPlayers().get(i).getHand());
+        }
+        assertEquals(communityCards, game.getCommunityCards());
+    }
+
+    @Test
+    public void constructorWithPlayerNames_seatsThePlayersInOrder() {
+        Game game = new Game(new DeckBuilder(), mock(HandIdentifier.class), mock(WinningHandCalculator.class),
+                Arrays.asList("Chance", "AliceGuo"));
+
+        assertEquals(Arrays.asList("Chance", "AliceGuo"),
+                game.getPlayers().stream().map(Player::getName).collect(Collectors.toList()));
+        assertPlayersHaveTwoCardsEach(game);
+    }
+
     private void assertPlayersHaveTwoCardsEach(Game game) {
         game.getPlayers().forEach(player ->
                 assertEquals("Players should have 2 cards each",
@@ -56,4 +117,54 @@ public class GameTest {
         game.nextAction();
         assertEquals("Expecting 5 community cards", 5, game.getCommunityCards().size());
     }
+
+    @Test
+    public void nextAction_keepsEachPlayersHandStateInStepWithTheBoard() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+
+        game.nextAction();
+        game.nextAction();
+        game.nextAction();
+
+        game.getPlayers().forEach(player -> {
+            long expectedCards = CardMasks.of(player.getHand()) | CardMasks.of(game.getCommunityCards());
+            assertEquals(7, player.getHandState().getCardCount());
+            assertEquals(expectedCards, player.getHandState().getCards());
+            assertEquals(new BitmaskHandEvaluator().evaluate(expectedCards), game.identifyPlayerHand(player).strength());
+        });
+    }
+
+    @Test
+    public void nextAction_doesNotBuildHandsUntilAskedFor() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+
+        game.nextAction();
+        game.nextAction();
+
+        Player player = game.getPlayers().get(0);
+        assertNull(player.getPlayableHand());
+        assertNotNull(game.identifyPlayerHand(player));
+        assertNotNull(player.getPlayableHand());
+    }
+
+    @Test
+    public void nextAction_declaresAtLeastOneWinnerAtTheEnd() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+
+        game.nextAction();
+        game.nextAction();
+        game.nextAction();
+
+        assertTrue(game.getWinner().isPresent());
+        assertTrue(game.checkIfPlayerWon(game.getWinner().get()));
+    }
+
+    @Test
+    public void identifyPlayerHand_reusesHandIdentifiedOnTheSameStreet() {
+        Game game = new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator());
+        game.nextAction();
+        Player player = game.getPlayers().get(0);
+
+        assertSame(game.identifyPlayerHand(player), game.identifyPlayerHand(player));
+    }
 }
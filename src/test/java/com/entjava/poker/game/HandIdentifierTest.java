@@ -3,8 +3,12 @@ package com.entjava.poker.game;
 import com.entjava.poker.card.Card;
 import com.entjava.poker.card.CardRank;
 import com.entjava.poker.card.CardSuit;
+import com.entjava.poker.deck.Deck;
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.deck.SeededShuffleSource;
 import com.entjava.poker.hand.Hand;
 import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.evaluator.CardMasks;
 import com.entjava.poker.hand.types.Flush;
 import com.entjava.poker.hand.types.FourOfAKind;
 import com.entjava.poker.hand.types.HighCard;
@@ -15,11 +19,14 @@ import com.entjava.poker.hand.types.ThreeOfAKind;
 import com.entjava.poker.hand.types.TwoPair;
 import org.junit.Test;
 
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
 
 public class HandIdentifierTest {
 
@@ -235,4 +242,99 @@ public class HandIdentifierTest {
 		assertEquals("A,Q,J,10,6", identifiedHand.toString());
 	}
 
-}
\ No newline at end of file
+	@Test
+	public void evaluate_matchesStrengthOfIdentifiedHand() {
+		List<Card> playerCards = Arrays.asList(
+				new Card(CardRank.TWO, CardSuit.SPADES),
+				new Card(CardRank.TWO, CardSuit.CLUBS)
+		);
+
+		List<Card> communityCards = Arrays.asList(
+				new Card(CardRank.QUEEN, CardSuit.DIAMONDS),
+				new Card(CardRank.JACK, CardSuit.SPADES),
+				new Card(CardRank.TEN, CardSuit.SPADES),
+				new Card(CardRank.NINE, CardSuit.SPADES),
+				new Card(CardRank.NINE, CardSuit.DIAMONDS)
+		);
+
+		int strength = handIdentifier.evaluate(playerCards, communityCards);
+
+		assertEquals(handIdentifier.identifyHand(playerCards, communityCards).strength(), strength);
+	}
+
+	@Test
+	public void evaluate_doesNotAllocate() {
+		com.sun.management.ThreadMXBean threadMXBean =
+				(com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+		assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+		threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+		List<Card> playerCards = Arrays.asList(
+				Card.of(CardRank.ACE, CardSuit.SPADES),
+				Card.of(CardRank.KING, CardSuit.SPADES)
+		);
+		List<Card> communityCards = Arrays.asList(
+				Card.of(CardRank.QUEEN, CardSuit.HEARTS),
+				Card.of(CardRank.QUEEN, CardSuit.SPADES),
+				Card.of(CardRank.SEVEN, CardSuit.CLUBS),
+				Card.of(CardRank.FOUR, CardSuit.SPADES),
+				Card.of(CardRank.TWO, CardSuit.SPADES)
+		);
+		int evaluations = 100_000;
+		long threadId = Thread.currentThread().getId();
+
+		int checksum = 0;
+		for (int i = 0; i < evaluations; i++) {
+			checksum += handIdentifier.evaluate(playerCards, communityCards);
+		}
+
+		long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+		for (int i = 0; i < evaluations; i++) {
+			checksum += handIdentifier.evaluate(playerCards, communityCards);
+		}
+		long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+		assertTrue("Expected no allocation per evaluation, got " + allocated + " bytes for " + evaluations,
+				allocated < evaluations);
+		assertTrue(checksum != 0);
+	}
+
+	@Test
+	public void describe_matchesTheIdentifiedHand() {
+		Deck deck = new DeckBuilder().buildDeck();
+		SeededShuffleSource shuffleSource = new SeededShuffleSource(42L);
+
+		for (int hand = 0; hand < 100_000; hand++) {
+			deck.reset();
+			deck.shuffleLazily(shuffleSource);
+			List<Card> playerCards = Arrays.asList(deck.removeFromTop(), deck.removeFromTop());
+			List<Card> communityCards = new ArrayList<>();
+			for (int card = 0; card < 3 + hand % 3; card++) {
+				communityCards.add(deck.removeFromTop());
+			}
+
+			int strength = handIdentifier.evaluate(playerCards, communityCards);
+			long cards = CardMasks.of(playerCards) | CardMasks.of(communityCards);
+			assertEquals(handIdentifier.identifyHand(playerCards, communityCards).toString(),
+					handIdentifier.describe(strength, cards));
+		}
+	}
+
+	@Test
+	public void describe_royalFlushNamesItsSuit() {
+		List<Card> playerCards = Arrays.asList(Card.of(CardRank.ACE, CardSuit.HEARTS), Card.of(CardRank.KING, CardSuit.HEARTS));
+		List<Card> communityCards = Arrays.asList(
+				Card.of(CardRank.QUEEN, CardSuit.HEARTS),
+				Card.of(CardRank.JACK, CardSuit.HEARTS),
+				Card.of(CardRank.TEN, CardSuit.HEARTS),
+				Card.of(CardRank.TWO, CardSuit.SPADES),
+				Card.of(CardRank.THREE, CardSuit.CLUBS)
+		);
+
+		String description = handIdentifier.describe(handIdentifier.evaluate(playerCards, communityCards),
+				CardMasks.of(playerCards) | CardMasks.of(communityCards));
+
+		assertEquals(handIdentifier.identifyHand(playerCards, communityCards).toString(), description);
+	}
+
+}
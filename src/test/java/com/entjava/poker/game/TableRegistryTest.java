@@ -0,0 +1,100 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.exception.TooManyTablesException;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+
+public class TableRegistryTest {
+
+	private TableRegistry tableRegistry = new TableRegistry(new DeckBuilder(), new HandIdentifier(),
+			new WinningHandCalculator(), 1800000, 1, 2);
+
+	@After
+	public void tearDown() {
+		tableRegistry.shutdown();
+	}
+
+	@Test
+	public void open_eachTableHasItsOwnGame() {
+		Table first = tableRegistry.open();
+		Table second = tableRegistry.open();
+
+		assertNotEquals(first.getId(), second.getId());
+		first.send(Game::nextAction).join();
+		assertEquals(3, first.getSnapshot().getCommunityCards().size());
+		assertEquals(0, second.getSnapshot().getCommunityCards().size());
+		assertEquals(2, tableRegistry.size());
+	}
+
+	@Test
+	public void find_returnsTheOpenedTable() {
+		Table table = tableRegistry.open();
+
+		assertSame(table, tableRegistry.find(table.getId()).get());
+	}
+
+	@Test
+	public void find_unknownTable_isEmpty() {
+		assertFalse(tableRegistry.find("unknown").isPresent());
+	}
+
+	@Test(expected = TooManyTablesException.class)
+	public void open_refusesTablesBeyondTheMaximum() {
+		tableRegistry.open();
+		tableRegistry.open();
+
+		tableRegistry.open();
+	}
+
+	@Test
+	public void open_evictedTablesFreeTheirPlaces() {
+		tableRegistry.open();
+		tableRegistry.open();
+		tableRegistry.evictTablesIdleSince(System.nanoTime() + 1);
+
+		Table table = tableRegistry.open();
+
+		assertSame(table, tableRegistry.find(table.getId()).get());
+		assertEquals(1, tableRegistry.size());
+	}
+
+	@Test
+	public void evictTablesIdleSince_evictsOnlyIdleTables() {
+		Table idle = tableRegistry.open();
+		long cutoff = System.nanoTime() + 1;
+		Table used = tableRegistry.open();
+		used.touch();
+		while (used.getLastAccessNanos() - cutoff < 0) {
+			used.touch();
+		}
+
+		assertEquals(1, tableRegistry.evictTablesIdleSince(cutoff));
+		assertFalse(tableRegistry.find(idle.getId()).isPresent());
+		assertSame(used, tableRegistry.find(used.getId()).get());
+	}
+
+	@Test
+	public void evictTablesIdleSince_notifiesTheListeners() {
+		List<String> evictedIds = new ArrayList<>();
+		tableRegistry.addEvictionListener(evictedIds::add);
+		Table table = tableRegistry.open();
+
+		tableRegistry.evictTablesIdleSince(System.nanoTime() + 1);
+
+		assertEquals(1, evictedIds.size());
+		assertEquals(table.getId(), evictedIds.get(0));
+		assertEquals(0, tableRegistry.size());
+	}
+
+}
@@ -0,0 +1,154 @@
+package com.entjava.poker.game;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class TableTest {
+
+	private ExecutorService executor = Executors.newFixedThreadPool(4);
+
+	private Table table = new Table("table", new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator()),
+			executor);
+
+	@After
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void send_runsTheCommandsInOrder() {
+		List<Integer> order = new ArrayList<>();
+		CompletableFuture<TableSnapshot> last = null;
+		for (int i = 0; i < 100; i++) {
+			int command = i;
+			last = table.send(game -> order.add(command));
+		}
+		last.join();
+
+		for (int i = 0; i < 100; i++) {
+			assertEquals(i, (int) order.get(i));
+		}
+	}
+
+	@Test
+	public void send_neverRunsTwoCommandsOfATableAtOnce() throws InterruptedException {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger overlaps = new AtomicInteger();
+		List<CompletableFuture<TableSnapshot>> results = new ArrayList<>();
+
+		List<Thread> senders = new ArrayList<>();
+		for (int sender = 0; sender < 4; sender++) {
+			Thread thread = new Thread(() -> {
+				for (int i = 0; i < 250; i++) {
+					CompletableFuture<TableSnapshot> result = table.send(game -> {
+						if (running.incrementAndGet() > 1) {
+							overlaps.incrementAndGet();
+						}
+						if (game.hasEnded()) {
+							game.startNewGame();
+						} else {
+							game.nextAction();
+						}
+						running.decrementAndGet();
+					});
+					synchronized (results) {
+						results.add(result);
+					}
+				}
+			});
+			senders.add(thread);
+			thread.start();
+		}
+		for (Thread thread : senders) {
+			thread.join();
+		}
+		results.forEach(CompletableFuture::join);
+
+		assertEquals(0, overlaps.get());
+		assertEquals(1000, table.getSnapshot().getVersion());
+	}
+
+	@Test
+	public void send_publishesASnapshotOfTheGame() {
+		TableSnapshot before = table.getSnapshot();
+
+		TableSnapshot after = table.send(Game::nextAction).join();
+
+		assertSame(after, table.getSnapshot());
+		assertEquals(before.getVersion() + 1, after.getVersion());
+		assertEquals(before.getSeed(), after.getSeed());
+		assertEquals(3, after.getCommunityCards().size());
+		// The earlier snapshot does not see the flop
+		assertEquals(0, before.getCommunityCards().size());
+		for (int player = 0; player < before.getPlayers().size(); player++) {
+			assertEquals(before.getPlayers().get(player).getHand(), after.getPlayers().get(player).getHand());
+		}
+	}
+
+	@Test
+	public void snapshot_cannotBeChanged() {
+		TableSnapshot snapshot = table.getSnapshot();
+
+		try {
+			snapshot.getPlayers().get(0).getHand().clear();
+			fail("A snapshot must not change");
+		} catch (UnsupportedOperationException expected) {
+			assertEquals(2, snapshot.getPlayers().get(0).getHand().size());
+		}
+	}
+
+	@Test
+	public void send_failedCommand_keepsTheTableRunning() {
+		CompletableFuture<TableSnapshot> failed = table.send(game -> {
+			throw new IllegalStateException("Failed");
+		});
+
+		try {
+			failed.join();
+			fail("The command's exception must be returned");
+		} catch (CompletionException e) {
+			assertTrue(e.getCause() instanceof IllegalStateException);
+		}
+		assertEquals(0, table.getSnapshot().getVersion());
+		assertFalse(table.send(Game::nextAction).join().getCommunityCards().isEmpty());
+	}
+
+	@Test
+	public void send_commandThrowingAnError_keepsTheTableRunning() {
+		Table table = new Table("table", new Game(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator()),
+				command -> {
+					try {
+						command.run();
+					} catch (AssertionError expected) {
+						// The executor is told of the error, as a pool's thread would be
+					}
+				});
+
+		CompletableFuture<TableSnapshot> failed = table.send(game -> {
+			throw new AssertionError("Failed");
+		});
+		CompletableFuture<TableSnapshot> next = table.send(Game::nextAction);
+
+		assertTrue(failed.isCompletedExceptionally());
+		assertTrue(next.isDone());
+		assertFalse(next.join().getCommunityCards().isEmpty());
+	}
+
+}
@@ -0,0 +1,109 @@
+package com.entjava.poker.hand;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.card.CardSuit;
+import com.entjava.poker.hand.evaluator.CardMasks;
+import com.entjava.poker.hand.types.OnePair;
+import com.entjava.poker.hand.types.TwoPair;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class WinningHandCalculatorTest {
+
+    private WinningHandCalculator winningHandCalculator = new WinningHandCalculator();
+
+    @Test
+    public void calculateWinningHand_higherHandTypeWins() {
+        Hand pair = pairOfKings(CardSuit.SPADES, CardSuit.CLUBS, CardRank.ACE);
+        Hand twoPair = new TwoPair(
+                cards(new Card(CardRank.FOUR, CardSuit.CLUBS), new Card(CardRank.FOUR, CardSuit.DIAMONDS)),
+                cards(new Card(CardRank.THREE, CardSuit.CLUBS), new Card(CardRank.THREE, CardSuit.DIAMONDS)),
+                cards(new Card(CardRank.TWO, CardSuit.CLUBS)));
+
+        WinningHand winningHand = winningHandCalculator.calculateWinningHand(Arrays.asList(pair, twoPair)).get();
+
+        assertEquals(Collections.singletonList(twoPair), winningHand.getHands());
+        assertFalse(winningHand.isWinning(pair));
+    }
+
+    @Test
+    public void calculateWinningHand_kickerBreaksTie() {
+        Hand aceKicker = pairOfKings(CardSuit.SPADES, CardSuit.CLUBS, CardRank.ACE);
+        Hand queenKicker = pairOfKings(CardSuit.DIAMONDS, CardSuit.HEARTS, CardRank.QUEEN);
+
+        WinningHand winningHand = winningHandCalculator.calculateWinningHand(Arrays.asList(queenKicker, aceKicker)).get();
+
+        assertEquals(1, winningHand.getHands().size());
+        assertSame(aceKicker, winningHand.getHands().get(0));
+    }
+
+    @Test
+    public void calculateWinningHand_equalHandsAllWin() {
+        Hand first = pairOfKings(CardSuit.SPADES, CardSuit.CLUBS, CardRank.ACE);
+        Hand second = pairOfKings(CardSuit.DIAMONDS, CardSuit.HEARTS, CardRank.ACE);
+
+        WinningHand winningHand = winningHandCalculator.calculateWinningHand(Arrays.asList(first, second)).get();
+
+        assertEquals(Arrays.asList(first, second), winningHand.getHands());
+        assertTrue(winningHand.isWinning(first));
+        assertTrue(winningHand.isWinning(second));
+    }
+
+    @Test
+    public void calculateWinningHand_withNoHands_returnsEmpty() {
+        Optional<WinningHand> winningHand = winningHandCalculator.calculateWinningHand(new ArrayList<>());
+
+        assertFalse(winningHand.isPresent());
+    }
+
+    @Test
+    public void calculateWinners_returnsWinnersAsBits() {
+        long board = CardMasks.of(cards(
+                new Card(CardRank.KING, CardSuit.SPADES),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.DIAMONDS),
+                new Card(CardRank.TWO, CardSuit.SPADES)));
+        long[] holeCards = {
+                CardMasks.of(cards(new Card(CardRank.KING, CardSuit.CLUBS), new Card(CardRank.NINE, CardSuit.CLUBS))),
+                CardMasks.of(cards(new Card(CardRank.ACE, CardSuit.CLUBS), new Card(CardRank.QUEEN, CardSuit.CLUBS))),
+                CardMasks.of(cards(new Card(CardRank.KING, CardSuit.HEARTS), new Card(CardRank.NINE, CardSuit.HEARTS)))
+        };
+        int[] strengths = new int[holeCards.length];
+
+        int winners = winningHandCalculator.calculateWinners(board, holeCards, strengths);
+
+        assertEquals(0b101, winners);
+        assertEquals(strengths[0], strengths[2]);
+        assertTrue(strengths[0] > strengths[1]);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void calculateWinners_rejectsMoreThan32Players() {
+        winningHandCalculator.calculateWinners(0L, new long[33], new int[33]);
+    }
+
+    private Hand pairOfKings(CardSuit firstSuit, CardSuit secondSuit, CardRank kicker) {
+        return new OnePair(
+                cards(new Card(CardRank.KING, firstSuit), new Card(CardRank.KING, secondSuit)),
+                cards(new Card(kicker, CardSuit.CLUBS),
+                        new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                        new Card(CardRank.FIVE, CardSuit.SPADES)));
+    }
+
+    private List<Card> cards(Card... cards) {
+        return new ArrayList<>(Arrays.asList(cards));
+    }
+
+}
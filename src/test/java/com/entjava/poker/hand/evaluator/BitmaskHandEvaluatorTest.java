@@ -0,0 +1,279 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.card.CardSuit;
+import com.entjava.poker.hand.HandType;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class BitmaskHandEvaluatorTest {
+
+    private BitmaskHandEvaluator evaluator = new BitmaskHandEvaluator();
+
+    @Test
+    public void evaluate_royalFlush() {
+        int strength = evaluate(
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.KING, CardSuit.SPADES),
+                new Card(CardRank.QUEEN, CardSuit.SPADES),
+                new Card(CardRank.JACK, CardSuit.SPADES),
+                new Card(CardRank.TEN, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.ROYAL_FLUSH, HandStrength.handType(strength));
+    }
+
+    @Test
+    public void evaluate_straightFlushBeatsFourOfAKind() {
+        int strength = evaluate(
+                new Card(CardRank.NINE, CardSuit.HEARTS),
+                new Card(CardRank.EIGHT, CardSuit.HEARTS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.SIX, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.CLUBS),
+                new Card(CardRank.FIVE, CardSuit.SPADES)
+        );
+
+        assertEquals(HandType.STRAIGHT_FLUSH, HandStrength.handType(strength));
+        assertEquals(CardRank.NINE, HandStrength.rank(strength, 0));
+    }
+
+    @Test
+    public void evaluate_fourOfAKind_keepsHighestKicker() {
+        int strength = evaluate(
+                new Card(CardRank.EIGHT, CardSuit.SPADES),
+                new Card(CardRank.EIGHT, CardSuit.CLUBS),
+                new Card(CardRank.EIGHT, CardSuit.DIAMONDS),
+                new Card(CardRank.EIGHT, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.SPADES),
+                new Card(CardRank.KING, CardSuit.CLUBS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.FOUR_OF_A_KIND, HandStrength.handType(strength));
+        assertEquals(CardRank.EIGHT, HandStrength.rank(strength, 0));
+        assertEquals(CardRank.KING, HandStrength.rank(strength, 1));
+    }
+
+    @Test
+    public void evaluate_fullHouseFromTwoThreeOfAKinds() {
+        int strength = evaluate(
+                new Card(CardRank.FOUR, CardSuit.SPADES),
+                new Card(CardRank.FOUR, CardSuit.CLUBS),
+                new Card(CardRank.FOUR, CardSuit.DIAMONDS),
+                new Card(CardRank.JACK, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.SPADES),
+                new Card(CardRank.JACK, CardSuit.CLUBS),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.FULL_HOUSE, HandStrength.handType(strength));
+        assertEquals(CardRank.JACK, HandStrength.rank(strength, 0));
+        assertEquals(CardRank.FOUR, HandStrength.rank(strength, 1));
+    }
+
+    @Test
+    public void evaluate_flushUsesTopFiveCardsOfSuit() {
+        int strength = evaluate(
+                new Card(CardRank.TWO, CardSuit.DIAMONDS),
+                new Card(CardRank.FOUR, CardSuit.DIAMONDS),
+                new Card(CardRank.SEVEN, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.DIAMONDS),
+                new Card(CardRank.JACK, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.DIAMONDS),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.FLUSH, HandStrength.handType(strength));
+        assertEquals(CardRank.KING, HandStrength.rank(strength, 0));
+        assertEquals(CardRank.FOUR, HandStrength.rank(strength, 4));
+    }
+
+    @Test
+    public void evaluate_wheelStraight() {
+        int strength = evaluate(
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.THREE, CardSuit.DIAMONDS),
+                new Card(CardRank.FOUR, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.CLUBS),
+                new Card(CardRank.KING, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.STRAIGHT, HandStrength.handType(strength));
+        assertEquals(CardRank.FIVE, HandStrength.rank(strength, 0));
+    }
+
+    @Test
+    public void evaluate_twoPairFromThreePairs_keepsBestKicker() {
+        int strength = evaluate(
+                new Card(CardRank.QUEEN, CardSuit.SPADES),
+                new Card(CardRank.QUEEN, CardSuit.CLUBS),
+                new Card(CardRank.NINE, CardSuit.DIAMONDS),
+                new Card(CardRank.NINE, CardSuit.HEARTS),
+                new Card(CardRank.SIX, CardSuit.SPADES),
+                new Card(CardRank.SIX, CardSuit.CLUBS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.TWO_PAIR, HandStrength.handType(strength));
+        assertEquals(CardRank.QUEEN, HandStrength.rank(strength, 0));
+        assertEquals(CardRank.NINE, HandStrength.rank(strength, 1));
+        assertEquals(CardRank.SIX, HandStrength.rank(strength, 2));
+    }
+
+    @Test
+    public void evaluate_pocketPairWithoutCommunityCards() {
+        int strength = evaluate(
+                new Card(CardRank.TEN, CardSuit.SPADES),
+                new Card(CardRank.TEN, CardSuit.CLUBS)
+        );
+
+        assertEquals(HandType.ONE_PAIR, HandStrength.handType(strength));
+        assertEquals(CardRank.TEN, HandStrength.rank(strength, 0));
+    }
+
+    @Test
+    public void evaluate_kickerDecidesBetweenEqualPairs() {
+        int aceKicker = evaluate(
+                new Card(CardRank.KING, CardSuit.SPADES),
+                new Card(CardRank.KING, CardSuit.CLUBS),
+                new Card(CardRank.ACE, CardSuit.DIAMONDS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.SPADES)
+        );
+        int queenKicker = evaluate(
+                new Card(CardRank.KING, CardSuit.DIAMONDS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.QUEEN, CardSuit.DIAMONDS),
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.SPADES)
+        );
+
+        assertTrue(aceKicker > queenKicker);
+    }
+
+    @Test
+    public void evaluate_highCard() {
+        int strength = evaluate(
+                new Card(CardRank.ACE, CardSuit.SPADES),
+                new Card(CardRank.TWO, CardSuit.CLUBS),
+                new Card(CardRank.QUEEN, CardSuit.DIAMONDS),
+                new Card(CardRank.JACK, CardSuit.SPADES),
+                new Card(CardRank.TEN, CardSuit.SPADES),
+                new Card(CardRank.THREE, CardSuit.SPADES),
+                new Card(CardRank.SIX, CardSuit.DIAMONDS)
+        );
+
+        assertEquals(HandType.HIGH_CARD, HandStrength.handType(strength));
+        assertEquals(CardRank.ACE, HandStrength.rank(strength, 0));
+        assertEquals(CardRank.SIX, HandStrength.rank(strength, 4));
+    }
+
+    @Test
+    public void evaluateAll_agreesWithEvaluate() {
+        Random random = new Random(3);
+        for (int i = 0; i < 50_000; i++) {
+            long board = randomCards(random, 3 + i % 3);
+            long[] holeCards = new long[1 + i % 9];
+            long dealt = board;
+            for (int player = 0; player < holeCards.length; player++) {
+                holeCards[player] = randomCards(random, 2, dealt);
+                dealt |= holeCards[player];
+            }
+            int[] strengths = new int[holeCards.length];
+
+            evaluator.evaluateAll(board, holeCards, strengths);
+
+            for (int player = 0; player < holeCards.length; player++) {
+                assertEquals(evaluator.evaluate(board | holeCards[player]), strengths[player]);
+            }
+        }
+    }
+
+    @Test
+    public void evaluateAll_pocketPairOnAPairedBoard_makesFourOfAKind() {
+        long board = CardMasks.of(Arrays.asList(
+                new Card(CardRank.NINE, CardSuit.SPADES),
+                new Card(CardRank.NINE, CardSuit.CLUBS),
+                new Card(CardRank.TWO, CardSuit.HEARTS)
+        ));
+        long[] holeCards = {
+                CardMasks.of(Arrays.asList(new Card(CardRank.NINE, CardSuit.DIAMONDS), new Card(CardRank.NINE, CardSuit.HEARTS))),
+                CardMasks.of(Arrays.asList(new Card(CardRank.TWO, CardSuit.SPADES), new Card(CardRank.TWO, CardSuit.CLUBS)))
+        };
+        int[] strengths = new int[holeCards.length];
+
+        evaluator.evaluateAll(board, holeCards, strengths);
+
+        assertEquals(HandType.FOUR_OF_A_KIND, HandStrength.handType(strengths[0]));
+        assertEquals(HandType.FULL_HOUSE, HandStrength.handType(strengths[1]));
+        assertEquals(CardRank.TWO, HandStrength.rank(strengths[1], 0));
+    }
+
+    @Test
+    public void evaluateAll_doesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(11);
+        long board = randomCards(random, 5);
+        long[] holeCards = new long[6];
+        long dealt = board;
+        for (int player = 0; player < holeCards.length; player++) {
+            holeCards[player] = randomCards(random, 2, dealt);
+            dealt |= holeCards[player];
+        }
+        int[] strengths = new int[holeCards.length];
+        int evaluations = 100_000;
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < evaluations; i++) {
+            evaluator.evaluateAll(board, holeCards, strengths);
+        }
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < evaluations; i++) {
+            evaluator.evaluateAll(board, holeCards, strengths);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue("Expected no allocation per evaluation, got " + allocated + " bytes for " + evaluations,
+                allocated < evaluations);
+    }
+
+    private long randomCards(Random random, int cardCount) {
+        return randomCards(random, cardCount, 0L);
+    }
+
+    private long randomCards(Random random, int cardCount, long excluded) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < cardCount) {
+            int code = random.nextInt(52);
+            long card = 1L << (code / 13 * CardMasks.SUIT_SHIFT + code % 13);
+            if ((card & excluded) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+    private int evaluate(Card... cards) {
+        return evaluator.evaluate(CardMasks.of(Arrays.asList(cards)));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.hand.HandType;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+
+public class HandEvaluatorVerifierTest {
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void lowestPairs_coverEverySevenCardHand() {
+        long hands = Arrays.stream(HandEvaluatorVerifier.lowestPairs())
+                .mapToLong(pair -> choose(51 - pair[1], 5))
+                .sum();
+
+        assertEquals(133_784_560L, hands);
+    }
+
+    @Test
+    public void expectedCounts_addUpToEverySevenCardHand() {
+        assertEquals(133_784_560L, Arrays.stream(HandEvaluatorVerifier.EXPECTED_COUNTS).sum());
+    }
+
+    @Test
+    public void verify_enginesAgreeOnSomeHands() throws IOException {
+        LookupTableHandEvaluator lookupTableHandEvaluator =
+                new LookupTableHandEvaluator(temporaryFolder.getRoot().toPath().resolve("hand-ranks.bin"));
+        HandEvaluatorVerifier verifier = new HandEvaluatorVerifier(lookupTableHandEvaluator, 1);
+        int[][] lowestPairs = HandEvaluatorVerifier.lowestPairs();
+
+        // The last pairs are made of the highest cards, so they leave only a few thousand hands
+        HandEvaluatorVerifier.Result result = verifier.verify(lowestPairs, lowestPairs.length - 40, lowestPairs.length);
+
+        assertEquals(0, result.getMismatchCount());
+        for (HandType handType : HandType.values()) {
+            assertEquals(result.getBitmaskCount(handType), result.getLookupTableCount(handType));
+            assertEquals(result.getBitmaskCount(handType), result.getHandIdentifierCount(handType));
+        }
+    }
+
+    private long choose(int n, int k) {
+        long result = 1;
+        for (int i = 1; i <= k; i++) {
+            result = result * (n - k + i) / i;
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,56 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.card.CardSuit;
+import com.entjava.poker.hand.HandType;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+public class HandStateTest {
+
+    @Test
+    public void strength_followsEachDealtCard() {
+        HandEvaluator handEvaluator = new BitmaskHandEvaluator();
+        HandState handState = new HandState();
+
+        handState.add(Card.of(CardRank.NINE, CardSuit.SPADES));
+        handState.add(Card.of(CardRank.NINE, CardSuit.CLUBS));
+        assertEquals(HandType.ONE_PAIR, HandStrength.handType(handState.strength(handEvaluator)));
+
+        handState.add(Card.of(CardRank.NINE, CardSuit.HEARTS));
+        handState.add(Card.of(CardRank.TWO, CardSuit.HEARTS));
+        handState.add(Card.of(CardRank.TWO, CardSuit.DIAMONDS));
+        assertEquals(HandType.FULL_HOUSE, HandStrength.handType(handState.strength(handEvaluator)));
+        assertEquals(5, handState.getCardCount());
+    }
+
+    @Test
+    public void strength_isEvaluatedOncePerChange() {
+        HandEvaluator handEvaluator = spy(new BitmaskHandEvaluator());
+        HandState handState = new HandState();
+        handState.add(Card.of(CardRank.ACE, CardSuit.SPADES));
+
+        handState.strength(handEvaluator);
+        handState.strength(handEvaluator);
+
+        verify(handEvaluator, times(1)).evaluate(anyLong());
+    }
+
+    @Test
+    public void clear_removesAllCards() {
+        HandState handState = new HandState();
+        handState.add(Card.of(CardRank.ACE, CardSuit.SPADES));
+
+        handState.clear();
+
+        assertEquals(0L, handState.getCards());
+        assertEquals(0, handState.getCardCount());
+    }
+
+}
@@ -0,0 +1,158 @@
+package com.entjava.poker.hand.evaluator;
+
+import com.entjava.poker.card.Card;
+import com.entjava.poker.card.CardRank;
+import com.entjava.poker.card.CardSuit;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+
+public class LookupTableHandEvaluatorTest {
+
+    @ClassRule
+    public static TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private static LookupTableHandEvaluator evaluator;
+
+    private BitmaskHandEvaluator bitmaskHandEvaluator = new BitmaskHandEvaluator();
+
+    @BeforeClass
+    public static void generateTable() throws IOException {
+        Path tableFile = temporaryFolder.getRoot().toPath().resolve("hand-ranks.bin");
+        evaluator = new LookupTableHandEvaluator(tableFile);
+    }
+
+    @Test
+    public void equivalenceClass_royalFlushIsTheBestClass() {
+        long cards = CardMasks.of(Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.KING, CardSuit.HEARTS),
+                new Card(CardRank.QUEEN, CardSuit.HEARTS),
+                new Card(CardRank.JACK, CardSuit.HEARTS),
+                new Card(CardRank.TEN, CardSuit.HEARTS),
+                new Card(CardRank.TWO, CardSuit.CLUBS)
+        ));
+
+        assertEquals(1, evaluator.equivalenceClass(cards));
+    }
+
+    @Test
+    public void equivalenceClass_sevenHighIsTheWorstClass() {
+        long cards = CardMasks.of(Arrays.asList(
+                new Card(CardRank.SEVEN, CardSuit.HEARTS),
+                new Card(CardRank.FIVE, CardSuit.CLUBS),
+                new Card(CardRank.FOUR, CardSuit.HEARTS),
+                new Card(CardRank.THREE, CardSuit.SPADES),
+                new Card(CardRank.TWO, CardSuit.DIAMONDS)
+        ));
+
+        assertEquals(7462, evaluator.equivalenceClass(cards));
+    }
+
+    @Test
+    public void evaluate_agreesWithBitmaskEvaluator() {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            long cards = randomCards(random, 5 + i % 3);
+
+            assertEquals(bitmaskHandEvaluator.evaluate(cards), evaluator.evaluate(cards));
+        }
+    }
+
+    @Test
+    public void evaluateAll_agreesWithEvaluate() {
+        Random random = new Random(7);
+        for (int i = 0; i < 10_000; i++) {
+            long board = randomCards(random, 3 + i % 3);
+            long[] holeCards = new long[6];
+            long dealt = board;
+            for (int player = 0; player < holeCards.length; player++) {
+                holeCards[player] = randomCards(random, 2, dealt);
+                dealt |= holeCards[player];
+            }
+            int[] strengths = new int[holeCards.length];
+
+            evaluator.evaluateAll(board, holeCards, strengths);
+
+            for (int player = 0; player < holeCards.length; player++) {
+                assertEquals(evaluator.evaluate(board | holeCards[player]), strengths[player]);
+            }
+        }
+    }
+
+    @Test
+    public void evaluateAll_doesNotAllocate() {
+        com.sun.management.ThreadMXBean threadMXBean =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threadMXBean.isThreadAllocatedMemorySupported());
+        threadMXBean.setThreadAllocatedMemoryEnabled(true);
+
+        Random random = new Random(11);
+        long board = randomCards(random, 5);
+        long[] holeCards = new long[6];
+        long dealt = board;
+        for (int player = 0; player < holeCards.length; player++) {
+            holeCards[player] = randomCards(random, 2, dealt);
+            dealt |= holeCards[player];
+        }
+        int[] strengths = new int[holeCards.length];
+        int evaluations = 100_000;
+        long threadId = Thread.currentThread().getId();
+
+        for (int i = 0; i < evaluations; i++) {
+            evaluator.evaluateAll(board, holeCards, strengths);
+        }
+
+        long allocatedBefore = threadMXBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < evaluations; i++) {
+            evaluator.evaluateAll(board, holeCards, strengths);
+        }
+        long allocated = threadMXBean.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+        assertTrue("Expected no allocation per evaluation, got " + allocated + " bytes for " + evaluations,
+                allocated < evaluations);
+    }
+
+    @Test
+    public void evaluate_fallsBackForTwoCards() {
+        long cards = CardMasks.of(Arrays.asList(
+                new Card(CardRank.ACE, CardSuit.HEARTS),
+                new Card(CardRank.ACE, CardSuit.CLUBS)
+        ));
+
+        assertEquals(bitmaskHandEvaluator.evaluate(cards), evaluator.evaluate(cards));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void equivalenceClass_rejectsFewerThanFiveCards() {
+        evaluator.equivalenceClass(CardMasks.of(new Card(CardRank.ACE, CardSuit.HEARTS)));
+    }
+
+    private long randomCards(Random random, int cardCount) {
+        return randomCards(random, cardCount, 0L);
+    }
+
+    private long randomCards(Random random, int cardCount, long excluded) {
+        long cards = 0L;
+        while (Long.bitCount(cards) < cardCount) {
+            int code = random.nextInt(52);
+            long card = 1L << (code / 13 * CardMasks.SUIT_SHIFT + code % 13);
+            if ((card & excluded) == 0) {
+                cards |= card;
+            }
+        }
+        return cards;
+    }
+
+}
@@ -0,0 +1,165 @@
+package com.entjava.poker.history;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class HandHistoryLogTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void append_givesConsecutiveEventIds() throws IOException {
+        try (HandHistoryLog log = new HandHistoryLog(temporaryFolder.getRoot().toPath(), 100)) {
+            HandRecord first = log.append(hand(log, 1));
+            List<HandRecord> next = log.appendAll(Arrays.asList(hand(log, 2), hand(log, 3)));
+
+            assertEquals(1, first.getEventId());
+            assertEquals(2, next.get(0).getEventId());
+            assertEquals(3, next.get(1).getEventId());
+            assertEquals(next.get(1), log.find(3).get());
+            assertEquals(3, log.find(3).get().getSeed());
+            assertEquals("Chance", log.playerName(log.find(3).get().getPlayerId(0)));
+            assertFalse(log.find(4).isPresent());
+            assertFalse(log.find(0).isPresent());
+        }
+    }
+
+    @Test
+    public void find_acrossSegmentsAndIndexIntervals() throws IOException {
+        try (HandHistoryLog log = new HandHistoryLog(temporaryFolder.getRoot().toPath(), 150)) {
+            for (int hand = 1; hand <= 1000; hand++) {
+                log.append(hand(log, hand));
+            }
+
+            for (long eventId = 1; eventId <= 1000; eventId++) {
+                assertEquals(eventId, log.find(eventId).get().getSeed());
+            }
+            assertEquals(7, segmentFiles().size());
+        }
+    }
+
+    @Test
+    public void readAfter_pagesThroughEverySegment() throws IOException {
+        try (HandHistoryLog log = new HandHistoryLog(temporaryFolder.getRoot().toPath(), 64)) {
+            for (int hand = 1; hand <= 300; hand++) {
+                log.append(hand(log, hand));
+            }
+
+            List<HandRecord> page = log.readAfter(60, 100);
+            assertEquals(100, page.size());
+            assertEquals(61, page.get(0).getEventId());
+            assertEquals(160, page.get(99).getEventId());
+            assertEquals(300, log.readAfter(0, 1000).size());
+            assertEquals(1, log.readAfter(299, 100).size());
+            assertTrue(log.readAfter(300, 100).isEmpty());
+        }
+    }
+
+    @Test
+    public void reopen_continuesAfterTheLastHand() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            for (int hand = 1; hand <= 250; hand++) {
+                log.append(hand(log, hand));
+            }
+        }
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            assertEquals(250, log.find(250).get().getSeed());
+            assertEquals("AliceGuo", log.playerName(log.find(250).get().getPlayerId(1)));
+            assertEquals(251, log.append(hand(log, 251)).getEventId());
+            assertEquals(251, log.readAfter(0, 1000).size());
+        }
+    }
+
+    @Test
+    public void reopen_ignoresAHandCutShort() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            for (int hand = 1; hand <= 10; hand++) {
+                log.append(hand(log, hand));
+            }
+        }
+        // The 10th hand lost its event id
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.allocate(Long.BYTES), Segment.HEADER_SIZE + 9 * HandRecord.SIZE);
+        }
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            assertFalse(log.find(10).isPresent());
+            assertEquals(9, log.readAfter(0, 100).size());
+            assertEquals(10, log.append(hand(log, 11)).getEventId());
+        }
+    }
+
+    @Test
+    public void reopen_endsBeforeAHandWrittenOutOfOrder() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            for (int hand = 1; hand <= 10; hand++) {
+                log.append(hand(log, hand));
+            }
+        }
+        try (FileChannel channel = FileChannel.open(segmentFiles().get(0), StandardOpenOption.WRITE)) {
+            // The 7th hand has its event id, but not the page with its last strength
+            channel.write(ByteBuffer.allocate(Integer.BYTES), Segment.HEADER_SIZE + 7 * HandRecord.SIZE - Integer.BYTES);
+            // The 5th hand was not written at all, the ones after it were
+            channel.write(ByteBuffer.allocate(HandRecord.SIZE), Segment.HEADER_SIZE + 4 * HandRecord.SIZE);
+        }
+
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            assertEquals(4, log.readAfter(0, 100).size());
+            assertFalse(log.find(6).isPresent());
+            assertEquals(5, log.append(hand(log, 5)).getEventId());
+        }
+        // The hands after the end are not found again once another hand was appended
+        try (HandHistoryLog log = new HandHistoryLog(directory, 100)) {
+            assertEquals(5, log.readAfter(0, 100).size());
+            assertEquals(6, log.append(hand(log, 6)).getEventId());
+        }
+    }
+
+    @Test
+    public void recordsNeverStraddleAPage() {
+        assertEquals(0, Segment.HEADER_SIZE % HandRecord.SIZE);
+        assertEquals(0, 4096 % HandRecord.SIZE);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void record_holdsAtMostTenPlayers() {
+        new HandRecord(0, 1, new int[11], new byte[22], new byte[5], new int[11], 1);
+    }
+
+    private List<Path> segmentFiles() throws IOException {
+        try (Stream<Path> files = Files.list(temporaryFolder.getRoot().toPath())) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".log"))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+
+    private static HandRecord hand(HandHistoryLog log, long seed) {
+        int[] playerIds = {log.playerId("Chance"), log.playerId("AliceGuo")};
+        byte[] playerCards = {0, 1, 2, 3};
+        byte[] communityCards = {4, 5, 6, 7, 8};
+        return new HandRecord(0, seed, playerIds, playerCards, communityCards, new int[]{100, 200}, 0b10);
+    }
+
+}
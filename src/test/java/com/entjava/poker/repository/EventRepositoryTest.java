@@ -0,0 +1,138 @@
+package com.entjava.poker.repository;
+
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Runs the repository against an embedded H2 database, in a transaction rolled back after each test.
+ */
+@RunWith(SpringRunner.class)
+@DataJpaTest
+public class EventRepositoryTest {
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void allocateIds_givesTheGameAndItsPlayersDistinctIds() {
+        Event first = game("Chance", "AliceGuo");
+        Event second = game("AliceGuo", "Chance");
+
+        eventRepository.allocateIds(first);
+        eventRepository.allocateIds(second);
+
+        assertNotNull(first.getId());
+        assertTrue(second.getId() > first.getId());
+        assertNotNull(first.getPlayers().get(0).getId());
+        assertTrue(first.getPlayers().get(1).getId() > first.getPlayers().get(0).getId());
+        assertTrue(second.getPlayers().get(0).getId() > first.getPlayers().get(1).getId());
+    }
+
+    @Test
+    public void insertAll_writesTheRowsAndTheWinnersForeignKey() {
+        List<Event> events = Arrays.asList(game("Chance", "AliceGuo"), game("AliceGuo", "Chance"));
+        events.forEach(eventRepository::allocateIds);
+
+        eventRepository.insertAll(events);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (Event event : events) {
+            assertEquals(Long.valueOf(2), jdbcTemplate.queryForObject(
+                    "select count(*) from player_result where event_id = ?", Long.class, event.getId()));
+            assertEquals(event.getWinner().getId(), jdbcTemplate.queryForObject(
+                    "select winner_id from event where id = ?", Long.class, event.getId()));
+
+            Event saved = eventRepository.findById(event.getId()).get();
+            assertNotSame(event, saved);
+            assertEquals(event.getWinner().getName(), saved.getWinner().getName());
+            assertEquals("One Pair (A) - K,Q,J High", saved.getPlayers().get(0).getHand());
+        }
+    }
+
+    @Test
+    public void findIdsAfter_readsOnePageAfterTheId() {
+        List<Event> events = saveGames(5);
+
+        List<Long> ids = eventRepository.findIdsAfter(events.get(1).getId(), PageRequest.of(0, 2));
+
+        assertEquals(Arrays.asList(events.get(2).getId(), events.get(3).getId()), ids);
+        assertTrue(eventRepository.findIdsAfter(events.get(4).getId(), PageRequest.of(0, 2)).isEmpty());
+    }
+
+    @Test
+    public void findWithPlayersBetween_readsEachGameOnceWithItsPlayers() {
+        List<Event> events = saveGames(4);
+
+        List<Event> found = eventRepository.findWithPlayersBetween(events.get(0).getId(), events.get(2).getId());
+        // Detached, so a player that was not fetched by the query would fail to load
+        entityManager.clear();
+
+        assertEquals(Arrays.asList(events.get(1).getId(), events.get(2).getId()),
+                found.stream().map(Event::getId).collect(Collectors.toList()));
+        for (Event event : found) {
+            assertEquals(2, event.getPlayers().size());
+            assertEquals("Chance", event.getPlayers().get(0).getName());
+            assertEquals("AliceGuo", event.getPlayers().get(1).getName());
+        }
+    }
+
+    /**
+     * @return The saved games, in the order of their ids
+     */
+    private List<Event> saveGames(int count) {
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Event event = game("Chance", "AliceGuo");
+            eventRepository.allocateIds(event);
+            events.add(event);
+        }
+        eventRepository.insertAll(events);
+        entityManager.flush();
+        entityManager.clear();
+        return events;
+    }
+
+    private static Event game(String winnerName, String loserName) {
+        Event event = new Event();
+        PlayerResult winner = player(event, winnerName, true);
+        player(event, loserName, false);
+        event.setWinner(winner);
+        return event;
+    }
+
+    private static PlayerResult player(Event event, String name, boolean isWinner) {
+        PlayerResult player = new PlayerResult();
+        player.setName(name);
+        player.setHand(isWinner ? "One Pair (A) - K,Q,J High" : "A,K,Q,J,9");
+        player.setWinner(isWinner);
+        player.setEvent(event);
+        event.getPlayers().add(player);
+        return player;
+    }
+
+}
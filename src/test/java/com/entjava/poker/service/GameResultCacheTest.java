@@ -0,0 +1,82 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.dto.GameResultResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+public class GameResultCacheTest {
+
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GameResultCache cache = new GameResultCache(meterRegistry, 2);
+    private List<Long> loadedIds = new ArrayList<>();
+
+    @Test
+    public void get_loadsOnlyOnAMiss() {
+        GameResultResponse first = cache.get(1, this::load);
+        GameResultResponse second = cache.get(1, this::load);
+
+        assertSame(first, second);
+        assertEquals(Collections.singletonList(1L), loadedIds);
+        assertEquals(1, meterRegistry.get("poker.games.cache.gets").tag("result", "hit").counter().count(), 0);
+        assertEquals(1, meterRegistry.get("poker.games.cache.gets").tag("result", "miss").counter().count(), 0);
+    }
+
+    @Test
+    public void put_isReadWithoutLoading() {
+        GameResultResponse played = response(1);
+        cache.put(played);
+
+        assertSame(played, cache.get(1, this::load));
+        assertEquals(Collections.emptyList(), loadedIds);
+    }
+
+    @Test
+    public void evictUnsaved_alsoRefusesTheResponseWhenItIsPutLater() {
+        cache.put(response(1));
+        cache.evictUnsaved(1);
+        cache.evictUnsaved(2);
+        cache.put(response(2));
+
+        assertEquals(0, cache.size());
+        cache.get(1, this::load);
+        assertEquals(Collections.singletonList(1L), loadedIds);
+    }
+
+    @Test
+    public void get_evictsTheLeastRecentlyUsed() {
+        cache.put(response(1));
+        cache.put(response(2));
+        cache.get(1, this::load);
+        cache.put(response(3));
+
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+
+        assertEquals(Collections.singletonList(2L), loadedIds);
+        assertEquals(2, cache.size());
+        assertEquals(2.0, meterRegistry.get("poker.games.cache.size").gauge().value(), 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noSize() {
+        new GameResultCache(meterRegistry, 0);
+    }
+
+    private GameResultResponse load(long eventId) {
+        loadedIds.add(eventId);
+        return response(eventId);
+    }
+
+    private static GameResultResponse response(long eventId) {
+        return new GameResultResponse(eventId, Collections.emptyList(), "Chance");
+    }
+
+}
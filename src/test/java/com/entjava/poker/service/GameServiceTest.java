@@ -0,0 +1,174 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.dto.BatchGameResultResponse;
+import com.entjava.poker.dto.GameResultResponse;
+import com.entjava.poker.dto.PlayerDTO;
+import com.entjava.poker.dto.StartGameRequest;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.exception.GameNotFoundException;
+import com.entjava.poker.exception.UnregisteredPlayersException;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.repository.EventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GameServiceTest {
+
+    private EventRepository eventRepository = mock(EventRepository.class);
+    private PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private GameSimulator gameSimulator = new GameSimulator(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 1);
+    private GameResultCache gameResultCache = new GameResultCache(new SimpleMeterRegistry(), 100);
+    private GameService gameService = new GameService(
+            new JpaGameStore(eventRepository, new DirectEventWriter(eventRepository), transactionManager),
+            gameResultCache, gameSimulator, 3);
+
+    @After
+    public void tearDown() {
+        gameSimulator.shutdown();
+    }
+
+    @Test
+    public void startGames_savesEveryGameAtOnce() {
+        when(eventRepository.saveAll(anyList())).thenAnswer(invocation -> assignIds(invocation.getArgument(0), 101));
+
+        BatchGameResultResponse response = gameService.startGames(request("Chance", "AliceGuo"), 300);
+
+        verify(eventRepository, times(1)).saveAll(anyList());
+        verify(eventRepository, never()).save(any());
+        verify(transactionManager).commit(any());
+        assertEquals(300, response.getGames());
+        assertEquals(1, response.getEventIds().size());
+        assertEquals(101, response.getEventIds().get(0).getFirst());
+        assertEquals(400, response.getEventIds().get(0).getLast());
+    }
+
+    @Test
+    public void startGames_gapsInTheIdsSplitTheRanges() {
+        when(eventRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Event> events = invocation.getArgument(0);
+            assignIds(events, 1);
+            events.get(events.size() - 1).setId(1000L);
+            return events;
+        });
+
+        BatchGameResultResponse response = gameService.startGames(request("Chance", "AliceGuo"), 10);
+
+        assertEquals(2, response.getEventIds().size());
+        assertEquals(9, response.getEventIds().get(0).getLast());
+        assertEquals(1000, response.getEventIds().get(1).getFirst());
+    }
+
+    @Test
+    public void getGameResult_readsAPlayedGameFromTheCache() {
+        when(eventRepository.save(any())).thenAnswer(invocation -> {
+            Event event = invocation.getArgument(0);
+            event.setId(7L);
+            return event;
+        });
+        GameResultResponse played = gameService.startGame(request("Chance", "AliceGuo"));
+
+        GameResultResponse read = gameService.getGameResult(7L);
+
+        assertSame(played, read);
+        verify(eventRepository, never()).findById(any());
+    }
+
+    @Test
+    public void getGameResult_cachesAGameReadFromTheDatabase() {
+        Event event = gameSimulator.playGame(Arrays.asList("Chance", "AliceGuo"));
+        event.setId(7L);
+        when(eventRepository.findById(7L)).thenReturn(Optional.of(event));
+
+        GameResultResponse first = gameService.getGameResult(7L);
+        GameResultResponse second = gameService.getGameResult(7L);
+
+        assertSame(first, second);
+        assertEquals(7, first.getEventId());
+        verify(eventRepository, times(1)).findById(7L);
+    }
+
+    @Test(expected = GameNotFoundException.class)
+    public void getGameResult_unknownGame() {
+        when(eventRepository.findById(7L)).thenReturn(Optional.empty());
+
+        gameService.getGameResult(7L);
+    }
+
+    @Test
+    public void getGameResultsAfter_readsAPageAfterTheId() {
+        List<Event> events = Stream.generate(() -> gameSimulator.playGame(Arrays.asList("Chance", "AliceGuo")))
+            .limit(3)
+            .collect(Collectors.toList());
+        assignIds(events, 11);
+        when(eventRepository.findIdsAfter(eq(10L), any())).thenReturn(Arrays.asList(11L, 12L, 13L));
+        when(eventRepository.findWithPlayersBetween(10L, 13L)).thenReturn(events);
+
+        List<GameResultResponse> page = gameService.getGameResultsAfter(10);
+
+        verify(eventRepository).findIdsAfter(10L, PageRequest.of(0, 3));
+        assertEquals(Arrays.asList(11L, 12L, 13L), page.stream().map(GameResultResponse::getEventId).collect(Collectors.toList()));
+        assertEquals(2, page.get(0).getPlayers().size());
+        assertEquals(0, gameResultCache.size());
+    }
+
+    @Test
+    public void getGameResultsAfter_theLastGame() {
+        when(eventRepository.findIdsAfter(eq(13L), any())).thenReturn(Collections.emptyList());
+
+        assertTrue(gameService.getGameResultsAfter(13).isEmpty());
+        verify(eventRepository, never()).findWithPlayersBetween(anyLong(), anyLong());
+    }
+
+    @Test(expected = UnregisteredPlayersException.class)
+    public void startGames_unregisteredPlayer() {
+        gameService.startGames(request("Chance", "Mallory"), 10);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void startGames_playerSeatedTwice() {
+        gameService.startGames(request("Chance", "AliceGuo", "Chance"), 10);
+    }
+
+    private List<Event> assignIds(List<Event> events, long firstId) {
+        for (int i = 0; i < events.size(); i++) {
+            events.get(i).setId(firstId + i);
+        }
+        return events;
+    }
+
+    private StartGameRequest request(String... names) {
+        StartGameRequest request = new StartGameRequest();
+        request.setPlayers(Stream.of(names).map(name -> {
+            PlayerDTO player = new PlayerDTO();
+            player.setName(name);
+            return player;
+        }).collect(Collectors.toList()));
+        return request;
+    }
+
+}
@@ -0,0 +1,89 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.After;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class GameSimulatorTest {
+
+    private static final List<String> PLAYERS = Arrays.asList("Chance", "AliceGuo");
+
+    private GameSimulator gameSimulator = new GameSimulator(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 2);
+
+    @After
+    public void tearDown() {
+        gameSimulator.shutdown();
+    }
+
+    @Test
+    public void playGame_recordsEveryPlayerAndTheWinner() {
+        Event event = gameSimulator.playGame(PLAYERS);
+
+        assertEquals(PLAYERS, event.getPlayers().stream().map(PlayerResult::getName).collect(Collectors.toList()));
+        assertNotNull(event.getWinner());
+        assertTrue(event.getWinner().isWinner());
+        for (PlayerResult player : event.getPlayers()) {
+            assertSame(event, player.getEvent());
+            assertNotNull(player.getHand());
+        }
+    }
+
+    @Test
+    public void playGames_summarizesEveryGame() {
+        GameBatch batch = gameSimulator.playGames(PLAYERS, 1000, 42L);
+
+        assertEquals(1000, batch.getEvents().size());
+        long wins = batch.getWins().values().stream().mapToLong(Long::longValue).sum();
+        // A split pot is a win for both players
+        assertEquals(1000 + batch.getSplitPots(), wins);
+        assertEquals(1000, batch.getWinningHands().values().stream().mapToLong(Long::longValue).sum());
+    }
+
+    @Test
+    public void playGames_sameSeedDealsTheSameGames() {
+        GameBatch first = gameSimulator.playGames(PLAYERS, 500, 42L);
+        GameBatch second = gameSimulator.playGames(PLAYERS, 500, 42L);
+
+        assertEquals(first.getWins(), second.getWins());
+        for (int i = 0; i < 500; i++) {
+            assertEquals(first.getEvents().get(i).getWinner().getHand(), second.getEvents().get(i).getWinner().getHand());
+        }
+    }
+
+    @Test
+    public void playGames_seatsUpToTwentyTwoPlayers() {
+        List<String> players = IntStream.rangeClosed(1, 22).mapToObj(seat -> "Player " + seat).collect(Collectors.toList());
+
+        GameBatch batch = gameSimulator.playGames(players, 100, 42L);
+
+        assertEquals(100, batch.getEvents().size());
+        assertEquals(22, batch.getEvents().get(0).getPlayers().size());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playGames_rejectsMorePlayersThanTheDeckCanDealTo() {
+        List<String> players = IntStream.rangeClosed(1, 23).mapToObj(seat -> "Player " + seat).collect(Collectors.toList());
+
+        gameSimulator.playGames(players, 100, 42L);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void playGame_rejectsAPlayerSeatedTwice() {
+        gameSimulator.playGame(Arrays.asList("Chance", "AliceGuo", "Chance"));
+    }
+
+}
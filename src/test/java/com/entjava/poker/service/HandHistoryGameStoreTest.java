@@ -0,0 +1,86 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.entity.PlayerResult;
+import com.entjava.poker.hand.HandIdentifier;
+import com.entjava.poker.hand.WinningHandCalculator;
+import com.entjava.poker.history.HandHistoryLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class HandHistoryGameStoreTest {
+
+    private static final List<String> PLAYERS = Arrays.asList("Chance", "AliceGuo", "Migs");
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private GameSimulator gameSimulator = new GameSimulator(new DeckBuilder(), new HandIdentifier(), new WinningHandCalculator(), 1);
+    private HandHistoryGameStore gameStore;
+
+    @Before
+    public void setUp() throws IOException {
+        gameStore = new HandHistoryGameStore(new HandHistoryLog(temporaryFolder.getRoot().toPath(), 16), new HandIdentifier());
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        gameStore.close();
+        gameSimulator.shutdown();
+    }
+
+    @Test
+    public void findById_readsTheGameAsItWasPlayed() {
+        for (int game = 0; game < 50; game++) {
+            Event event = gameStore.save(gameSimulator.playGame(PLAYERS));
+
+            assertEquals(Long.valueOf(game + 1), event.getId());
+            assertSameGame(event, gameStore.findById(event.getId()).get());
+        }
+        assertFalse(gameStore.findById(51).isPresent());
+    }
+
+    @Test
+    public void findAfter_readsTheBatchInOrder() {
+        gameStore.save(gameSimulator.playGame(PLAYERS));
+        List<Event> events = gameSimulator.playGames(PLAYERS, 40, 7).getEvents();
+
+        gameStore.saveAll(events);
+
+        List<Event> found = gameStore.findAfter(1, 100);
+        assertEquals(40, found.size());
+        for (int game = 0; game < events.size(); game++) {
+            assertEquals(Long.valueOf(game + 2), events.get(game).getId());
+            assertSameGame(events.get(game), found.get(game));
+        }
+    }
+
+    private static void assertSameGame(Event expected, Event actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSeed(), actual.getSeed());
+        assertEquals(expected.getCommunityCards(), actual.getCommunityCards());
+        assertEquals(expected.getWinner().getName(), actual.getWinner().getName());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int seat = 0; seat < expected.getPlayers().size(); seat++) {
+            PlayerResult expectedPlayer = expected.getPlayers().get(seat);
+            PlayerResult actualPlayer = actual.getPlayers().get(seat);
+            assertEquals(expectedPlayer.getName(), actualPlayer.getName());
+            assertEquals(expectedPlayer.getHand(), actualPlayer.getHand());
+            assertEquals(expectedPlayer.getCards(), actualPlayer.getCards());
+            assertEquals(expectedPlayer.getStrength(), actualPlayer.getStrength());
+            assertEquals(expectedPlayer.isWinner(), actualPlayer.isWinner());
+        }
+    }
+
+}
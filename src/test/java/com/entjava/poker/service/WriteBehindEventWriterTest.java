@@ -0,0 +1,182 @@
+package com.entjava.poker.service;
+
+import com.entjava.poker.dto.GameResultResponse;
+import com.entjava.poker.entity.Event;
+import com.entjava.poker.exception.WriteBehindQueueFullException;
+import com.entjava.poker.repository.EventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.After;
+import org.junit.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+
+public class WriteBehindEventWriterTest {
+
+    private EventRepository eventRepository = mock(EventRepository.class);
+    private PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+    private MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private GameResultCache gameResultCache = new GameResultCache(meterRegistry, 100);
+
+    private List<Long> savedIds = Collections.synchronizedList(new ArrayList<>());
+    private CountDownLatch insertStarted = new CountDownLatch(1);
+    private CountDownLatch databaseAvailable = new CountDownLatch(1);
+    private WriteBehindEventWriter writer;
+
+    public WriteBehindEventWriterTest() {
+        AtomicLong nextId = new AtomicLong(1);
+        doAnswer(invocation -> {
+            invocation.<Event>getArgument(0).setId(nextId.getAndIncrement());
+            return null;
+        }).when(eventRepository).allocateIds(any());
+        doAnswer(invocation -> {
+            insertStarted.countDown();
+            databaseAvailable.await();
+            List<Event> events = invocation.getArgument(0);
+            if (events.size() > 1 && events.stream().anyMatch(event -> event.getId() == 2)) {
+                throw new IllegalStateException("Game 2 cannot be saved with others");
+            }
+            savedIds.addAll(events.stream().map(Event::getId).collect(Collectors.toList()));
+            return null;
+        }).when(eventRepository).insertAll(anyList());
+    }
+
+    @After
+    public void tearDown() {
+        databaseAvailable.countDown();
+        writer.shutdown();
+    }
+
+    @Test
+    public void write_answersBeforeTheGameIsSaved() throws InterruptedException {
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 10, 10, 1000, 5000);
+
+        Event event = writer.write(new Event());
+
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+        assertEquals(Long.valueOf(1), event.getId());
+        assertTrue(writer.findUnsaved(1).isPresent());
+        assertTrue(savedIds.isEmpty());
+
+        databaseAvailable.countDown();
+        writer.shutdown();
+
+        assertEquals(Collections.singletonList(1L), savedIds);
+        assertFalse(writer.findUnsaved(1).isPresent());
+        assertEquals(1, meterRegistry.get("poker.games.write.lag").timer().count());
+    }
+
+    @Test
+    public void write_fullQueue() throws InterruptedException {
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 1, 1, 10, 5000);
+        writer.write(new Event());
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+        writer.write(new Event());
+
+        try {
+            writer.write(new Event());
+            fail("The queue holds one game");
+        } catch (WriteBehindQueueFullException e) {
+            assertFalse(writer.findUnsaved(3).isPresent());
+        }
+        assertEquals(1.0, meterRegistry.get("poker.games.write.queue").gauge().value(), 0);
+    }
+
+    @Test
+    public void shutdown_savesTheQueuedGames() throws InterruptedException {
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 100, 4, 1000, 5000);
+        for (int game = 0; game < 10; game++) {
+            writer.write(new Event());
+        }
+
+        databaseAvailable.countDown();
+        writer.shutdown();
+
+        assertEquals(10, savedIds.size());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void write_afterShutdown() {
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 10, 10, 1000, 5000);
+        writer.shutdown();
+
+        writer.write(new Event());
+    }
+
+    @Test
+    public void failedBatch_isSavedOneGameAtATime() throws InterruptedException {
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 10, 10, 1000, 5000);
+        writer.write(new Event());
+        assertTrue(insertStarted.await(5, TimeUnit.SECONDS));
+        for (int game = 0; game < 3; game++) {
+            writer.write(new Event());
+        }
+
+        databaseAvailable.countDown();
+        writer.shutdown();
+
+        assertEquals(4, savedIds.size());
+        assertEquals(0, meterRegistry.get("poker.games.write.failures").counter().count(), 0);
+    }
+
+    @Test
+    public void gameThatCannotBeSaved_isNoLongerAnswered() {
+        doThrow(new IllegalStateException("The database is down")).when(eventRepository).insertAll(anyList());
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 10, 10, 1000, 5000);
+        Event saved = writer.write(new Event());
+        gameResultCache.put(new GameResultResponse(saved.getId(), Collections.emptyList(), "Chance"));
+
+        writer.shutdown();
+
+        assertFalse(writer.findUnsaved(saved.getId()).isPresent());
+        assertEquals(0, gameResultCache.size());
+        assertEquals(1, meterRegistry.get("poker.games.write.failures").counter().count(), 0);
+    }
+
+    @Test
+    public void writesRacingShutdown_areSavedOrRefused() throws InterruptedException {
+        databaseAvailable.countDown();
+        writer = new WriteBehindEventWriter(eventRepository, gameResultCache, transactionManager, meterRegistry, 1000, 10, 1000, 5000);
+        List<Long> acceptedIds = Collections.synchronizedList(new ArrayList<>());
+        List<Thread> threads = new ArrayList<>();
+        for (int thread = 0; thread < 4; thread++) {
+            threads.add(new Thread(() -> {
+                try {
+                    while (true) {
+                        acceptedIds.add(writer.write(new Event()).getId());
+                    }
+                } catch (IllegalStateException e) {
+                    // Shut down
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+
+        Thread.sleep(50);
+        writer.shutdown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(new HashSet<>(acceptedIds), new HashSet<>(savedIds));
+    }
+
+}
@@ -0,0 +1,57 @@
+package com.entjava.poker.simulation;
+
+import com.entjava.poker.deck.DeckBuilder;
+import com.entjava.poker.hand.HandType;
+import com.entjava.poker.hand.WinningHandCalculator;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SimulationEngineTest {
+
+    private SimulationEngine simulationEngine =
+            new SimulationEngine(new DeckBuilder(), new WinningHandCalculator());
+
+    @Test
+    public void run_everyHandHasAWinnerOrASplitPot() {
+        SimulationReport report = simulationEngine.run(4, 20_000, 2, 42L);
+
+        long wins = 0;
+        for (int seat = 0; seat < report.getPlayers(); seat++) {
+            wins += report.getWins(seat);
+        }
+        assertEquals(20_000, report.getHands());
+        assertEquals(report.getHands(), wins + report.getSplitPots());
+    }
+
+    @Test
+    public void run_countsEveryPlayersHandType() {
+        SimulationReport report = simulationEngine.run(3, 10_000, 1, 42L);
+
+        long handTypes = Arrays.stream(HandType.values()).mapToLong(report::getHandTypeCount).sum();
+        long winningHandTypes = Arrays.stream(HandType.values()).mapToLong(report::getWinningHandTypeCount).sum();
+        assertEquals(30_000, handTypes);
+        assertEquals(10_000, winningHandTypes);
+        assertTrue(report.getHandsPerSecond() > 0);
+    }
+
+    @Test
+    public void run_sameSeedGivesSameOutcome() {
+        SimulationReport first = simulationEngine.run(6, 10_000, 2, 7L);
+        SimulationReport second = simulationEngine.run(6, 10_000, 2, 7L);
+
+        for (int seat = 0; seat < 6; seat++) {
+            assertEquals(first.getWins(seat), second.getWins(seat));
+            assertEquals(first.getSplits(seat), second.getSplits(seat));
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void run_rejectsMorePlayersThanTheDeckCanDealTo() {
+        simulationEngine.run(23, 1, 1, 42L);
+    }
+
+}